@@ -1,237 +1,519 @@
-/*
- * Copyright (c) 2011-2013 events-on-fire Team
- * 
- * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
- * License (MIT).
- * 
- * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
- * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
- * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
- * permit persons to whom the Software is furnished to do so, subject to the following conditions:
- * 
- * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
- * Software.
- * 
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
- * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
- * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
- * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
- */
-package com.google.code.eventsonfire;
-
-import java.util.concurrent.Delayed;
-import java.util.concurrent.TimeUnit;
-
-/**
- * An action within the {@link Events} object. All references are hard ones, because this object should not live long.
- * 
- * @author Manfred Hantschel
- */
-class Action implements Delayed
-{
-
-    /**
-     * The types of actions
-     * 
-     * @author Manfred HANTSCHEL
-     */
-    enum Type
-    {
-        /**
-         * Binds a consumer to a producer
-         */
-        BIND,
-
-        /**
-         * Unbinds a consumer from a producer
-         */
-        UNBIND,
-
-        /**
-         * Fires an event
-         */
-        FIRE
-    }
-
-    private final Type type;
-    private final Object producer;
-    private final Object parameter;
-    private final long nanosToTrigger;
-    private final String[] tags;
-
-    private boolean executed = false;
-    private boolean canceled = false;
-
-    /**
-     * Creates a new action.
-     * 
-     * @param type the type of the action, mandatory
-     * @param producer the producer, mandatory
-     * @param parameter the parameter
-     * @param tags the tags, optional
-     * @throws IllegalArgumentException if the action or the producer is null
-     */
-    public Action(Type type, Object producer, Object parameter, long nanosToTrigger, String... tags)
-        throws IllegalArgumentException
-    {
-        super();
-
-        if (type == null)
-        {
-            throw new IllegalArgumentException("Type is null");
-        }
-
-        if (producer == null)
-        {
-            throw new IllegalArgumentException("Producer is null");
-        }
-
-        this.type = type;
-        this.producer = producer;
-        this.parameter = parameter;
-        this.nanosToTrigger = nanosToTrigger;
-        this.tags = tags;
-    }
-
-    /**
-     * Returns the type of the action.
-     * 
-     * @return the type, never null
-     */
-    public Type getType()
-    {
-        return type;
-    }
-
-    /**
-     * Returns the producer
-     * 
-     * @return the producer, never null
-     */
-    public Object getProducer()
-    {
-        return producer;
-    }
-
-    /**
-     * Returns the parameter
-     * 
-     * @return the parameter
-     */
-    public Object getParameter()
-    {
-        return parameter;
-    }
-
-    /**
-     * Returns the nano seconds, when the event should get triggered
-     * 
-     * @return the nano seconds, when the event should get triggered
-     */
-    public long getNanosToTrigger()
-    {
-        return nanosToTrigger;
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    public long getDelay(TimeUnit unit)
-    {
-        return unit.convert(nanosToTrigger - System.nanoTime(), TimeUnit.NANOSECONDS);
-    }
-
-    /**
-     * Returns the tags
-     * 
-     * @return the tags
-     */
-    public String[] getTags()
-    {
-        return tags;
-    }
-
-    /**
-     * Returns true if this action was executed
-     * 
-     * @return true if this action was executed
-     */
-    public boolean isExecuted()
-    {
-        return executed;
-    }
-
-    /**
-     * Sets the executed flag
-     * 
-     * @param executed the executed flag
-     */
-    public void setExecuted(boolean executed)
-    {
-        this.executed = executed;
-    }
-
-    /**
-     * Returns true if this action was canceled
-     * 
-     * @return true if this action was canceled
-     */
-    public boolean isCanceled()
-    {
-        return canceled;
-    }
-
-    /**
-     * Sets the canceled flag
-     * 
-     * @param canceled the flag
-     */
-    public void setCanceled(boolean canceled)
-    {
-        this.canceled = canceled;
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    public int compareTo(Delayed o)
-    {
-        return (int) (getDelay(TimeUnit.NANOSECONDS) - o.getDelay(TimeUnit.NANOSECONDS));
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public int hashCode()
-    {
-        return type.hashCode() ^ producer.hashCode() ^ ((parameter != null) ? parameter.hashCode() : -1);
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public boolean equals(Object obj)
-    {
-        if (obj == this)
-        {
-            return true;
-        }
-
-        if (obj == null)
-        {
-            return false;
-        }
-
-        if (!(obj instanceof Action))
-        {
-            return false;
-        }
-
-        Action link = (Action) obj;
-
-        return (type == link.type) && (producer == link.producer) && (parameter == link.parameter);
-    }
-
-}
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * An action within the {@link Events} object. All references are hard ones, because this object should not live long.
+ * 
+ * @author Manfred Hantschel
+ */
+class Action extends Completion
+{
+
+    /**
+     * The types of actions
+     * 
+     * @author Manfred HANTSCHEL
+     */
+    enum Type
+    {
+        /**
+         * Binds a consumer to a producer
+         */
+        BIND,
+
+        /**
+         * Unbinds a consumer from a producer
+         */
+        UNBIND,
+
+        /**
+         * Unbinds a consumer from all producers
+         */
+        UNBIND_ALL,
+
+        /**
+         * Unbinds all consumers from a producer
+         */
+        RELEASE,
+
+        /**
+         * Fires an event
+         */
+        FIRE,
+
+        /**
+         * Executes a {@link Batch} of actions
+         */
+        BATCH
+    }
+
+    private static final int PENDING = 0;
+    private static final int TAKEN = 1;
+    private static final int DROPPED = 2;
+    private static final int REJECTED = 3;
+
+    private static final AtomicIntegerFieldUpdater<Action> STATE_UPDATER = AtomicIntegerFieldUpdater.newUpdater(
+        Action.class, "state");
+
+    private final Type type;
+    private final Object producer;
+    private final Object parameter;
+    private final Tags tags;
+
+    private volatile long nanosToTrigger;
+    private volatile boolean executed = false;
+    private volatile boolean canceled = false;
+    private volatile int state = PENDING;
+
+    /**
+     * True, if the action is counted against the capacity of its lane
+     */
+    private volatile boolean counted = false;
+
+    /**
+     * The lane, if the action is a delayed one
+     */
+    private volatile Lane lane;
+
+    /**
+     * True, if the action is its own completion
+     */
+    private boolean tracked = false;
+
+    /**
+     * The conflation key, null if the action is not conflated
+     */
+    private Object conflationKey;
+
+    /**
+     * True, if a newer action with the same conflation key replaced this one
+     */
+    private volatile boolean superseded = false;
+
+    /*
+     * The newest action of a conflated action in the queue and the flag, if it has been taken, guarded by the action.
+     */
+    private Action latest = this;
+    private boolean closed = false;
+
+    /*
+     * The fields of the node within the timing wheel, guarded by the wheel.
+     */
+    Action previous;
+    Action next;
+    int level;
+    int index;
+    boolean scheduled = false;
+
+    /**
+     * Creates a new action without tags.
+     * 
+     * @param type the type of the action, mandatory
+     * @param producer the producer, mandatory
+     * @param parameter the parameter
+     * @throws IllegalArgumentException if the action or the producer is null
+     */
+    public Action(Type type, Object producer, Object parameter, long nanosToTrigger) throws IllegalArgumentException
+    {
+        this(type, producer, parameter, nanosToTrigger, Tags.NONE);
+    }
+
+    /**
+     * Creates a new action.
+     * 
+     * @param type the type of the action, mandatory
+     * @param producer the producer, mandatory
+     * @param parameter the parameter
+     * @param tags the tags, optional
+     * @throws IllegalArgumentException if the action or the producer is null
+     */
+    public Action(Type type, Object producer, Object parameter, long nanosToTrigger, Tags tags)
+        throws IllegalArgumentException
+    {
+        super();
+
+        if (type == null)
+        {
+            throw new IllegalArgumentException("Type is null");
+        }
+
+        if (producer == null)
+        {
+            throw new IllegalArgumentException("Producer is null");
+        }
+
+        this.type = type;
+        this.producer = producer;
+        this.parameter = parameter;
+        this.nanosToTrigger = nanosToTrigger;
+        this.tags = tags;
+    }
+
+    /**
+     * Returns the type of the action.
+     * 
+     * @return the type, never null
+     */
+    public Type getType()
+    {
+        return type;
+    }
+
+    /**
+     * Returns the producer
+     * 
+     * @return the producer, never null
+     */
+    public Object getProducer()
+    {
+        return producer;
+    }
+
+    /**
+     * Returns the parameter
+     * 
+     * @return the parameter
+     */
+    public Object getParameter()
+    {
+        return parameter;
+    }
+
+    /**
+     * Returns the nano seconds, when the event should get triggered
+     * 
+     * @return the nano seconds, when the event should get triggered
+     */
+    public long getNanosToTrigger()
+    {
+        return nanosToTrigger;
+    }
+
+    /**
+     * Sets the nano seconds, when the event should get triggered. Used by the {@link TimingWheel} only.
+     * 
+     * @param nanosToTrigger the nano seconds, when the event should get triggered
+     */
+    void setNanosToTrigger(long nanosToTrigger)
+    {
+        this.nanosToTrigger = nanosToTrigger;
+    }
+
+    /**
+     * Sets the lane, that holds this delayed action
+     * 
+     * @param lane the lane
+     */
+    void setLane(Lane lane)
+    {
+        this.lane = lane;
+    }
+
+    /**
+     * Returns the tags
+     * 
+     * @return the tags
+     */
+    public Tags getTags()
+    {
+        return tags;
+    }
+
+    /**
+     * Returns true if this action was executed
+     * 
+     * @return true if this action was executed
+     */
+    public boolean isExecuted()
+    {
+        return executed;
+    }
+
+    /**
+     * Sets the executed flag
+     * 
+     * @param executed the executed flag
+     */
+    public void setExecuted(boolean executed)
+    {
+        this.executed = executed;
+    }
+
+    /**
+     * Returns true if this action was canceled
+     * 
+     * @return true if this action was canceled
+     */
+    public boolean isCanceled()
+    {
+        return canceled;
+    }
+
+    /**
+     * Sets the canceled flag
+     * 
+     * @param canceled the flag
+     */
+    public void setCanceled(boolean canceled)
+    {
+        this.canceled = canceled;
+    }
+
+    /**
+     * Returns true, if the action is counted against the capacity of its lane
+     * 
+     * @return true if counted
+     */
+    public boolean isCounted()
+    {
+        return counted;
+    }
+
+    /**
+     * Sets the counted flag
+     * 
+     * @param counted true if the action is counted against the capacity of its lane
+     */
+    public void setCounted(boolean counted)
+    {
+        this.counted = counted;
+    }
+
+    /**
+     * Marks the action as taken by its lane, if it has not been dropped before.
+     * 
+     * @return true if taken, false if the action has been dropped
+     */
+    public boolean take()
+    {
+        return STATE_UPDATER.compareAndSet(this, PENDING, TAKEN);
+    }
+
+    /**
+     * Marks the action as dropped, if it has not been taken by its lane before.
+     * 
+     * @return true if dropped, false if the action has already been taken
+     */
+    public boolean drop()
+    {
+        if (!STATE_UPDATER.compareAndSet(this, PENDING, DROPPED))
+        {
+            return false;
+        }
+
+        complete();
+
+        return true;
+    }
+
+    /**
+     * Marks the action as rejected.
+     */
+    public void reject()
+    {
+        state = REJECTED;
+
+        complete();
+    }
+
+    /**
+     * Returns true if this action was dropped because the queue of its lane was full
+     * 
+     * @return true if dropped
+     */
+    public boolean isDropped()
+    {
+        return state == DROPPED;
+    }
+
+    /**
+     * Returns true if this action was rejected because the queue of its lane was full
+     * 
+     * @return true if rejected
+     */
+    public boolean isRejected()
+    {
+        return state == REJECTED;
+    }
+
+    /**
+     * Returns the completion
+     * 
+     * @return the completion (the action itself), null if the completion is not tracked
+     */
+    public Completion getCompletion()
+    {
+        return (tracked) ? this : null;
+    }
+
+    /**
+     * Tracks the completion of this action, the action becomes its own completion. Must be called before the action
+     * gets enqueued.
+     */
+    public void track()
+    {
+        tracked = true;
+    }
+
+    /**
+     * Releases the completion of this action, because the action has been executed or will never be executed.
+     */
+    public void complete()
+    {
+        if (tracked)
+        {
+            release();
+        }
+    }
+
+    /**
+     * Returns the conflation key
+     * 
+     * @return the conflation key, null if the action is not conflated
+     */
+    public Object getConflationKey()
+    {
+        return conflationKey;
+    }
+
+    /**
+     * Sets the conflation key. Must be called before the action gets enqueued.
+     * 
+     * @param conflationKey the conflation key
+     */
+    public void setConflationKey(Object conflationKey)
+    {
+        this.conflationKey = conflationKey;
+    }
+
+    /**
+     * Returns true if a newer action with the same conflation key replaced this one
+     * 
+     * @return true if superseded
+     */
+    public boolean isSuperseded()
+    {
+        return superseded;
+    }
+
+    /**
+     * Replaces the newest action of this conflated action in the queue, as long as it has not been taken by the lane.
+     * 
+     * @param action the newer action
+     * @return true if replaced, false if this action has already been taken
+     */
+    public synchronized boolean supersede(Action action)
+    {
+        if (closed)
+        {
+            return false;
+        }
+
+        latest.superseded = true;
+        latest.complete();
+        latest = action;
+
+        return true;
+    }
+
+    /**
+     * Closes this conflated action for replacements and returns the newest action, that should get executed instead.
+     * 
+     * @return the newest action
+     */
+    public synchronized Action close()
+    {
+        closed = true;
+
+        return latest;
+    }
+
+    /**
+     * Cancels the action. Removes the action from the timing wheel, if it is a delayed one.
+     */
+    public void cancel()
+    {
+        canceled = true;
+
+        Lane lane = this.lane;
+
+        if (lane != null)
+        {
+            lane.cancel(this);
+        }
+    }
+
+    /**
+     * Moves a delayed action, that has not been executed yet, to the specified time.
+     * 
+     * @param nanosToTrigger the nano seconds, when the event should get triggered
+     * @return true if rescheduled, false if the action is not a delayed one or has already been executed or canceled
+     */
+    public boolean reschedule(long nanosToTrigger)
+    {
+        Lane lane = this.lane;
+
+        if ((lane == null) || (canceled))
+        {
+            return false;
+        }
+
+        return lane.reschedule(this, nanosToTrigger);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode()
+    {
+        return type.hashCode() ^ producer.hashCode() ^ ((parameter != null) ? parameter.hashCode() : -1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (obj == this)
+        {
+            return true;
+        }
+
+        if (obj == null)
+        {
+            return false;
+        }
+
+        if (!(obj instanceof Action))
+        {
+            return false;
+        }
+
+        Action link = (Action) obj;
+
+        return (type == link.type) && (producer == link.producer) && (parameter == link.parameter);
+    }
+
+}
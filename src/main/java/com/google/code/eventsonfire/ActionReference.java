@@ -1,63 +1,138 @@
-/*
- * Copyright (c) 2011-2013 events-on-fire Team
- * 
- * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
- * License (MIT).
- * 
- * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
- * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
- * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
- * permit persons to whom the Software is furnished to do so, subject to the following conditions:
- * 
- * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
- * Software.
- * 
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
- * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
- * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
- * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
- */
-package com.google.code.eventsonfire;
-
-/**
- * An event reference, that uses an acion
- * 
- * @author Manfred HANTSCHEL
- */
-class ActionReference implements EventReference
-{
-
-    private final Action action;
-
-    public ActionReference(Action action)
-    {
-        super();
-
-        this.action = action;
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    public boolean isFired()
-    {
-        return action.isExecuted();
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    public boolean isCanceled()
-    {
-        return action.isCanceled();
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    public void cancel()
-    {
-        action.setCanceled(true);
-    }
-
-}
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An event reference, that uses an acion
+ * 
+ * @author Manfred HANTSCHEL
+ */
+class ActionReference implements EventReference
+{
+
+    private final Action action;
+
+    public ActionReference(Action action)
+    {
+        super();
+
+        this.action = action;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isFired()
+    {
+        return action.isExecuted();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isCanceled()
+    {
+        return action.isCanceled();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void cancel()
+    {
+        action.cancel();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean reschedule(double delayInSeconds)
+    {
+        return action.reschedule((long) (System.nanoTime() + (1000000000 * delayInSeconds)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isRejected()
+    {
+        return action.isRejected();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isDropped()
+    {
+        return action.isDropped();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isSuperseded()
+    {
+        return action.isSuperseded();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isDone()
+    {
+        return action.getCompletion().isDone();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void await() throws InterruptedException
+    {
+        action.getCompletion().await();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        return action.getCompletion().await(timeout, unit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getHandlerCount()
+    {
+        return action.getCompletion().getHandlerCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<EventHandlerFailure> getFailures()
+    {
+        return action.getCompletion().getFailures();
+    }
+
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import com.google.code.eventsonfire.Action.Type;
+
+/**
+ * A batch of actions, that is executed by one lane as one single action. The actions are stored in arrays, thus adding
+ * an action to the batch does not create any objects (unless the arrays have to grow). Fire actions, that are
+ * referenced by the caller, are stored as they are, in an array, that is created with the first such action.
+ * 
+ * @author Manfred Hantschel
+ */
+class Batch
+{
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Type[] types;
+    private Object[] producers;
+    private Object[] parameters;
+    private Tags[] tags;
+    private Action[] actions;
+    private int size = 0;
+
+    public Batch()
+    {
+        super();
+
+        types = new Type[DEFAULT_CAPACITY];
+        producers = new Object[DEFAULT_CAPACITY];
+        parameters = new Object[DEFAULT_CAPACITY];
+        tags = new Tags[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Adds an action to the batch
+     * 
+     * @param type the type of the action, mandatory
+     * @param producer the producer, mandatory
+     * @param parameter the parameter
+     * @param tags the tags
+     */
+    public void add(Type type, Object producer, Object parameter, Tags tags)
+    {
+        if (size == types.length)
+        {
+            grow();
+        }
+
+        types[size] = type;
+        producers[size] = producer;
+        parameters[size] = parameter;
+        this.tags[size] = tags;
+
+        size += 1;
+    }
+
+    /**
+     * Adds a referenced action to the batch. The lane executes the action itself, thus it gets tracked, canceled and
+     * completed like any other action.
+     * 
+     * @param action the action, mandatory
+     */
+    public void add(Action action)
+    {
+        add(action.getType(), action.getProducer(), action.getParameter(), action.getTags());
+
+        if (actions == null)
+        {
+            actions = new Action[types.length];
+        }
+
+        actions[size - 1] = action;
+    }
+
+    /**
+     * Adds all actions of the specified batch to this batch
+     * 
+     * @param batch the batch
+     */
+    public void addAll(Batch batch)
+    {
+        for (int i = 0; i < batch.size; i += 1)
+        {
+            Action action = batch.getAction(i);
+
+            if (action != null)
+            {
+                add(action);
+            }
+            else
+            {
+                add(batch.types[i], batch.producers[i], batch.parameters[i], batch.tags[i]);
+            }
+        }
+    }
+
+    /**
+     * Removes all actions beginning at the specified index. Referenced actions, that get removed, are rejected.
+     * 
+     * @param size the new size of the batch
+     */
+    public void truncate(int size)
+    {
+        for (int i = size; i < this.size; i += 1)
+        {
+            types[i] = null;
+            producers[i] = null;
+            parameters[i] = null;
+            tags[i] = null;
+
+            if ((actions != null) && (actions[i] != null))
+            {
+                actions[i].reject();
+                actions[i] = null;
+            }
+        }
+
+        this.size = Math.min(size, this.size);
+    }
+
+    /**
+     * Returns the number of actions in the batch
+     * 
+     * @return the number of actions
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns true if the batch is empty
+     * 
+     * @return true if empty
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Returns the type of the action at the specified index
+     * 
+     * @param index the index
+     * @return the type
+     */
+    public Type getType(int index)
+    {
+        return types[index];
+    }
+
+    /**
+     * Returns the producer of the action at the specified index
+     * 
+     * @param index the index
+     * @return the producer
+     */
+    public Object getProducer(int index)
+    {
+        return producers[index];
+    }
+
+    /**
+     * Returns the parameter of the action at the specified index
+     * 
+     * @param index the index
+     * @return the parameter
+     */
+    public Object getParameter(int index)
+    {
+        return parameters[index];
+    }
+
+    /**
+     * Returns the tags of the action at the specified index
+     * 
+     * @param index the index
+     * @return the tags
+     */
+    public Tags getTags(int index)
+    {
+        return tags[index];
+    }
+
+    /**
+     * Returns the referenced action at the specified index
+     * 
+     * @param index the index
+     * @return the action, null if the action has been added without reference
+     */
+    public Action getAction(int index)
+    {
+        return (actions != null) ? actions[index] : null;
+    }
+
+    private void grow()
+    {
+        int capacity = types.length * 2;
+
+        Type[] types = new Type[capacity];
+        Object[] producers = new Object[capacity];
+        Object[] parameters = new Object[capacity];
+        Tags[] tags = new Tags[capacity];
+
+        System.arraycopy(this.types, 0, types, 0, size);
+        System.arraycopy(this.producers, 0, producers, 0, size);
+        System.arraycopy(this.parameters, 0, parameters, 0, size);
+        System.arraycopy(this.tags, 0, tags, 0, size);
+
+        this.types = types;
+        this.producers = producers;
+        this.parameters = parameters;
+        this.tags = tags;
+
+        if (actions != null)
+        {
+            Action[] actions = new Action[capacity];
+
+            System.arraycopy(this.actions, 0, actions, 0, size);
+
+            this.actions = actions;
+        }
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * A thread-safe cache of values computed for classes, that does not prevent the classes from being unloaded. The
+ * classes are weak keys of a {@link WeakIdentityMap}, looking up a value needs neither a lock nor a hash code.
+ * <p>
+ * The values usually reference their class (by methods, by the type hierarchy or by generated invokers), thus a
+ * strongly held value would keep its class loaded. The lifetime of a value depends on the loader of its class:
+ * </p>
+ * <ul>
+ * <li>If the class has been loaded by the owner of the cache or by one of its parents, the value is held strongly as
+ * long as the cache exists. Such a class cannot be unloaded before the owner, that keeps the cache, anyway. The owner
+ * is the loader of this library, unless specified otherwise.</li>
+ * <li>Otherwise, e.g. for a class of a web application, that uses a shared library, the value is held weakly. It lives
+ * as long as it is in use, e.g. the info of a consumer class as long as a consumer of the class is bound, and it gets
+ * computed again, if needed afterwards. It never keeps the loader of its class alive.</li>
+ * </ul>
+ * <p>
+ * Any thread may look up values at any time, values are added while holding the lock of the cache.
+ * </p>
+ * 
+ * @author Manfred Hantschel
+ * @param <VALUE> the type of the values
+ */
+final class ClassCache<VALUE>
+{
+
+    /**
+     * The holder of a value of a class, that may be unloaded before the owner of the cache
+     */
+    private static final class WeakValue<VALUE> extends WeakReference<VALUE>
+    {
+
+        WeakValue(VALUE value)
+        {
+            super(value);
+        }
+
+    }
+
+    private final ClassLoader owner;
+    private final WeakIdentityMap<Object> values;
+
+    /**
+     * Creates a cache, that is owned by the loader of this library
+     */
+    public ClassCache()
+    {
+        this(ClassCache.class.getClassLoader());
+    }
+
+    /**
+     * Creates a cache, that is owned by the specified loader. The cache must not live longer than the loader.
+     * 
+     * @param owner the loader, null for the bootstrap loader
+     */
+    public ClassCache(ClassLoader owner)
+    {
+        super();
+
+        this.owner = owner;
+
+        values = new WeakIdentityMap<Object>();
+    }
+
+    /**
+     * Returns the loader, that owns the cache
+     * 
+     * @return the loader, null for the bootstrap loader
+     */
+    public ClassLoader getOwner()
+    {
+        return owner;
+    }
+
+    /**
+     * Returns the value for the class
+     * 
+     * @param type the class, mandatory
+     * @return the value, null if not cached
+     */
+    @SuppressWarnings("unchecked")
+    public VALUE get(Class<?> type)
+    {
+        Object value = values.get(type);
+
+        if (value instanceof WeakValue<?>)
+        {
+            return ((WeakValue<VALUE>) value).get();
+        }
+
+        return (VALUE) value;
+    }
+
+    /**
+     * Caches the value, if there is no value for the class, yet
+     * 
+     * @param type the class, mandatory
+     * @param value the value, mandatory
+     * @return the cached value, either the existing or the specified one
+     */
+    public synchronized VALUE putIfAbsent(Class<?> type, VALUE value)
+    {
+        VALUE existing = get(type);
+
+        if (existing != null)
+        {
+            return existing;
+        }
+
+        values.put(type, (isOwned(type)) ? value : new WeakValue<VALUE>(value));
+
+        return value;
+    }
+
+    /**
+     * Returns true if the class has been loaded by the owner of the cache or by one of its parents
+     * 
+     * @param type the class
+     * @return true if the class lives at least as long as the owner
+     */
+    private boolean isOwned(Class<?> type)
+    {
+        ClassLoader loader = type.getClassLoader();
+
+        if (loader == null)
+        {
+            return true;
+        }
+
+        for (ClassLoader current = owner; current != null; current = current.getParent())
+        {
+            if (current == loader)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the number of cached classes, including classes with collected values. Removes the unloaded classes
+     * first.
+     * 
+     * @return the number of classes
+     */
+    public synchronized int size()
+    {
+        values.expungeStaleEntries();
+
+        return values.size();
+    }
+
+}
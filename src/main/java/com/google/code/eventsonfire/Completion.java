@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * <p>
+ * Tracks the completion of a fired event. The completion holds one count for the dispatch of the event, which is
+ * released when the lane is done with the event (or when the event will never be fired), and one count for each
+ * invoked event handler, which is released when the handler returns. Handlers, that are executed by pooled threads or
+ * by the Swing thread, are counted, too.
+ * </p>
+ * <p>
+ * While a lane dispatches an event, the completion is bound to the thread, thus each {@link EventHandlerInvoker}
+ * created by the thread belongs to the completion.
+ * </p>
+ * <p>
+ * The {@link Action} of a fired event is its own completion, thus tracking an event does not create any additional
+ * object. The list of failures is created with the first failure.
+ * </p>
+ * 
+ * @author Manfred Hantschel
+ */
+class Completion
+{
+
+    /**
+     * The completion of the event, that is currently dispatched by the thread
+     */
+    private static final ThreadLocal<Completion> CURRENT = new ThreadLocal<Completion>();
+
+    /**
+     * Returns the completion of the event, that is currently dispatched by the calling thread
+     * 
+     * @return the completion, null if none
+     */
+    public static Completion current()
+    {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds the completion to the calling thread
+     * 
+     * @param completion the completion, may be null
+     * @return the previously bound completion, must be restored by {@link #exit(Completion)}
+     */
+    public static Completion enter(Completion completion)
+    {
+        Completion previous = CURRENT.get();
+
+        CURRENT.set(completion);
+
+        return previous;
+    }
+
+    /**
+     * Restores the previously bound completion
+     * 
+     * @param previous the completion returned by {@link #enter(Completion)}
+     */
+    public static void exit(Completion previous)
+    {
+        CURRENT.set(previous);
+    }
+
+    /**
+     * Counts an event handler invocation for the completion bound to the calling thread
+     * 
+     * @return the completion, null if none is bound to the calling thread
+     */
+    public static Completion begin()
+    {
+        Completion completion = CURRENT.get();
+
+        if (completion != null)
+        {
+            HANDLER_COUNT_UPDATER.incrementAndGet(completion);
+            PENDING_UPDATER.incrementAndGet(completion);
+        }
+
+        return completion;
+    }
+
+    private static final AtomicIntegerFieldUpdater<Completion> PENDING_UPDATER = AtomicIntegerFieldUpdater.newUpdater(
+        Completion.class, "pending");
+
+    private static final AtomicIntegerFieldUpdater<Completion> HANDLER_COUNT_UPDATER = AtomicIntegerFieldUpdater
+        .newUpdater(Completion.class, "handlerCount");
+
+    private static final AtomicIntegerFieldUpdater<Completion> RELEASED_UPDATER = AtomicIntegerFieldUpdater.newUpdater(
+        Completion.class, "released");
+
+    private volatile int pending = 1;
+    private volatile int handlerCount = 0;
+    private volatile int released = 0;
+
+    /**
+     * The failures, null as long as no event handler failed, guarded by the completion
+     */
+    private List<EventHandlerFailure> failures;
+
+    public Completion()
+    {
+        super();
+    }
+
+    /**
+     * Marks the end of an event handler invocation, that was started by {@link #begin()}
+     * 
+     * @param method the method of the event handler
+     * @param consumer the consumer
+     * @param failure the exception thrown by the event handler, null if it succeeded
+     */
+    public void end(Method method, Object consumer, Throwable failure)
+    {
+        if (failure != null)
+        {
+            synchronized (this)
+            {
+                if (failures == null)
+                {
+                    failures = new ArrayList<EventHandlerFailure>();
+                }
+
+                failures.add(new EventHandlerFailure(method, consumer, failure));
+            }
+        }
+
+        countDown();
+    }
+
+    /**
+     * Releases the count of the dispatch. May be called more than once, only the first call counts.
+     */
+    public void release()
+    {
+        if (RELEASED_UPDATER.compareAndSet(this, 0, 1))
+        {
+            countDown();
+        }
+    }
+
+    private void countDown()
+    {
+        if (PENDING_UPDATER.decrementAndGet(this) == 0)
+        {
+            synchronized (this)
+            {
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Returns true if the dispatch and all invoked event handlers have finished
+     * 
+     * @return true if done
+     */
+    public boolean isDone()
+    {
+        return pending == 0;
+    }
+
+    /**
+     * Waits until the dispatch and all invoked event handlers have finished
+     * 
+     * @throws InterruptedException if interrupted
+     */
+    public synchronized void await() throws InterruptedException
+    {
+        while (pending != 0)
+        {
+            wait();
+        }
+    }
+
+    /**
+     * Waits until the dispatch and all invoked event handlers have finished
+     * 
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return true if done, false if the timeout elapsed
+     * @throws InterruptedException if interrupted
+     */
+    public synchronized boolean await(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        long nanos = unit.toNanos(timeout);
+        long deadline = System.nanoTime() + nanos;
+
+        while (pending != 0)
+        {
+            if (nanos <= 0)
+            {
+                return false;
+            }
+
+            TimeUnit.NANOSECONDS.timedWait(this, nanos);
+            nanos = deadline - System.nanoTime();
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the number of invoked event handlers
+     * 
+     * @return the number of invoked event handlers
+     */
+    public int getHandlerCount()
+    {
+        return handlerCount;
+    }
+
+    /**
+     * Returns the failures of the event handlers, that have finished so far
+     * 
+     * @return a copy of the list of failures
+     */
+    public synchronized List<EventHandlerFailure> getFailures()
+    {
+        if (failures == null)
+        {
+            return new ArrayList<EventHandlerFailure>();
+        }
+
+        return new ArrayList<EventHandlerFailure>(failures);
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.util.Arrays;
+
+/**
+ * The default conflation key, consisting of the identity of the producer, the class of the event and the tags.
+ * 
+ * @author Manfred Hantschel
+ */
+class ConflationKey
+{
+
+    /**
+     * The provider for the default conflation keys
+     */
+    public static final ConflationKeyProvider PROVIDER = new ConflationKeyProvider()
+    {
+
+        public Object getConflationKey(Object producer, Object event, String[] tags)
+        {
+            return new ConflationKey(producer, event.getClass(), tags);
+        }
+
+    };
+
+    private final Object producer;
+    private final Class<?> eventClass;
+    private final String[] tags;
+    private final int hashCode;
+
+    public ConflationKey(Object producer, Class<?> eventClass, String[] tags)
+    {
+        super();
+
+        this.producer = producer;
+        this.eventClass = eventClass;
+        this.tags = tags;
+
+        hashCode = System.identityHashCode(producer) ^ (31 * eventClass.hashCode()) ^ Arrays.hashCode(tags);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode()
+    {
+        return hashCode;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (obj == this)
+        {
+            return true;
+        }
+
+        if (!(obj instanceof ConflationKey))
+        {
+            return false;
+        }
+
+        ConflationKey other = (ConflationKey) obj;
+
+        return (producer == other.producer) && (eventClass == other.eventClass)
+            && (Arrays.equals(tags, other.tags));
+    }
+
+}
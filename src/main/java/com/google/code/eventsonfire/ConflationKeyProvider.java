@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+/**
+ * Provides the key for conflating events. Pending events with equal keys replace each other, only the newest one gets
+ * fired.
+ * 
+ * @see Events#fireConflated(Object, Object, ConflationKeyProvider, String...)
+ * @author Manfred Hantschel
+ */
+public interface ConflationKeyProvider
+{
+
+    /**
+     * Returns the conflation key for the event. Keys are compared by equality. Events are only conflated with events
+     * of producers in the same lane, thus the key should contain the producer.
+     * 
+     * @param producer the producer
+     * @param event the event
+     * @param tags the tags
+     * @return the key, null if the event should not get conflated
+     */
+    Object getConflationKey(Object producer, Object event, String[] tags);
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.util.Iterator;
+
+/**
+ * Bindings of a consumer with its producers within a {@link Lane}. There is exactly one info per consumer and lane.
+ * The entry of the consumer in the registry of the lane is the only weak reference to the consumer, it is shared by
+ * all {@link ProducerInfo}s, that contain the consumer, and it is enqueued once, when the consumer has been garbage
+ * collected. The info knows all producers of the consumer, thus a garbage collected or unbound consumer can be removed
+ * from its producers without looking at any other producer. The producers are held in an {@link IdentitySet}, thus
+ * a consumer with a single producer costs no additional object and looking up a producer does not depend on the
+ * number of producers. Only used by the thread of the lane.
+ * 
+ * @author Manfred Hantschel
+ */
+final class ConsumerInfo implements Iterable<ProducerInfo>
+{
+
+    /**
+     * The infos of the producers, the consumer is bound to
+     */
+    private final IdentitySet<ProducerInfo> producerInfos;
+
+    /**
+     * The entry of the consumer in the registry of the {@link Lane}, the reference to the consumer
+     */
+    private WeakIdentityMap.Entry<ConsumerInfo> entry;
+
+    public ConsumerInfo()
+    {
+        super();
+
+        producerInfos = new IdentitySet<ProducerInfo>();
+    }
+
+    /**
+     * Returns the entry of the consumer in the registry of the {@link Lane}. The entry is the weak reference to the
+     * consumer, that is added to the {@link ProducerInfo}s.
+     * 
+     * @return the entry
+     */
+    public WeakIdentityMap.Entry<ConsumerInfo> getEntry()
+    {
+        return entry;
+    }
+
+    /**
+     * Sets the entry of the consumer in the registry of the {@link Lane}
+     * 
+     * @param entry the entry
+     */
+    public void setEntry(WeakIdentityMap.Entry<ConsumerInfo> entry)
+    {
+        this.entry = entry;
+    }
+
+    /**
+     * Adds the info of a producer, the consumer has been bound to
+     * 
+     * @param producerInfo the info of the producer
+     */
+    public void add(ProducerInfo producerInfo)
+    {
+        producerInfos.add(producerInfo);
+    }
+
+    /**
+     * Removes the info of a producer, the consumer has been unbound from
+     * 
+     * @param producerInfo the info of the producer
+     */
+    public void remove(ProducerInfo producerInfo)
+    {
+        producerInfos.remove(producerInfo);
+    }
+
+    /**
+     * Returns true if the consumer is bound to the producer
+     * 
+     * @param producerInfo the info of the producer
+     * @return true if bound
+     */
+    public boolean contains(ProducerInfo producerInfo)
+    {
+        return producerInfos.contains(producerInfo);
+    }
+
+    /**
+     * Returns an iterator over a copy of the infos of all producers, the consumer is bound to, thus the consumer may be
+     * unbound while iterating.
+     * 
+     * @return the iterator
+     */
+    public Iterator<ProducerInfo> iterator()
+    {
+        return producerInfos.iterator();
+    }
+
+    /**
+     * Returns true if the consumer is not bound to any producer
+     * 
+     * @return true if not bound
+     */
+    public boolean isEmpty()
+    {
+        return producerInfos.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString()
+    {
+        return "ConsumerInfo bound to " + producerInfos.size() + " producers";
+    }
+
+}
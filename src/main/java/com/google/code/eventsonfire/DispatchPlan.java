@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The event handlers of a consumer class, that may handle events of one type fired by producers of one type. The types
+ * of producer and event have been checked when creating the plan, only the tags are checked when invoking the event
+ * handlers. This shortcut is only taken for infos, that do not override any of the checks of the
+ * {@link AbstractEventHandlerInfo} (like the built-in ones). Any other info is invoked by
+ * {@link EventHandlerInfo#invoke(Object, Object, Object, String...)}, thus its overridden methods get called as before.
+ * 
+ * @author Manfred Hantschel
+ */
+final class DispatchPlan
+{
+
+    /**
+     * The methods of the {@link AbstractEventHandlerInfo}, that decide whether an event handler gets called
+     */
+    private static final Set<String> CHECKS = new HashSet<String>(Arrays.asList("invoke", "isCallable",
+        "isProducerAssignable", "isEventAssignable", "isTagsMatching", "isAnyTagsMatching", "isEachTagsMatching"));
+
+    /**
+     * True for each class of infos, that does not override any of the checks
+     */
+    private static final ClassCache<Boolean> SHORTCUTS = new ClassCache<Boolean>();
+
+    /**
+     * The plan without event handlers
+     */
+    public static final DispatchPlan EMPTY = new DispatchPlan(new EventHandlerInfo[0], new boolean[0]);
+
+    /**
+     * The event handlers, that may handle the event
+     */
+    private final EventHandlerInfo[] infos;
+
+    /**
+     * True for each event handler, that has been resolved by type. All other event handlers check the types on each
+     * invocation.
+     */
+    private final boolean[] applicable;
+
+    private DispatchPlan(EventHandlerInfo[] infos, boolean[] applicable)
+    {
+        super();
+
+        this.infos = infos;
+        this.applicable = applicable;
+    }
+
+    /**
+     * Creates the plan for the event handlers of a consumer class
+     * 
+     * @param infos the event handlers of the consumer class
+     * @param producerType the type of the producer
+     * @param eventType the type of the event
+     * @return the plan, {@link #EMPTY} if none of the event handlers can handle the event
+     */
+    public static DispatchPlan create(Iterable<EventHandlerInfo> infos, Class<?> producerType, Class<?> eventType)
+    {
+        List<EventHandlerInfo> matchingInfos = new ArrayList<EventHandlerInfo>();
+
+        for (EventHandlerInfo info : infos)
+        {
+            if ((!isShortcut(info)) || (((AbstractEventHandlerInfo) info).isApplicable(producerType, eventType)))
+            {
+                matchingInfos.add(info);
+            }
+        }
+
+        if (matchingInfos.isEmpty())
+        {
+            return EMPTY;
+        }
+
+        boolean[] applicable = new boolean[matchingInfos.size()];
+
+        for (int i = 0; i < applicable.length; i += 1)
+        {
+            applicable[i] = isShortcut(matchingInfos.get(i));
+        }
+
+        return new DispatchPlan(matchingInfos.toArray(new EventHandlerInfo[matchingInfos.size()]), applicable);
+    }
+
+    /**
+     * Returns true if the info is an {@link AbstractEventHandlerInfo}, that does not override any of the checks
+     * 
+     * @param info the info
+     * @return true if the types may be checked once and the tags by their bitsets
+     */
+    static boolean isShortcut(EventHandlerInfo info)
+    {
+        if (!(info instanceof AbstractEventHandlerInfo))
+        {
+            return false;
+        }
+
+        Class<?> type = info.getClass();
+        Boolean shortcut = SHORTCUTS.get(type);
+
+        if (shortcut == null)
+        {
+            shortcut = SHORTCUTS.putIfAbsent(type, Boolean.valueOf(!isOverridingChecks(type)));
+        }
+
+        return shortcut.booleanValue();
+    }
+
+    private static boolean isOverridingChecks(Class<?> type)
+    {
+        for (Class<?> current = type; current != AbstractEventHandlerInfo.class; current = current.getSuperclass())
+        {
+            for (Method method : current.getDeclaredMethods())
+            {
+                if ((!method.isSynthetic()) && (CHECKS.contains(method.getName())))
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns true if the plan does not contain any event handler
+     * 
+     * @return true if empty
+     */
+    public boolean isEmpty()
+    {
+        return infos.length == 0;
+    }
+
+    /**
+     * Invokes all event handlers of the plan, if the tags match
+     * 
+     * @param producer the producer, mandatory
+     * @param consumer the consumer, mandatory
+     * @param event the event, mandatory
+     * @param tags the tags
+     */
+    public void invoke(Object producer, Object consumer, Object event, Tags tags)
+    {
+        for (int i = 0; i < infos.length; i += 1)
+        {
+            if (applicable[i])
+            {
+                ((AbstractEventHandlerInfo) infos[i]).invokeApplicable(producer, consumer, event, tags);
+            }
+            else
+            {
+                infos[i].invoke(producer, consumer, event, tags.names());
+            }
+        }
+    }
+
+}
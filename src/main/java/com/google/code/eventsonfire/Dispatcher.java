@@ -0,0 +1,569 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.code.eventsonfire.Action.Type;
+
+/**
+ * <p>
+ * Dispatches actions to a fixed number of {@link Lane}s, each one executed by its own daemon thread. The lane of an
+ * action is chosen by the identity of its producer, thus all actions of one producer are executed in the order they
+ * were enqueued, while actions of unrelated producers may be executed in parallel.
+ * </p>
+ * <p>
+ * Bind and unbind actions with a class as producer affect the producers of all lanes. These actions are enqueued to
+ * each lane, which keeps them ordered with all other actions of each lane.
+ * </p>
+ * <p>
+ * The number of pending fire actions per lane may be limited by a capacity. If a lane is full, the
+ * {@link OverflowPolicy} decides what happens with the action. Bind, unbind and batch actions are always accepted.
+ * </p>
+ * <p>
+ * Optionally, each lane uses a {@link RingBuffer} with preallocated slots instead of its unbounded queue. Bindings and
+ * events, that are enqueued without an action, do not allocate any object then. The size of the ring buffer bounds
+ * the number of pending actions, the capacity and the overflow policy are not used.
+ * </p>
+ * 
+ * @author Manfred Hantschel
+ */
+class Dispatcher
+{
+
+    /**
+     * The capacity of unbounded lanes
+     */
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private final Lane[] lanes;
+    private final Thread[] threads;
+    private final AtomicLong[] overflowCounts;
+    private final int ringSize;
+
+    private volatile int capacity = UNBOUNDED;
+    private volatile OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private volatile boolean shutdown = false;
+
+    /**
+     * Creates the dispatcher and starts the threads of all lanes.
+     * 
+     * @param bus the bus, that owns the dispatcher, mandatory
+     * @param name the name of the threads, mandatory
+     * @param numberOfLanes the number of lanes, at least 1
+     * @throws IllegalArgumentException if the number of lanes is less than 1
+     */
+    public Dispatcher(EventBus bus, String name, int numberOfLanes) throws IllegalArgumentException
+    {
+        this(bus, name, numberOfLanes, 0);
+    }
+
+    /**
+     * Creates the dispatcher and starts the threads of all lanes.
+     * 
+     * @param bus the bus, that owns the dispatcher, mandatory
+     * @param name the name of the threads, mandatory
+     * @param numberOfLanes the number of lanes, at least 1
+     * @param ringSize the size of the ring buffer of each lane, a power of two, 0 to use unbounded queues
+     * @throws IllegalArgumentException if the number of lanes is less than 1 or the size of the ring buffer is not a
+     *             power of two
+     */
+    public Dispatcher(EventBus bus, String name, int numberOfLanes, int ringSize) throws IllegalArgumentException
+    {
+        super();
+
+        if (numberOfLanes < 1)
+        {
+            throw new IllegalArgumentException("Number of lanes must be at least 1: " + numberOfLanes);
+        }
+
+        if ((ringSize < 0) || ((ringSize > 0) && ((ringSize < 2) || ((ringSize & (ringSize - 1)) != 0))))
+        {
+            throw new IllegalArgumentException("Size of ring buffer must be a power of two: " + ringSize);
+        }
+
+        this.ringSize = ringSize;
+
+        lanes = new Lane[numberOfLanes];
+        threads = new Thread[numberOfLanes];
+        overflowCounts = new AtomicLong[OverflowPolicy.values().length];
+
+        for (int i = 0; i < overflowCounts.length; i += 1)
+        {
+            overflowCounts[i] = new AtomicLong();
+        }
+
+        for (int i = 0; i < numberOfLanes; i += 1)
+        {
+            lanes[i] = new Lane(bus, ringSize);
+
+            threads[i] = new Thread(lanes[i], (numberOfLanes > 1) ? name + " #" + (i + 1) : name);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+    }
+
+    /**
+     * Returns the number of lanes
+     * 
+     * @return the number of lanes
+     */
+    public int getNumberOfLanes()
+    {
+        return lanes.length;
+    }
+
+    /**
+     * Returns the maximum number of pending fire actions per lane
+     * 
+     * @return the capacity, {@link #UNBOUNDED} if unbounded
+     */
+    public int getCapacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Returns the policy, that is applied if a lane is full
+     * 
+     * @return the policy
+     */
+    public OverflowPolicy getOverflowPolicy()
+    {
+        return overflowPolicy;
+    }
+
+    /**
+     * Sets the maximum number of pending fire actions per lane and the policy, that is applied if a lane is full
+     * 
+     * @param capacity the capacity, at least 1, {@link #UNBOUNDED} if unbounded
+     * @param overflowPolicy the policy, mandatory
+     * @throws IllegalArgumentException if the capacity is less than 1 or the policy is null
+     */
+    public void setCapacity(int capacity, OverflowPolicy overflowPolicy) throws IllegalArgumentException
+    {
+        if (capacity < 1)
+        {
+            throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+        }
+
+        if (overflowPolicy == null)
+        {
+            throw new IllegalArgumentException("Overflow policy is null");
+        }
+
+        this.overflowPolicy = overflowPolicy;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns how often the policy has been applied, because a lane was full
+     * 
+     * @param overflowPolicy the policy, mandatory
+     * @return the number of overflows
+     */
+    public long getOverflowCount(OverflowPolicy overflowPolicy)
+    {
+        return overflowCounts[overflowPolicy.ordinal()].get();
+    }
+
+    /**
+     * Returns the index of the lane responsible for the specified producer
+     * 
+     * @param producer the producer, mandatory
+     * @return the index of the lane
+     */
+    public int indexOf(Object producer)
+    {
+        if (lanes.length == 1)
+        {
+            return 0;
+        }
+
+        int hash = System.identityHashCode(producer);
+
+        hash ^= (hash >>> 16);
+
+        return (hash & 0x7fffffff) % lanes.length;
+    }
+
+    /**
+     * Adds an action to the pending actions of the responsible lane (or of all lanes, if the action binds, unbinds or
+     * releases a class or unbinds a consumer from all producers). The action gets executed as soon as possible.
+     * 
+     * @param action the action
+     * @throws IllegalStateException if the dispatcher has been shut down
+     */
+    public void enqueue(Action action) throws IllegalStateException
+    {
+        ensureRunning();
+
+        if (isBroadcast(action.getType(), action.getProducer()))
+        {
+            for (Lane lane : lanes)
+            {
+                lane.enqueue(action);
+            }
+
+            return;
+        }
+
+        Lane lane = lanes[indexOf(action.getProducer())];
+        int capacity = this.capacity;
+
+        if ((capacity == UNBOUNDED) || (action.getType() != Type.FIRE) || (lane.isRing()))
+        {
+            lane.enqueue(action);
+
+            return;
+        }
+
+        if (!lane.offer(action, capacity))
+        {
+            overflow(lane, action, capacity);
+        }
+    }
+
+    /**
+     * Adds a bind, unbind, release or fire action to the pending actions of the responsible lane (or of all lanes, if
+     * the action binds, unbinds or releases a class or unbinds a consumer from all producers). If the lanes use ring
+     * buffers, no action object is created. Nobody holds a reference to the action, thus a rejected fire action is
+     * reported by an exception.
+     * 
+     * @param type the type of the action
+     * @param producer the producer
+     * @param parameter the parameter
+     * @param tags the tags
+     * @throws IllegalStateException if the dispatcher has been shut down
+     * @throws RejectedExecutionException if the fire action has been rejected, because the lane is full and the
+     *             {@link OverflowPolicy#FAIL} policy is active or the thread has been interrupted while waiting for
+     *             space in the lane
+     */
+    public void enqueue(Type type, Object producer, Object parameter, Tags tags) throws IllegalStateException,
+        RejectedExecutionException
+    {
+        ensureRunning();
+
+        if (ringSize == 0)
+        {
+            Action action = new Action(type, producer, parameter, System.nanoTime(), tags);
+
+            enqueue(action);
+
+            if (action.isRejected())
+            {
+                throw new RejectedExecutionException("Event " + parameter + " of " + producer + " has been rejected");
+            }
+
+            return;
+        }
+
+        if (isBroadcast(type, producer))
+        {
+            for (Lane lane : lanes)
+            {
+                lane.enqueue(type, producer, parameter, tags, null);
+            }
+
+            return;
+        }
+
+        lanes[indexOf(producer)].enqueue(type, producer, parameter, tags, null);
+    }
+
+    /**
+     * Returns the size of the ring buffer of each lane
+     * 
+     * @return the size, 0 if the lanes use unbounded queues
+     */
+    public int getRingSize()
+    {
+        return ringSize;
+    }
+
+    /**
+     * Adds a conflated fire action to the responsible lane. The action replaces a pending action with the same
+     * conflation key. Conflated actions are not counted against the capacity, there is at most one pending action per
+     * conflation key.
+     * 
+     * @param action the action with a conflation key
+     * @throws IllegalStateException if the dispatcher has been shut down
+     */
+    public void conflate(Action action) throws IllegalStateException
+    {
+        ensureRunning();
+
+        lanes[indexOf(action.getProducer())].conflate(action);
+    }
+
+    /**
+     * Applies the overflow policy to an action, that did not fit into its lane
+     * 
+     * @param lane the lane
+     * @param action the action
+     * @param capacity the capacity
+     */
+    private void overflow(Lane lane, Action action, int capacity)
+    {
+        OverflowPolicy overflowPolicy = this.overflowPolicy;
+
+        overflowCounts[overflowPolicy.ordinal()].incrementAndGet();
+
+        switch (overflowPolicy)
+        {
+            case BLOCK:
+                if (isDispatcherThread())
+                {
+                    // the threads of the lanes must never block, they would wait for themselves
+                    lane.enqueue(action);
+                    return;
+                }
+
+                try
+                {
+                    do
+                    {
+                        lane.awaitNotFull(capacity);
+
+                        if (shutdown)
+                        {
+                            action.reject();
+                            return;
+                        }
+                    }
+                    while (!lane.offer(action, capacity));
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    action.reject();
+                }
+                return;
+
+            case FAIL:
+                action.reject();
+                return;
+
+            case DROP_OLDEST:
+                while (!lane.offer(action, capacity))
+                {
+                    if (!lane.dropOldest())
+                    {
+                        // all pending actions have been taken meanwhile
+                        lane.enqueue(action);
+                        return;
+                    }
+                }
+                return;
+
+            case DROP_NEWEST:
+                action.drop();
+                return;
+
+            case CALLER_RUNS:
+                try
+                {
+                    lane.fire(action.getProducer(), action.getParameter(), action.getTags(), action.getCompletion());
+                    action.setExecuted(true);
+                }
+                finally
+                {
+                    action.complete();
+                }
+                return;
+        }
+    }
+
+    private boolean isDispatcherThread()
+    {
+        Thread current = Thread.currentThread();
+
+        for (Thread thread : threads)
+        {
+            if (thread == current)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Adds a delayed fire action to the responsible lane. The action gets executed, when it is due.
+     * 
+     * @param action the action
+     * @throws IllegalStateException if the dispatcher has been shut down
+     */
+    public void schedule(Action action) throws IllegalStateException
+    {
+        ensureRunning();
+
+        lanes[indexOf(action.getProducer())].schedule(action);
+    }
+
+    /**
+     * Fires the event immediately by the calling thread. Uses the registry of the responsible lane.
+     * 
+     * @param producer the producer, mandatory
+     * @param event the event, mandatory
+     * @param tags the tags
+     * @throws IllegalStateException if the dispatcher has been shut down
+     */
+    public void fireNow(Object producer, Object event, Tags tags) throws IllegalStateException
+    {
+        ensureRunning();
+
+        lanes[indexOf(producer)].fire(producer, event, tags, null);
+    }
+
+    /**
+     * Adds an action to the batches, one batch per lane. The batches are created when needed.
+     * 
+     * @param batches the batches, one per lane
+     * @param type the type of the action
+     * @param producer the producer
+     * @param parameter the parameter
+     * @param tags the tags
+     */
+    public void add(Batch[] batches, Type type, Object producer, Object parameter, Tags tags)
+    {
+        if (isBroadcast(type, producer))
+        {
+            for (int i = 0; i < lanes.length; i += 1)
+            {
+                getBatch(batches, i).add(type, producer, parameter, tags);
+            }
+
+            return;
+        }
+
+        getBatch(batches, indexOf(producer)).add(type, producer, parameter, tags);
+    }
+
+    /**
+     * Adds a referenced fire action to the batch of the responsible lane
+     * 
+     * @param batches the batches, one per lane
+     * @param action the fire action
+     */
+    public void add(Batch[] batches, Action action)
+    {
+        getBatch(batches, indexOf(action.getProducer())).add(action);
+    }
+
+    /**
+     * Adds all actions of the batch to the batches, one batch per lane. The batch must only contain fire actions of
+     * the specified producer.
+     * 
+     * @param batches the batches, one per lane
+     * @param producer the producer of all actions
+     * @param batch the batch
+     */
+    public void addAll(Batch[] batches, Object producer, Batch batch)
+    {
+        getBatch(batches, indexOf(producer)).addAll(batch);
+    }
+
+    /**
+     * Enqueues one batch action for each lane with a non-empty batch
+     * 
+     * @param batches the batches, one per lane
+     * @throws IllegalStateException if the dispatcher has been shut down
+     */
+    public void publish(Batch[] batches) throws IllegalStateException
+    {
+        ensureRunning();
+
+        for (int i = 0; i < lanes.length; i += 1)
+        {
+            Batch batch = batches[i];
+
+            if ((batch != null) && (!batch.isEmpty()))
+            {
+                lanes[i].enqueue(new Action(Type.BATCH, batch.getProducer(0), batch, System.nanoTime()));
+            }
+        }
+    }
+
+    private Batch getBatch(Batch[] batches, int index)
+    {
+        Batch batch = batches[index];
+
+        if (batch == null)
+        {
+            batch = new Batch();
+            batches[index] = batch;
+        }
+
+        return batch;
+    }
+
+    /**
+     * Stops the threads of all lanes. Pending actions are not executed anymore, enqueuing further actions fails.
+     * Threads, that wait for space in a full lane, stop waiting and the actions get rejected.
+     */
+    public void shutdown()
+    {
+        shutdown = true;
+
+        for (Lane lane : lanes)
+        {
+            lane.stop();
+        }
+    }
+
+    /**
+     * Returns true if the dispatcher has been shut down
+     * 
+     * @return true if shut down
+     */
+    public boolean isShutdown()
+    {
+        return shutdown;
+    }
+
+    private void ensureRunning() throws IllegalStateException
+    {
+        if (shutdown)
+        {
+            throw new IllegalStateException("Dispatcher has been shut down");
+        }
+    }
+
+    private static boolean isBroadcast(Type type, Object producer)
+    {
+        switch (type)
+        {
+            case BIND:
+            case UNBIND:
+            case RELEASE:
+                return producer instanceof Class;
+
+            case UNBIND_ALL:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+}
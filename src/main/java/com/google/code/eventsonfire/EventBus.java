@@ -0,0 +1,1204 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.code.eventsonfire.Action.Type;
+import com.google.code.eventsonfire.error.DefaultErrorHandler;
+import com.google.code.eventsonfire.error.ErrorHandler;
+import com.google.code.eventsonfire.swing.SwingEventHandler;
+import com.google.code.eventsonfire.swing.SwingEvents;
+
+/**
+ * <p>
+ * An event bus with its own lanes and threads, its own registry of producers and consumers, its own strategies for
+ * event handlers, its own executor service for pooled event handlers and its own error handler. Independent subsystems
+ * may use their own buses, thus they neither share queues nor registries. The static methods of {@link Events} use the
+ * default bus.
+ * </p>
+ * <p>
+ * All references to producers and consumers in a bus are weak. Producers and consumers are bound to one bus only, the
+ * events of a producer are only delivered to consumers bound on the same bus.
+ * </p>
+ * 
+ * @see Events#getDefaultBus()
+ * @author Manfred Hantschel
+ */
+public class EventBus
+{
+
+    /**
+     * The capacity of unbounded lanes
+     */
+    public static final int UNBOUNDED = Dispatcher.UNBOUNDED;
+
+    /**
+     * The bus, that is dispatching events on the current thread
+     */
+    private static final ThreadLocal<EventBus> CURRENT = new ThreadLocal<EventBus>();
+
+    /**
+     * The default maximum number of threads for the executor service
+     */
+    private static final int DEFAULT_MAXIMUM_NUMBER_OF_THREADS = 4;
+
+    /**
+     * Returns the bus, that is dispatching events on the current thread. Used by event handlers to find the executor
+     * service and the error handler of their bus.
+     * 
+     * @return the bus, the default bus if the current thread does not dispatch any events
+     */
+    static EventBus current()
+    {
+        EventBus bus = CURRENT.get();
+
+        return (bus != null) ? bus : Events.getDefaultBus();
+    }
+
+    /**
+     * Binds the bus to the current thread
+     * 
+     * @param bus the bus, may be null
+     * @return the previously bound bus, must be restored by {@link #exit(EventBus)}
+     */
+    static EventBus enter(EventBus bus)
+    {
+        EventBus previous = CURRENT.get();
+
+        CURRENT.set(bus);
+
+        return previous;
+    }
+
+    /**
+     * Restores the previously bound bus
+     * 
+     * @param previous the bus returned by {@link #enter(EventBus)}
+     */
+    static void exit(EventBus previous)
+    {
+        CURRENT.set(previous);
+    }
+
+    /**
+     * The name of the bus, used for naming its threads
+     */
+    private final String name;
+
+    /**
+     * Holds all strategies for event handler methods
+     */
+    private final Collection<EventHandlerStrategy> strategies;
+
+    /**
+     * Holds all previously generated {@link ConsumerClassInfo} objects. The cache is accessed by all lanes of the
+     * bus, it does not prevent the consumer classes from being unloaded.
+     */
+    private final ClassCache<ConsumerClassInfo> consumerClassInfos;
+
+    /**
+     * The thread local variable containing the batches of the current batch scope, one for each lane
+     */
+    private final ThreadLocal<Batch[]> batchScope;
+
+    /**
+     * The dispatcher with the threads for firing the events
+     */
+    private final Dispatcher dispatcher;
+
+    /**
+     * The thread pool created by the bus, shut down with the bus
+     */
+    private final ExecutorService defaultExecutorService;
+
+    /**
+     * The thread pool for pending handler invocations.
+     */
+    private volatile ExecutorService executorService;
+
+    /**
+     * Handler used for logging.
+     */
+    private volatile ErrorHandler errorHandler;
+
+    /**
+     * Creates a bus with one lane, and starts its thread.
+     * 
+     * @param name the name of the thread, mandatory
+     * @throws IllegalArgumentException if the name is null
+     */
+    public EventBus(String name) throws IllegalArgumentException
+    {
+        this(name, 1, 0);
+    }
+
+    /**
+     * Creates a bus with the specified number of lanes, and starts their threads.
+     * 
+     * @param name the name of the threads, mandatory
+     * @param numberOfLanes the number of lanes, at least 1
+     * @throws IllegalArgumentException if the name is null or the number of lanes is less than 1
+     */
+    public EventBus(String name, int numberOfLanes) throws IllegalArgumentException
+    {
+        this(name, numberOfLanes, 0);
+    }
+
+    /**
+     * Creates a bus with the specified number of lanes, each one using a ring buffer of the specified size, and starts
+     * their threads.
+     * 
+     * @param name the name of the threads, mandatory
+     * @param numberOfLanes the number of lanes, at least 1
+     * @param ringSize the size of the ring buffer of each lane, a power of two, 0 to use unbounded queues
+     * @throws IllegalArgumentException if the name is null, the number of lanes is less than 1 or the size of the ring
+     *             buffer is not a power of two
+     */
+    public EventBus(String name, int numberOfLanes, int ringSize) throws IllegalArgumentException
+    {
+        super();
+
+        if (name == null)
+        {
+            throw new IllegalArgumentException("Name is null");
+        }
+
+        this.name = name;
+
+        strategies = new HashSet<EventHandlerStrategy>();
+        consumerClassInfos = new ClassCache<ConsumerClassInfo>();
+        batchScope = new ThreadLocal<Batch[]>();
+
+        defaultExecutorService =
+            Executors.newFixedThreadPool(DEFAULT_MAXIMUM_NUMBER_OF_THREADS, createThreadFactory(name + " Pool"));
+        executorService = defaultExecutorService;
+        errorHandler = new DefaultErrorHandler();
+
+        registerStrategy(new EventHandlerAnnotationStrategy());
+        registerStrategy(new PooledEventHandlerAnnotationStrategy());
+        SwingEvents.registerStrategies(this);
+
+        // start the threads last, the bus is complete then
+        dispatcher = new Dispatcher(this, name, numberOfLanes, ringSize);
+    }
+
+    /**
+     * Creates a factory for the daemon threads of the default executor service, thus the pool never keeps the JVM
+     * running.
+     * 
+     * @param name the name of the threads
+     * @return the factory
+     */
+    private static ThreadFactory createThreadFactory(final String name)
+    {
+        return new ThreadFactory()
+        {
+            private final AtomicInteger count = new AtomicInteger();
+
+            public Thread newThread(Runnable runnable)
+            {
+                Thread thread = new Thread(runnable, name + " #" + count.incrementAndGet());
+
+                thread.setDaemon(true);
+
+                return thread;
+            }
+        };
+    }
+
+    /**
+     * Stops the threads of the lanes and shuts down the executor service, that has been created by the bus. An
+     * executor service set by {@link #setExecutorService(ExecutorService)} is not shut down. Pending events are not
+     * delivered anymore, binding, unbinding and firing events on the bus, even by
+     * {@link #fireNow(Object, Object, Tags)}, fail with an {@link IllegalStateException} afterwards. Does nothing if
+     * the bus has already been shut down.
+     */
+    public void shutdown()
+    {
+        dispatcher.shutdown();
+        defaultExecutorService.shutdown();
+    }
+
+    /**
+     * Returns true if the bus has been shut down
+     * 
+     * @return true if shut down
+     */
+    public boolean isShutdown()
+    {
+        return dispatcher.isShutdown();
+    }
+
+    /**
+     * <p>
+     * Binds the specified consumer / listener to the specified instance of class of a producer. The producer may either
+     * be an instance or a class reference.
+     * </p>
+     * <ul>
+     * <li>In case of an instance, the consumer / listener is notified, if the specified producer fires the event
+     * (producers are compared by identity rather than equality).</li>
+     * <li>In case of a class reference, the consumer / listener is notified, if a producer, that fires the event, is an
+     * instance of the specified class (e.g. if the specified producer is a <code>Object.class</code> reference, then
+     * the consumer get notified by all events it can handle).</li>
+     * </ul>
+     * <p>
+     * The consumer must contain at least one <code>@{@link EventHandler} public void handleEvent(* event)</code>
+     * method, otherwise an exception is thrown. Both, the producer and the consumer must have references outside of the
+     * bus. All references within the bus are weak, so the objects and the binding gets garbage collected if not
+     * referenced. Does nothing if the objects are already bonded.
+     * <p>
+     * The classes of the consumers get scanned by the calling thread, if they are not known, yet, thus the dispatching
+     * of events does not wait for the scan (see {@link #preload(Class...)}).
+     * 
+     * @param producer the instance or class of a producer, mandatory
+     * @param consumers one or more consumers / listeners, mandatory
+     * @return the producer
+     * @throws IllegalArgumentException if the producer or the consumers are null or one of the consumer cannot handle
+     *             events
+     */
+    public <PRODUCER_TYPE> PRODUCER_TYPE bind(PRODUCER_TYPE producer, Object... consumers)
+        throws IllegalArgumentException
+    {
+        if (producer == null)
+        {
+            throw new IllegalArgumentException("Producer is null");
+        }
+
+        if ((consumers == null) || (consumers.length == 0))
+        {
+            throw new IllegalArgumentException("Consumers missing");
+        }
+
+        for (Object consumer : consumers)
+        {
+            if (consumer == null)
+            {
+                throw new IllegalArgumentException("Consumer is null");
+            }
+
+            // scan the class by the calling thread
+            getConsumerClassInfo(consumer.getClass());
+        }
+
+        for (Object consumer : consumers)
+        {
+            enqueue(Type.BIND, producer, consumer, null);
+        }
+
+        return producer;
+    }
+
+    /**
+     * <p>
+     * Unbinds the specified consumer from the specified instance or class of a producer. The producer may either be an
+     * instance or a class reference.
+     * </p>
+     * <ul>
+     * <li>In case of an instance, the consumer / listener unbonded from the specified producer (producers are compared
+     * by identity rather than equality).</li>
+     * <li>In case of a class reference, the consumer / listener unbonded from any producer that is an instance of the
+     * specified class (e.g. if the specified producer is a <code>Object.class</code> reference, then the consumer get
+     * unbonded from all producers).</li>
+     * </ul>
+     * <p>
+     * Does nothing if the objects are not bonded.
+     * </p>
+     * 
+     * @param producer the instance or class of a producer, mandatory
+     * @param consumers one or more consumers / listeners, mandatory
+     * @return the producer
+     * @throws IllegalArgumentException if the producer or the consumers are null
+     */
+    public <PRODUCER_TYPE> PRODUCER_TYPE unbind(PRODUCER_TYPE producer, Object... consumers)
+        throws IllegalArgumentException
+    {
+        if (producer == null)
+        {
+            throw new IllegalArgumentException("Producer is null");
+        }
+
+        if ((consumers == null) || (consumers.length == 0))
+        {
+            throw new IllegalArgumentException("Consumers missing");
+        }
+
+        for (Object consumer : consumers)
+        {
+            if (consumer == null)
+            {
+                throw new IllegalArgumentException("Consumer is null");
+            }
+
+            enqueue(Type.UNBIND, producer, consumer, null);
+        }
+
+        return producer;
+    }
+
+    /**
+     * Unbinds the specified consumers from all producers, they are bound to, including classes of producers. Only the
+     * bindings of the consumers are touched, thus the costs do not depend on the number of producers. Does nothing if
+     * the consumers are not bound.
+     * 
+     * @param consumers one or more consumers / listeners, mandatory
+     * @throws IllegalArgumentException if the consumers are null
+     */
+    public void unbindAll(Object... consumers) throws IllegalArgumentException
+    {
+        if ((consumers == null) || (consumers.length == 0))
+        {
+            throw new IllegalArgumentException("Consumers missing");
+        }
+
+        for (Object consumer : consumers)
+        {
+            if (consumer == null)
+            {
+                throw new IllegalArgumentException("Consumer is null");
+            }
+
+            enqueue(Type.UNBIND_ALL, consumer, consumer, null);
+        }
+    }
+
+    /**
+     * Unbinds all consumers from the specified instance or class of a producer, without waiting for the garbage
+     * collector. In case of a class reference, only the consumers bound to the class itself get unbound, the consumers
+     * bound to instances or sub-classes stay bound. Does nothing if the producer has no consumers.
+     * 
+     * @param producer the instance or class of a producer, mandatory
+     * @return the producer
+     * @throws IllegalArgumentException if the producer is null
+     */
+    public <PRODUCER_TYPE> PRODUCER_TYPE release(PRODUCER_TYPE producer) throws IllegalArgumentException
+    {
+        if (producer == null)
+        {
+            throw new IllegalArgumentException("Producer is null");
+        }
+
+        enqueue(Type.RELEASE, producer, null, null);
+
+        return producer;
+    }
+
+    /**
+     * Scans the specified consumer classes in parallel and waits until all classes are scanned. Call it during startup
+     * to keep binding the first instance of each class fast. The classes are scanned by threads created for this call
+     * only, not by the threads of the executor service, thus it may be called by a pooled event handler, too. If the
+     * calling thread gets interrupted, the method returns without waiting for the remaining scans and keeps the
+     * interrupted status of the thread.
+     * 
+     * @param consumerTypes the classes of the consumers, mandatory
+     * @throws IllegalArgumentException if the classes are null or one of the classes cannot handle events
+     */
+    public void preload(Class<?>... consumerTypes) throws IllegalArgumentException
+    {
+        if (consumerTypes == null)
+        {
+            throw new IllegalArgumentException("Consumer types are null");
+        }
+
+        for (Class<?> consumerType : consumerTypes)
+        {
+            if (consumerType == null)
+            {
+                throw new IllegalArgumentException("Consumer type is null");
+            }
+        }
+
+        if (consumerTypes.length == 0)
+        {
+            return;
+        }
+
+        int numberOfThreads = Math.min(consumerTypes.length, Runtime.getRuntime().availableProcessors());
+        ExecutorService preloadService =
+            Executors.newFixedThreadPool(numberOfThreads, createThreadFactory(name + " Preload"));
+
+        try
+        {
+            preload(preloadService, consumerTypes);
+        }
+        finally
+        {
+            preloadService.shutdownNow();
+        }
+    }
+
+    private void preload(ExecutorService preloadService, Class<?>... consumerTypes) throws IllegalArgumentException
+    {
+        List<Future<ConsumerClassInfo>> futures = new ArrayList<Future<ConsumerClassInfo>>();
+
+        for (final Class<?> consumerType : consumerTypes)
+        {
+            futures.add(preloadService.submit(new Callable<ConsumerClassInfo>()
+            {
+                public ConsumerClassInfo call() throws Exception
+                {
+                    return getConsumerClassInfo(consumerType);
+                }
+            }));
+        }
+
+        IllegalArgumentException failure = null;
+
+        for (Future<ConsumerClassInfo> future : futures)
+        {
+            try
+            {
+                future.get();
+            }
+            catch (ExecutionException e)
+            {
+                if (failure == null)
+                {
+                    failure =
+                        (e.getCause() instanceof IllegalArgumentException) ? (IllegalArgumentException) e.getCause()
+                            : new IllegalArgumentException("Failed to scan consumer type", e.getCause());
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+
+                return;
+            }
+        }
+
+        if (failure != null)
+        {
+            throw failure;
+        }
+    }
+
+    /**
+     * Fires the specified event from the specified instance of a producer immediately, without tags. Works like
+     * {@link #fire(Object, Object, String...)}, but does not create an empty array of tags on each call.
+     * 
+     * @param producer the producer, mandatory
+     * @param event the event, mandatory
+     * @throws IllegalArgumentException if the producer or the event is null
+     * @throws RejectedExecutionException if the event has been rejected, because the queue of pending events is
+     *             full and the {@link OverflowPolicy#FAIL} policy is active
+     */
+    public <PRODUCER_TYPE> PRODUCER_TYPE fire(PRODUCER_TYPE producer, Object event)
+        throws IllegalArgumentException, RejectedExecutionException
+    {
+        return fire(producer, event, Tags.NONE);
+    }
+
+    /**
+     * <p>
+     * Fires the specified event from the specified instance of a producer immediately. Notifies all consumers that are
+     * either directly bonded to the producer or that are bonded to the class, any sub-class or any interface of the
+     * producer.
+     * </p>
+     * <p>
+     * Calls the appropriate <code>@{@link EventHandler} public void handleEvent(* event)</code> method of all
+     * consumers. Does nothing, if events are disabled for the current thread. Does nothing, if there are no consumers
+     * bonded to the producer.
+     * </p>
+     * 
+     * @param producer the producer, mandatory
+     * @param event the event, mandatory
+     * @param tags, optional, can be checked against tags in annotations
+     * @throws IllegalArgumentException if the producer or the event is null
+     * @throws RejectedExecutionException if the event has been rejected, because the queue of pending events is
+     *             full and the {@link OverflowPolicy#FAIL} policy is active
+     */
+    public <PRODUCER_TYPE> PRODUCER_TYPE fire(PRODUCER_TYPE producer, Object event, String... tags)
+        throws IllegalArgumentException, RejectedExecutionException
+    {
+        return fire(producer, event, Tags.wrap(tags));
+    }
+
+    /**
+     * Fires the specified event from the specified instance of a producer immediately. Works like
+     * {@link #fire(Object, Object, String...)}, but uses tags, that have been created once by {@link Tags#of(String...)}.
+     * 
+     * @param producer the producer, mandatory
+     * @param event the event, mandatory
+     * @param tags the tags, mandatory, {@link Tags#NONE} for no tags
+     * @throws IllegalArgumentException if the producer, the event or the tags are null
+     * @throws RejectedExecutionException if the event has been rejected, because the queue of pending events is
+     *             full and the {@link OverflowPolicy#FAIL} policy is active
+     */
+    public <PRODUCER_TYPE> PRODUCER_TYPE fire(PRODUCER_TYPE producer, Object event, Tags tags)
+        throws IllegalArgumentException, RejectedExecutionException
+    {
+        if (Events.isDisabled())
+        {
+            return producer;
+        }
+
+        if (producer == null)
+        {
+            throw new IllegalArgumentException("Producer is null");
+        }
+
+        if (event == null)
+        {
+            throw new IllegalArgumentException("Event is null");
+        }
+
+        if (tags == null)
+        {
+            throw new IllegalArgumentException("Tags are null");
+        }
+
+        enqueue(Type.FIRE, producer, event, tags);
+
+        return producer;
+    }
+
+    /**
+     * <p>
+     * Fires all the specified events from the specified instance of a producer immediately. Notifies all consumers that
+     * are either directly bonded to the producer or that are bonded to the class, any sub-class or any interface of
+     * the producer.
+     * </p>
+     * <p>
+     * The events are passed to the events thread as one single batch and the consumers of the producer are resolved
+     * only once for all events. The events are fired in the order of the iterable. Does nothing, if events are disabled
+     * for the current thread. Does nothing, if there are no consumers bonded to the producer.
+     * </p>
+     * 
+     * @param producer the producer, mandatory
+     * @param events the events, mandatory, none of the events may be null
+     * @param tags, optional, can be checked against tags in annotations
+     * @throws IllegalArgumentException if the producer, the events or one of the events is null
+     */
+    public <PRODUCER_TYPE> PRODUCER_TYPE fireAll(PRODUCER_TYPE producer, Iterable<?> events, String... tags)
+        throws IllegalArgumentException
+    {
+        if (Events.isDisabled())
+        {
+            return producer;
+        }
+
+        if (producer == null)
+        {
+            throw new IllegalArgumentException("Producer is null");
+        }
+
+        if (events == null)
+        {
+            throw new IllegalArgumentException("Events are null");
+        }
+
+        Batch batch = new Batch();
+        Tags fireTags = Tags.wrap(tags);
+
+        for (Object event : events)
+        {
+            if (event == null)
+            {
+                throw new IllegalArgumentException("Event is null");
+            }
+
+            batch.add(Type.FIRE, producer, event, fireTags);
+        }
+
+        if (batch.isEmpty())
+        {
+            return producer;
+        }
+
+        Batch[] batches = batchScope.get();
+
+        if (batches != null)
+        {
+            dispatcher.addAll(batches, producer, batch);
+        }
+        else
+        {
+            dispatcher.enqueue(new Action(Type.BATCH, producer, batch, System.nanoTime()));
+        }
+
+        return producer;
+    }
+
+    /**
+     * <p>
+     * Runs the specified runnable within a batch scope. All bindings, unbindings and events without delay, that are
+     * issued by the current thread within the scope, are collected and passed to the events thread as one single batch
+     * when the runnable finishes. Events with a delay of 0 are collected, too. Events with a delay, conflated events
+     * and events fired by {@link #fireNow(Object, Object, String...)} are not collected.
+     * </p>
+     * <p>
+     * If the runnable fails with an exception, all actions collected within the scope are discarded and the exception
+     * is thrown. Batch scopes can be nested, the actions of an inner scope are published with the outermost scope.
+     * </p>
+     * 
+     * @param runnable the runnable, mandatory
+     * @throws IllegalArgumentException if the runnable is null
+     */
+    public void batch(Runnable runnable) throws IllegalArgumentException
+    {
+        if (runnable == null)
+        {
+            throw new IllegalArgumentException("Runnable is null");
+        }
+
+        Batch[] batches = batchScope.get();
+
+        if (batches != null)
+        {
+            // nested scope, remember the current sizes to be able to discard the actions of this scope
+            int[] sizes = new int[batches.length];
+
+            for (int i = 0; i < batches.length; i += 1)
+            {
+                sizes[i] = (batches[i] != null) ? batches[i].size() : 0;
+            }
+
+            boolean success = false;
+
+            try
+            {
+                runnable.run();
+
+                success = true;
+            }
+            finally
+            {
+                if (!success)
+                {
+                    for (int i = 0; i < batches.length; i += 1)
+                    {
+                        if (batches[i] != null)
+                        {
+                            batches[i].truncate(sizes[i]);
+                        }
+                    }
+                }
+            }
+
+            return;
+        }
+
+        batches = new Batch[dispatcher.getNumberOfLanes()];
+
+        batchScope.set(batches);
+
+        boolean success = false;
+
+        try
+        {
+            runnable.run();
+
+            success = true;
+        }
+        finally
+        {
+            batchScope.remove();
+
+            if (!success)
+            {
+                for (Batch batch : batches)
+                {
+                    if (batch != null)
+                    {
+                        batch.truncate(0);
+                    }
+                }
+            }
+        }
+
+        dispatcher.publish(batches);
+    }
+
+    /**
+     * <p>
+     * Fires the specified event from the specified instance of a producer synchronously. Notifies all consumers that
+     * are either directly bonded to the producer or that are bonded to the class, any sub-class or any interface of
+     * the producer.
+     * </p>
+     * <p>
+     * Calls the appropriate <code>@{@link EventHandler} public void handleEvent(* event)</code> methods of all consumers
+     * by the calling thread and returns after all of them have been called. Handlers annotated with
+     * {@link PooledEventHandler} or {@link SwingEventHandler} are still passed to their threads. The event does not
+     * wait for pending actions of the producer, thus bindings, unbindings and events that have been enqueued before
+     * may not have been processed yet. Does nothing, if events are disabled for the current thread. Does nothing, if
+     * there are no consumers bonded to the producer.
+     * </p>
+     * 
+     * @param producer the producer, mandatory
+     * @param event the event, mandatory
+     * @param tags, optional, can be checked against tags in annotations
+     * @throws IllegalArgumentException if the producer or the event is null
+     * @throws IllegalStateException if the bus has been shut down
+     */
+    public <PRODUCER_TYPE> PRODUCER_TYPE fireNow(PRODUCER_TYPE producer, Object event, String... tags)
+        throws IllegalArgumentException, IllegalStateException
+    {
+        return fireNow(producer, event, Tags.wrap(tags));
+    }
+
+    /**
+     * Fires the specified event from the specified instance of a producer synchronously. Works like
+     * {@link #fireNow(Object, Object, String...)}, but uses tags, that have been created once by
+     * {@link Tags#of(String...)}.
+     * 
+     * @param producer the producer, mandatory
+     * @param event the event, mandatory
+     * @param tags the tags, mandatory, {@link Tags#NONE} for no tags
+     * @throws IllegalArgumentException if the producer, the event or the tags are null
+     * @throws IllegalStateException if the bus has been shut down
+     */
+    public <PRODUCER_TYPE> PRODUCER_TYPE fireNow(PRODUCER_TYPE producer, Object event, Tags tags)
+        throws IllegalArgumentException, IllegalStateException
+    {
+        if (Events.isDisabled())
+        {
+            return producer;
+        }
+
+        if (producer == null)
+        {
+            throw new IllegalArgumentException("Producer is null");
+        }
+
+        if (event == null)
+        {
+            throw new IllegalArgumentException("Event is null");
+        }
+
+        if (tags == null)
+        {
+            throw new IllegalArgumentException("Tags are null");
+        }
+
+        dispatcher.fireNow(producer, event, tags);
+
+        return producer;
+    }
+
+    /**
+     * <p>
+     * Fires the specified event from the specified instance of a producer. Additionally defines an delay for firing
+     * this event (in seconds). Notifies all consumers that are either directly bonded to the producer or that are
+     * bonded to the class, any sub-class or any interface of the producer.
+     * </p>
+     * <p>
+     * Calls the appropriate <code>@{@link EventHandler} public void handleEvent(* event)</code> method of all
+     * consumers. Does nothing, if events are disabled for the current thread. Does nothing, if there are no consumers
+     * bonded to the producer. An event with a delay of 0 is collected by the current batch scope, like an event
+     * without delay.
+     * </p>
+     * 
+     * @param producer the producer, mandatory
+     * @param event the event, mandatory
+     * @param delayInSeconds the delay for triggering this event in seconds
+     * @param tags, optional, can be checked against tags in annotations
+     * @throws IllegalArgumentException if the producer or the event is null
+     */
+    public <PRODUCER_TYPE> EventReference fire(PRODUCER_TYPE producer, Object event, double delayInSeconds,
+        String... tags) throws IllegalArgumentException
+    {
+        return fire(producer, event, delayInSeconds, Tags.wrap(tags));
+    }
+
+    /**
+     * Fires the specified event from the specified instance of a producer with a delay. Works like
+     * {@link #fire(Object, Object, double, String...)}, but uses tags, that have been created once by
+     * {@link Tags#of(String...)}.
+     * 
+     * @param producer the producer, mandatory
+     * @param event the event, mandatory
+     * @param delayInSeconds the delay for triggering this event in seconds
+     * @param tags the tags, mandatory, {@link Tags#NONE} for no tags
+     * @throws IllegalArgumentException if the producer, the event or the tags are null
+     */
+    public <PRODUCER_TYPE> EventReference fire(PRODUCER_TYPE producer, Object event, double delayInSeconds, Tags tags)
+        throws IllegalArgumentException
+    {
+        if (Events.isDisabled())
+        {
+            return new DisabledReference();
+        }
+
+        if (producer == null)
+        {
+            throw new IllegalArgumentException("Producer is null");
+        }
+
+        if (event == null)
+        {
+            throw new IllegalArgumentException("Event is null");
+        }
+
+        if (tags == null)
+        {
+            throw new IllegalArgumentException("Tags are null");
+        }
+
+        Action action =
+            new Action(Type.FIRE, producer, event, (long) (System.nanoTime() + (1000000000 * delayInSeconds)), tags);
+
+        action.track();
+
+        if (delayInSeconds > 0)
+        {
+            dispatcher.schedule(action);
+
+            return new ActionReference(action);
+        }
+
+        Batch[] batches = batchScope.get();
+
+        if (batches != null)
+        {
+            dispatcher.add(batches, action);
+        }
+        else
+        {
+            dispatcher.enqueue(action);
+        }
+
+        return new ActionReference(action);
+    }
+
+    /**
+     * <p>
+     * Fires the specified event from the specified instance of a producer, conflating it with pending events of the
+     * same producer, with the same class and the same tags. If such an event is still pending, the new event replaces
+     * it, and the reference of the replaced event reports, that it has been superseded. Use this method for events
+     * where only the latest value matters (progress, selection, ...).
+     * </p>
+     * <p>
+     * Conflated events are passed to the events thread immediately, even within a {@link #batch(Runnable)}. They are
+     * not counted against the capacity, because there is at most one pending event per key. Does nothing, if events are
+     * disabled for the current thread.
+     * </p>
+     * 
+     * @param producer the producer, mandatory
+     * @param event the event, mandatory
+     * @param tags, optional, can be checked against tags in annotations
+     * @return the reference to the event
+     * @throws IllegalArgumentException if the producer or the event is null
+     */
+    public <PRODUCER_TYPE> EventReference fireConflated(PRODUCER_TYPE producer, Object event, String... tags)
+        throws IllegalArgumentException
+    {
+        return fireConflated(producer, event, ConflationKey.PROVIDER, tags);
+    }
+
+    /**
+     * <p>
+     * Fires the specified event from the specified instance of a producer, conflating it with pending events with an
+     * equal key. If such an event is still pending, the new event replaces it, and the reference of the replaced event
+     * reports, that it has been superseded.
+     * </p>
+     * <p>
+     * Events are only conflated with events of producers in the same lane, thus the key should contain the producer.
+     * If the key is null, the event gets fired without conflation.
+     * </p>
+     * 
+     * @param producer the producer, mandatory
+     * @param event the event, mandatory
+     * @param conflationKeyProvider provides the conflation key, mandatory
+     * @param tags, optional, can be checked against tags in annotations
+     * @return the reference to the event
+     * @throws IllegalArgumentException if the producer, the event or the provider is null
+     */
+    public <PRODUCER_TYPE> EventReference fireConflated(PRODUCER_TYPE producer, Object event,
+        ConflationKeyProvider conflationKeyProvider, String... tags) throws IllegalArgumentException
+    {
+        if (Events.isDisabled())
+        {
+            return new DisabledReference();
+        }
+
+        if (producer == null)
+        {
+            throw new IllegalArgumentException("Producer is null");
+        }
+
+        if (event == null)
+        {
+            throw new IllegalArgumentException("Event is null");
+        }
+
+        if (conflationKeyProvider == null)
+        {
+            throw new IllegalArgumentException("Conflation key provider is null");
+        }
+
+        Action action = new Action(Type.FIRE, producer, event, System.nanoTime(), Tags.wrap(tags));
+
+        action.track();
+
+        Object conflationKey = conflationKeyProvider.getConflationKey(producer, event, tags);
+
+        if (conflationKey != null)
+        {
+            action.setConflationKey(conflationKey);
+            dispatcher.conflate(action);
+        }
+        else
+        {
+            dispatcher.enqueue(action);
+        }
+
+        return new ActionReference(action);
+    }
+
+    /**
+     * Adds the action to the batch of the current batch scope or passes it to the dispatcher, if there is no batch
+     * scope.
+     * 
+     * @param type the type of the action
+     * @param producer the producer
+     * @param parameter the parameter
+     * @param tags the tags
+     */
+    private void enqueue(Type type, Object producer, Object parameter, Tags tags)
+    {
+        Batch[] batches = batchScope.get();
+
+        if (batches != null)
+        {
+            dispatcher.add(batches, type, producer, parameter, tags);
+        }
+        else
+        {
+            dispatcher.enqueue(type, producer, parameter, tags);
+        }
+    }
+
+    /**
+     * Adds an event handler invocation to the pooled threads
+     * 
+     * @param runnable the runnable to be invoked
+     */
+    void invokeLater(Runnable runnable)
+    {
+        executorService.execute(runnable);
+    }
+
+    /**
+     * Registers a strategy for event handlers. The strategy decides for a method of a consumer, whether it is capable
+     * of handling events or not. By default there exist strategies for following annotations: {@link EventHandler},
+     * {@link PooledEventHandler} and {@link SwingEventHandler}.
+     * 
+     * @param strategy the strategy, never null
+     */
+    public void registerStrategy(EventHandlerStrategy strategy)
+    {
+        if (strategy == null)
+        {
+            throw new IllegalArgumentException("Strategy is null");
+        }
+
+        synchronized (strategies)
+        {
+            strategies.add(strategy);
+        }
+    }
+
+    /**
+     * Scans the consumer class using all registered {@link EventHandlerStrategy}s. The strategies are copied while
+     * holding the lock, the scan itself runs without it, thus multiple classes get scanned in parallel.
+     * 
+     * @param type the type of the consumer
+     * @return a collection of {@link EventHandlerInfo}s
+     */
+    Collection<EventHandlerInfo> scanConsumer(Class<?> type)
+    {
+        Collection<EventHandlerInfo> results = new LinkedHashSet<EventHandlerInfo>();
+        EventHandlerStrategy[] strategies;
+
+        synchronized (this.strategies)
+        {
+            strategies = this.strategies.toArray(new EventHandlerStrategy[this.strategies.size()]);
+        }
+
+        for (EventHandlerStrategy strategy : strategies)
+        {
+            strategy.scan(results, type);
+        }
+
+        return results;
+    }
+
+    /**
+     * Returns the class info for the specified consumer class. Uses a cache to speed up processing.
+     * 
+     * @param type the class, mandatory
+     * @return the class info for the consumer, never null
+     * @throws IllegalArgumentException if the type is null or the class does not contain any method annotated with the
+     *             {@link EventHandler} annotation
+     */
+    ConsumerClassInfo getConsumerClassInfo(Class<?> type) throws IllegalArgumentException
+    {
+        ConsumerClassInfo result = consumerClassInfos.get(type);
+
+        if (result != null)
+        {
+            return result;
+        }
+
+        return consumerClassInfos.putIfAbsent(type, new ConsumerClassInfo(type, scanConsumer(type)));
+    }
+
+    /**
+     * Returns the executor service for event handler that are executed using pooled threads. The default value is a
+     * fixed thread pool using a maximum of 4 daemon threads.
+     * 
+     * @return the executor service
+     */
+    public ExecutorService getExecutorService()
+    {
+        return executorService;
+    }
+
+    /**
+     * Sets the executor service for event handlers that are executed using pooled threads.
+     * 
+     * @param executorService the executor service, mandatory
+     * @throws IllegalArgumentException if the executor service is null
+     */
+    public void setExecutorService(ExecutorService executorService)
+    {
+        if (executorService == null)
+        {
+            throw new IllegalArgumentException("Executor service is null");
+        }
+
+        this.executorService = executorService;
+    }
+
+    /**
+     * Returns the error handler, the {@link DefaultErrorHandler} if not specified.
+     * 
+     * @return the error handler, never null
+     */
+    public ErrorHandler getErrorHandler()
+    {
+        return errorHandler;
+    }
+
+    /**
+     * Sets the error handler.
+     * 
+     * @param errorHandler the error handler, mandatory
+     * @throws IllegalArgumentException if the error handler is null
+     */
+    public void setErrorHandler(ErrorHandler errorHandler) throws IllegalArgumentException
+    {
+        if (errorHandler == null)
+        {
+            throw new IllegalArgumentException("Error handler is null");
+        }
+
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Returns the maximum number of pending events per lane.
+     * 
+     * @return the capacity, {@link #UNBOUNDED} by default
+     */
+    public int getCapacity()
+    {
+        return dispatcher.getCapacity();
+    }
+
+    /**
+     * Returns the policy, that is applied if a lane is full.
+     * 
+     * @return the policy, {@link OverflowPolicy#BLOCK} by default
+     */
+    public OverflowPolicy getOverflowPolicy()
+    {
+        return dispatcher.getOverflowPolicy();
+    }
+
+    /**
+     * <p>
+     * Limits the number of pending events per lane and sets the policy, that is applied, if a lane is full.
+     * </p>
+     * <p>
+     * The capacity applies to events, that should be fired immediately. Delayed events, bindings and batches are always
+     * accepted.
+     * </p>
+     * 
+     * @param capacity the capacity, at least 1, {@link #UNBOUNDED} to remove the limit
+     * @param overflowPolicy the policy, mandatory
+     * @throws IllegalArgumentException if the capacity is less than 1 or the policy is null
+     */
+    public void setCapacity(int capacity, OverflowPolicy overflowPolicy) throws IllegalArgumentException
+    {
+        dispatcher.setCapacity(capacity, overflowPolicy);
+    }
+
+    /**
+     * Returns how often the policy has been applied, because a lane was full.
+     * 
+     * @param overflowPolicy the policy, mandatory
+     * @return the number of overflows
+     * @throws IllegalArgumentException if the policy is null
+     */
+    public long getOverflowCount(OverflowPolicy overflowPolicy) throws IllegalArgumentException
+    {
+        if (overflowPolicy == null)
+        {
+            throw new IllegalArgumentException("Overflow policy is null");
+        }
+
+        return dispatcher.getOverflowCount(overflowPolicy);
+    }
+
+    /**
+     * Returns the number of lanes (and threads) of this bus
+     * 
+     * @return the number of lanes
+     */
+    public int getNumberOfLanes()
+    {
+        return dispatcher.getNumberOfLanes();
+    }
+
+    /**
+     * Returns the size of the ring buffer of each lane
+     * 
+     * @return the size, 0 if the lanes use unbounded queues
+     */
+    public int getRingSize()
+    {
+        return dispatcher.getRingSize();
+    }
+
+}
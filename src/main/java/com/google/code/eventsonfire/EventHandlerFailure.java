@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.lang.reflect.Method;
+
+/**
+ * Describes an event handler, that failed to handle an event.
+ * 
+ * @see EventReference#getFailures()
+ * @author Manfred Hantschel
+ */
+public class EventHandlerFailure
+{
+
+    private final Method method;
+    private final Object consumer;
+    private final Throwable cause;
+
+    public EventHandlerFailure(Method method, Object consumer, Throwable cause)
+    {
+        super();
+
+        this.method = method;
+        this.consumer = consumer;
+        this.cause = cause;
+    }
+
+    /**
+     * Returns the event handler method
+     * 
+     * @return the method
+     */
+    public Method getMethod()
+    {
+        return method;
+    }
+
+    /**
+     * Returns the consumer
+     * 
+     * @return the consumer
+     */
+    public Object getConsumer()
+    {
+        return consumer;
+    }
+
+    /**
+     * Returns the exception thrown by the event handler
+     * 
+     * @return the exception
+     */
+    public Throwable getCause()
+    {
+        return cause;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString()
+    {
+        return "EventHandlerFailure {" + method + ": " + cause + "}";
+    }
+
+}
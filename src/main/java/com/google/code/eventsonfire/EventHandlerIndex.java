@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.lang.reflect.Method;
+
+/**
+ * The event handlers of a consumer class, generated at compile time by the
+ * {@link com.google.code.eventsonfire.processor.EventHandlerProcessor}. The index of a class is named like the class
+ * with the {@link #SUFFIX} and is located in the same package. If the index is present, the strategies for the
+ * {@link EventHandler}, {@link PooledEventHandler} and {@link com.google.code.eventsonfire.swing.SwingEventHandler}
+ * annotations do not scan all methods of the class, and the event handlers are invoked without reflection.
+ * 
+ * @author Manfred Hantschel
+ */
+public interface EventHandlerIndex
+{
+
+    /**
+     * The suffix of the name of the generated class
+     */
+    String SUFFIX = "$$EventHandlers";
+
+    /**
+     * Returns all public methods of the class, that are annotated as event handler
+     * 
+     * @return the methods
+     * @throws NoSuchMethodException if the class has been changed after generating the index
+     */
+    Method[] getMethods() throws NoSuchMethodException;
+
+    /**
+     * Returns the invoker for the method with the specified index in the array of {@link #getMethods()}
+     * 
+     * @param index the index of the method
+     * @return the invoker, null if the index is unknown
+     */
+    MethodInvoker getInvoker(int index);
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+import com.google.code.eventsonfire.swing.SwingEventHandler;
+
+/**
+ * Discovers and caches the generated {@link EventHandlerIndex}es of consumer classes. A class without an index, or
+ * with an index, that does not match the class anymore, is scanned by reflection.
+ * 
+ * @author Manfred Hantschel
+ */
+final class EventHandlerIndexes
+{
+
+    /**
+     * The index of a class and its methods
+     */
+    private static final class Entry
+    {
+        private final EventHandlerIndex index;
+        private final Method[] methods;
+
+        public Entry(EventHandlerIndex index, Method[] methods)
+        {
+            super();
+
+            this.index = index;
+            this.methods = methods;
+        }
+    }
+
+    private static final Entry NONE = new Entry(null, null);
+
+    private static final ClassCache<Entry> ENTRIES = new ClassCache<Entry>();
+
+    private EventHandlerIndexes()
+    {
+        super();
+    }
+
+    /**
+     * Returns true if the methods annotated with the annotation are contained in the generated indexes
+     * 
+     * @param annotationType the type of the annotation
+     * @return true if indexed
+     */
+    public static boolean isIndexed(Class<? extends Annotation> annotationType)
+    {
+        return (annotationType == EventHandler.class) || (annotationType == PooledEventHandler.class)
+            || (annotationType == SwingEventHandler.class);
+    }
+
+    /**
+     * Returns the annotated methods of the class
+     * 
+     * @param type the class
+     * @return the methods, null if the class has no index. The array is shared, it must not be modified.
+     */
+    public static Method[] methodsOf(Class<?> type)
+    {
+        return entryOf(type).methods;
+    }
+
+    /**
+     * Returns the generated invoker for the method
+     * 
+     * @param method the method
+     * @return the invoker, null if the declaring class of the method has no index
+     */
+    public static MethodInvoker invokerOf(Method method)
+    {
+        Entry entry = entryOf(method.getDeclaringClass());
+
+        if (entry.index == null)
+        {
+            return null;
+        }
+
+        for (int i = 0; i < entry.methods.length; i += 1)
+        {
+            if (entry.methods[i].equals(method))
+            {
+                return entry.index.getInvoker(i);
+            }
+        }
+
+        return null;
+    }
+
+    private static Entry entryOf(Class<?> type)
+    {
+        Entry entry = ENTRIES.get(type);
+
+        if (entry == null)
+        {
+            entry = ENTRIES.putIfAbsent(type, load(type));
+        }
+
+        return entry;
+    }
+
+    private static Entry load(Class<?> type)
+    {
+        if ((type.isArray()) || (type.isPrimitive()) || (type.getClassLoader() == null))
+        {
+            return NONE;
+        }
+
+        try
+        {
+            Class<?> indexType = Class.forName(type.getName() + EventHandlerIndex.SUFFIX, true, type.getClassLoader());
+
+            if (!EventHandlerIndex.class.isAssignableFrom(indexType))
+            {
+                return NONE;
+            }
+
+            EventHandlerIndex index = (EventHandlerIndex) indexType.newInstance();
+
+            return new Entry(index, index.getMethods());
+        }
+        catch (ClassNotFoundException e)
+        {
+            return NONE;
+        }
+        catch (Exception e)
+        {
+            // the index is not usable, the class gets scanned
+            return NONE;
+        }
+        catch (LinkageError e)
+        {
+            // the index is not usable, the class gets scanned
+            return NONE;
+        }
+    }
+
+}
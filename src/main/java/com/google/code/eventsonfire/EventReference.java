@@ -1,49 +1,126 @@
-/*
- * Copyright (c) 2011-2013 events-on-fire Team
- * 
- * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
- * License (MIT).
- * 
- * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
- * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
- * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
- * permit persons to whom the Software is furnished to do so, subject to the following conditions:
- * 
- * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
- * Software.
- * 
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
- * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
- * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
- * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
- */
-package com.google.code.eventsonfire;
-
-/**
- * A reference to an event for requesting status of the event and to cancel timed events
- * 
- * @author Manfred HANTSCHEL
- */
-public interface EventReference
-{
-
-    /**
-     * Returns true, if the event has already been fired
-     * 
-     * @return true if fired
-     */
-    boolean isFired();
-
-    /**
-     * Returns true if the event has been canceled
-     * 
-     * @return true if canceled
-     */
-    boolean isCanceled();
-
-    /**
-     * Canceles the event
-     */
-    void cancel();
-
-}
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A reference to an event for requesting status of the event and to cancel timed events
+ * 
+ * @author Manfred HANTSCHEL
+ */
+public interface EventReference
+{
+
+    /**
+     * Returns true, if the event has already been fired
+     * 
+     * @return true if fired
+     */
+    boolean isFired();
+
+    /**
+     * Returns true if the event has been canceled
+     * 
+     * @return true if canceled
+     */
+    boolean isCanceled();
+
+    /**
+     * Canceles the event
+     */
+    void cancel();
+
+    /**
+     * Reschedules a delayed event, that has not been fired yet. The new delay starts now.
+     * 
+     * @param delayInSeconds the new delay for triggering this event in seconds
+     * @return true if rescheduled, false if the event is not a delayed one, has already been fired or has been canceled
+     */
+    boolean reschedule(double delayInSeconds);
+
+    /**
+     * Returns true if the event has been rejected, because the queue of pending events was full and the
+     * {@link OverflowPolicy#FAIL} policy is active
+     * 
+     * @return true if rejected
+     */
+    boolean isRejected();
+
+    /**
+     * Returns true if the event has been dropped, because the queue of pending events was full and the
+     * {@link OverflowPolicy#DROP_OLDEST} or {@link OverflowPolicy#DROP_NEWEST} policy is active
+     * 
+     * @return true if dropped
+     */
+    boolean isDropped();
+
+    /**
+     * Returns true if the event has been replaced by a newer event with the same conflation key, before it was fired
+     * 
+     * @see Events#fireConflated(Object, Object, String...)
+     * @return true if superseded
+     */
+    boolean isSuperseded();
+
+    /**
+     * Returns true, if the event has been handled completely: the event has been fired and all invoked event handlers,
+     * including pooled and Swing event handlers, have returned. An event, that will never be fired (because it has
+     * been canceled, rejected, dropped or superseded), is done, too.
+     * 
+     * @return true if done
+     */
+    boolean isDone();
+
+    /**
+     * Waits until the event has been handled completely.
+     * 
+     * @see #isDone()
+     * @throws InterruptedException if interrupted
+     */
+    void await() throws InterruptedException;
+
+    /**
+     * Waits until the event has been handled completely, or the timeout elapses.
+     * 
+     * @see #isDone()
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return true if done, false if the timeout elapsed
+     * @throws InterruptedException if interrupted
+     */
+    boolean await(long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Returns the number of event handlers, that have been invoked for the event so far
+     * 
+     * @return the number of event handlers
+     */
+    int getHandlerCount();
+
+    /**
+     * Returns the event handlers, that failed to handle the event so far
+     * 
+     * @return the failures, an empty list if none
+     */
+    List<EventHandlerFailure> getFailures();
+
+}
@@ -1,675 +1,596 @@
-/*
- * Copyright (c) 2011-2013 events-on-fire Team
- * 
- * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
- * License (MIT).
- * 
- * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
- * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
- * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
- * permit persons to whom the Software is furnished to do so, subject to the following conditions:
- * 
- * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
- * Software.
- * 
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
- * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
- * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
- * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
- */
-package com.google.code.eventsonfire;
-
-import java.lang.ref.Reference;
-import java.lang.ref.ReferenceQueue;
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedHashSet;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.DelayQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-
-import com.google.code.eventsonfire.Action.Type;
-import com.google.code.eventsonfire.error.DefaultErrorHandler;
-import com.google.code.eventsonfire.error.ErrorHandler;
-import com.google.code.eventsonfire.swing.SwingEventHandler;
-import com.google.code.eventsonfire.swing.SwingEvents;
-
-/**
- * <p>
- * The most important class for events-on-fire.
- * </p>
- * <p>
- * For a detailed usage description see <a href="http://code.google.com/p/events-on-fire/wiki/Usage"
- * target="_blank">Usage on Google Project Hosting</a>.
- * </p>
- * <p>
- * All references to producers and consumers in this class are weak, unless otherwise noted. Any producer or consumer
- * will get garbage collected, if there is no reference to it outside this class. All checks will be made on identity
- * instead of equality.
- * </p>
- * 
- * @see <a href="http://code.google.com/p/events-on-fire/wiki/Usage" target="_blank">Usage on Google Project Hosting</a>
- * @author Manfred Hantschel
- */
-public class Events implements Runnable
-{
-
-    /**
-     * The runnable for the thread for firing the events
-     */
-    private static final Events INSTANCE = new Events();
-
-    /**
-     * The thread for firing the events
-     */
-    private static final Thread EVENTS_THREAD;
-
-    /**
-     * The thread local variable containing the count for disabled events
-     */
-    private static final ThreadLocal<Integer> DISABLED = new ThreadLocal<Integer>();
-
-    /**
-     * The default maximum number of threads for the executor service
-     */
-    private static final int DEFAULT_MAXIMUM_NUMBER_OF_THREADS = 4;
-
-    static
-    {
-        registerStrategy(new EventHandlerAnnotationStrategy());
-        registerStrategy(new PooledEventHandlerAnnotationStrategy());
-
-        // initialize swing events (static init)
-        new SwingEvents();
-
-        EVENTS_THREAD = new Thread(INSTANCE, "Events Thread");
-        EVENTS_THREAD.setDaemon(true);
-        EVENTS_THREAD.start();
-    }
-
-    /**
-     * <p>
-     * Binds the specified consumer / listener to the specified instance of class of a producer. The producer may either
-     * be an instance or a class reference.
-     * </p>
-     * <ul>
-     * <li>In case of an instance, the consumer / listener is notified, if the specified producer fires the event
-     * (producers are compared by identity rather than equality).</li>
-     * <li>In case of a class reference, the consumer / listener is notified, if a producer, that fires the event, is an
-     * instance of the specified class (e.g. if the specified producer is a <code>Object.class</code> reference, then
-     * the consumer get notified by all events it can handle).</li>
-     * </ul>
-     * <p>
-     * The consumer must contain at least one <code>@{@link EventHandler} public void handleEvent(* event)</code>
-     * method, otherwise an exception is thrown. Both, the producer and the consumer must have references outside of the
-     * Events class. All references within the Events class are weak, so the objects and the binding gets garbage
-     * collected if not referenced. Does nothing if the objects are already bonded.
-     * 
-     * @param producer the instance or class of a producer, mandatory
-     * @param consumers one or more consumers / listeners, mandatory
-     * @return the producer
-     * @throws IllegalArgumentException if the producer or the consumers are null or one of the consumer cannot handle
-     *             events
-     */
-    public static <PRODUCER_TYPE> PRODUCER_TYPE bind(PRODUCER_TYPE producer, Object... consumers)
-        throws IllegalArgumentException
-    {
-        if (producer == null)
-        {
-            throw new IllegalArgumentException("Producer is null");
-        }
-
-        if ((consumers == null) || (consumers.length == 0))
-        {
-            throw new IllegalArgumentException("Consumers missing");
-        }
-
-        for (Object consumer : consumers)
-        {
-            if (consumer == null)
-            {
-                throw new IllegalArgumentException("Consumer is null");
-            }
-
-            INSTANCE.enqueue(new Action(Type.BIND, producer, consumer, System.nanoTime()));
-        }
-
-        return producer;
-    }
-
-    /**
-     * <p>
-     * Unbinds the specified consumer from the specified instance or class of a producer. The producer may either be an
-     * instance or a class reference.
-     * </p>
-     * <ul>
-     * <li>In case of an instance, the consumer / listener unbonded from the specified producer (producers are compared
-     * by identity rather than equality).</li>
-     * <li>In case of a class reference, the consumer / listener unbonded from any producer that is an instance of the
-     * specified class (e.g. if the specified producer is a <code>Object.class</code> reference, then the consumer get
-     * unbonded from all producers).</li>
-     * </ul>
-     * <p>
-     * Does nothing if the objects are not bonded.
-     * </p>
-     * 
-     * @param producer the instance or class of a producer, mandatory
-     * @param consumers one or more consumers / listeners, mandatory
-     * @return the producer
-     * @throws IllegalArgumentException if the producer or the consumers are null
-     */
-    public static <PRODUCER_TYPE> PRODUCER_TYPE unbind(PRODUCER_TYPE producer, Object... consumers)
-        throws IllegalArgumentException
-    {
-        if (producer == null)
-        {
-            throw new IllegalArgumentException("Producer is null");
-        }
-
-        if ((consumers == null) || (consumers.length == 0))
-        {
-            throw new IllegalArgumentException("Consumers missing");
-        }
-
-        for (Object consumer : consumers)
-        {
-            if (consumer == null)
-            {
-                throw new IllegalArgumentException("Consumer is null");
-            }
-
-            INSTANCE.enqueue(new Action(Type.UNBIND, producer, consumer, System.nanoTime()));
-        }
-
-        return producer;
-    }
-
-    /**
-     * <p>
-     * Fires the specified event from the specified instance of a producer immediately. Notifies all consumers that are
-     * either directly bonded to the producer or that are bonded to the class, any sub-class or any interface of the
-     * producer.
-     * </p>
-     * <p>
-     * Calls the appropriate <code>@{@link EventHandler} public void handleEvent(* event)</code> method of all
-     * consumers. Does nothing, if events are disabled for the current thread. Does nothing, if there are no consumers
-     * bonded to the producer.
-     * </p>
-     * 
-     * @param producer the producer, mandatory
-     * @param event the event, mandatory
-     * @param tags, optional, can be checked against tags in annotations
-     * @throws IllegalArgumentException if the producer or the event is null
-     */
-    public static <PRODUCER_TYPE> PRODUCER_TYPE fire(PRODUCER_TYPE producer, Object event, String... tags)
-        throws IllegalArgumentException
-    {
-        fire(producer, event, 0, tags);
-
-        return producer;
-    }
-
-    /**
-     * <p>
-     * Fires the specified event from the specified instance of a producer. Additionally defines an delay for firing
-     * this event (in seconds). Notifies all consumers that are either directly bonded to the producer or that are
-     * bonded to the class, any sub-class or any interface of the producer.
-     * </p>
-     * <p>
-     * Calls the appropriate <code>@{@link EventHandler} public void handleEvent(* event)</code> method of all
-     * consumers. Does nothing, if events are disabled for the current thread. Does nothing, if there are no consumers
-     * bonded to the producer.
-     * </p>
-     * 
-     * @param producer the producer, mandatory
-     * @param event the event, mandatory
-     * @param delayInSeconds the delay for triggering this event in seconds
-     * @param tags, optional, can be checked against tags in annotations
-     * @throws IllegalArgumentException if the producer or the event is null
-     */
-    public static <PRODUCER_TYPE> EventReference fire(PRODUCER_TYPE producer, Object event, double delayInSeconds,
-        String... tags) throws IllegalArgumentException
-    {
-        if (isDisabled())
-        {
-            return new DisabledReference();
-        }
-
-        if (producer == null)
-        {
-            throw new IllegalArgumentException("Producer is null");
-        }
-
-        if (event == null)
-        {
-            throw new IllegalArgumentException("Event is null");
-        }
-
-        return INSTANCE.enqueue(new Action(Type.FIRE, producer, event,
-            (long) (System.nanoTime() + (1000000000 * delayInSeconds)), tags));
-    }
-
-    /**
-     * <p>
-     * Disables events from the current thread.
-     * </p>
-     * <p>
-     * Make sure to call the enable method by using a finally block! Multiple calls to disable, increase a counter and
-     * it is necessary to call enable as often as you have called disable.
-     * </p>
-     */
-    public static void disable()
-    {
-        Integer count = DISABLED.get();
-
-        if (count != null)
-        {
-            DISABLED.set(Integer.valueOf(count.intValue() + 1));
-        }
-        else
-        {
-            DISABLED.set(Integer.valueOf(1));
-        }
-    }
-
-    /**
-     * Returns true if events from the current thread are disabled.
-     * 
-     * @return true if disabled
-     */
-    public static boolean isDisabled()
-    {
-        Integer count = DISABLED.get();
-
-        return ((count != null) && (count.intValue() > 0));
-    }
-
-    /**
-     * <p>
-     * Enables events from the current thread.
-     * </p>
-     * <p>
-     * It is wise to place call to this method within a finally block. Multiple calls to disable, increase a counter and
-     * it is necessary to call enable as often as you have called disable.
-     * </p>
-     * 
-     * @throws IllegalStateException if events from the current thread are not disabled
-     */
-    public static void enable() throws IllegalStateException
-    {
-        Integer count = DISABLED.get();
-
-        if ((count == null) || (count.intValue() <= 0))
-        {
-            throw new IllegalStateException("Events not disabled");
-        }
-
-        DISABLED.set(Integer.valueOf(count - 1));
-    }
-
-    /**
-     * Adds an event handler invocation to the pooled threads
-     * 
-     * @param runnable the runnable to be invoked
-     */
-    static void invokeLater(Runnable runnable)
-    {
-        INSTANCE.executorService.execute(runnable);
-    }
-
-    /**
-     * Registers a strategy for event handlers. The strategy decides for a method of a consumer, whether it is capable
-     * of handling events or not. By default there exist strategies for following annotations: {@link EventHandler},
-     * {@link PooledEventHandler} and {@link SwingEventHandler}.
-     * 
-     * @param strategy the strategy, never null
-     */
-    public static void registerStrategy(EventHandlerStrategy strategy)
-    {
-        if (strategy == null)
-        {
-            throw new IllegalArgumentException("Strategy is null");
-        }
-
-        synchronized (INSTANCE.strategies)
-        {
-            INSTANCE.strategies.add(strategy);
-        }
-    }
-
-    /**
-     * Scans the consumer class using all registered {@link EventHandlerStrategy}s.
-     * 
-     * @param type the type of the consumer
-     * @return a collection of {@link EventHandlerInfo}s
-     */
-    static Collection<EventHandlerInfo> scanConsumer(Class<?> type)
-    {
-        Collection<EventHandlerInfo> results = new LinkedHashSet<EventHandlerInfo>();
-
-        synchronized (INSTANCE.strategies)
-        {
-            for (EventHandlerStrategy strategy : INSTANCE.strategies)
-            {
-                strategy.scan(results, type);
-            }
-        }
-
-        return results;
-    }
-
-    /**
-     * Returns the executor service for event handler that are executed using pooled threads. The default value is a
-     * fixed thread pool using a maximum of 4 threads.
-     * 
-     * @return the executor service
-     */
-    public static ExecutorService getExecutorService()
-    {
-        return INSTANCE.executorService;
-    }
-
-    /**
-     * Sets the executor service for event handlers that are executed using pooled threads.
-     * 
-     * @param executorService the executor service, mandatory
-     * @throws IllegalArgumentException if the executor service is null
-     */
-    public static void setExecutorService(ExecutorService executorService)
-    {
-        if (executorService == null)
-        {
-            throw new IllegalArgumentException("Executor service is null");
-        }
-
-        INSTANCE.executorService = executorService;
-    }
-
-    /**
-     * Returns the error handler, the {@link DefaultErrorHandler} if not specified.
-     * 
-     * @return the error handler, never null
-     */
-    public static ErrorHandler getErrorHandler()
-    {
-        return INSTANCE.errorHandler;
-    }
-
-    /**
-     * Sets the error handler.
-     * 
-     * @param errorHandler the error handler, mandatory
-     * @throws IllegalArgumentException if the error handler is null
-     */
-    public static void setErrorHandler(ErrorHandler errorHandler) throws IllegalArgumentException
-    {
-        if (errorHandler == null)
-        {
-            throw new IllegalArgumentException("Error handler is null");
-        }
-
-        INSTANCE.errorHandler = errorHandler;
-    }
-
-    /**
-     * The queue containing actions which wait to get executed.
-     */
-    private final DelayQueue<Action> actions;
-
-    /**
-     * A map containing all {@link ProducerInfo} objects containing the consumers by the producers.
-     */
-    private final Map<Reference<Object>, ProducerInfo> producerInfos;
-
-    /**
-     * The reference queue for all weak references used to get rid of them if the object has been garbage collected.
-     */
-    private final ReferenceQueue<Object> referenceQueue;
-
-    /**
-     * Holds all strategies for event handler methods
-     */
-    private final Collection<EventHandlerStrategy> strategies;
-
-    /**
-     * The thread pool for pending handler invocations.
-     */
-    private ExecutorService executorService;
-
-    /**
-     * Handler used for logging.
-     */
-    private ErrorHandler errorHandler;
-
-    private Events()
-    {
-        super();
-
-        actions = new DelayQueue<Action>();
-        producerInfos = new ConcurrentHashMap<Reference<Object>, ProducerInfo>();
-        referenceQueue = new ReferenceQueue<Object>();
-
-        strategies = new HashSet<EventHandlerStrategy>();
-
-        executorService = Executors.newFixedThreadPool(DEFAULT_MAXIMUM_NUMBER_OF_THREADS);
-        errorHandler = new DefaultErrorHandler();
-    }
-
-    /**
-     * Adds an action to the pending actions
-     * 
-     * @param action the action
-     * @return an reference to the event
-     */
-    private EventReference enqueue(Action action)
-    {
-        actions.add(action);
-
-        return new ActionReference(action);
-    }
-
-    /**
-     * Worker for pending actions. There is no need to call this method.
-     * 
-     * @see java.lang.Runnable#run()
-     */
-    public void run()
-    {
-        try
-        {
-            while (true)
-            {
-                try
-                {
-                    Action action = actions.take();
-
-                    if (!action.isCanceled())
-                    {
-                        switch (action.getType())
-                        {
-                            case FIRE:
-                                executeFireAction(action);
-                                break;
-
-                            case BIND:
-                                executeBindAction(action);
-                                break;
-
-                            case UNBIND:
-                                executeUnbindAction(action);
-                                break;
-                        }
-
-                        action.setExecuted(true);
-                    }
-
-                    cleanupReferences();
-                }
-                catch (InterruptedException e)
-                {
-                    throw e;
-                }
-                catch (Exception e)
-                {
-                    errorHandler.unhandledException("Exception in event thread", e);
-                }
-            }
-        }
-        catch (InterruptedException e)
-        {
-            errorHandler.interrupted(e);
-        }
-    }
-
-    /**
-     * Fires an event from the producer
-     * 
-     * @param action the action
-     */
-    private void executeFireAction(Action action)
-    {
-        Object producer = action.getProducer();
-        Object parameter = action.getParameter();
-        String[] tags = action.getTags();
-        Class<?> producersClass;
-
-        if (!(producer instanceof Class))
-        {
-            executeFireAction(new WeakIdentityReference<Object>(producer, referenceQueue), producer, parameter, tags);
-
-            producersClass = producer.getClass();
-        }
-        else
-        {
-            producersClass = (Class<?>) producer;
-        }
-
-        executeFireAction(new WeakIdentityReference<Object>(producersClass, referenceQueue), producer, parameter, tags);
-
-        for (Class<?> producersInterface : producersClass.getInterfaces())
-        {
-            executeFireAction(new WeakIdentityReference<Object>(producersInterface, referenceQueue), producer,
-                parameter, tags);
-        }
-
-        producersClass = producersClass.getSuperclass();
-
-        while (producersClass != null)
-        {
-            executeFireAction(new WeakIdentityReference<Object>(producersClass, referenceQueue), producer, parameter,
-                tags);
-            producersClass = producersClass.getSuperclass();
-        }
-    }
-
-    private void executeFireAction(Reference<Object> producerReference, Object producer, Object parameter, String[] tags)
-    {
-        ProducerInfo producerInfo = producerInfos.get(producerReference);
-
-        if (producerInfo != null)
-        {
-            producerInfo.fire(producer, parameter, tags);
-        }
-    }
-
-    /**
-     * Binds a consumer to a producer
-     * 
-     * @param action the action
-     */
-    private void executeBindAction(Action action)
-    {
-        Reference<Object> producerReference = new WeakIdentityReference<Object>(action.getProducer(), referenceQueue);
-        Reference<Object> consumerReference = new WeakIdentityReference<Object>(action.getParameter(), referenceQueue);
-
-        ProducerInfo producerInfo = producerInfos.get(producerReference);
-
-        if (producerInfo == null)
-        {
-            producerInfo = new ProducerInfo();
-
-            producerInfos.put(producerReference, producerInfo);
-        }
-
-        producerInfo.add(consumerReference);
-    }
-
-    /**
-     * Unbinds a consumer form a producer
-     * 
-     * @param action the action
-     */
-    private void executeUnbindAction(Action action)
-    {
-        Object producer = action.getProducer();
-        Reference<Object> consumerReference = new WeakIdentityReference<Object>(action.getParameter(), referenceQueue);
-
-        if (producer instanceof Class)
-        {
-            for (Map.Entry<Reference<Object>, ProducerInfo> entry : producerInfos.entrySet())
-            {
-                Object current = entry.getKey().get();
-
-                if (current instanceof Class)
-                {
-                    if (((Class<?>) producer).isAssignableFrom((Class<?>) current))
-                    {
-                        entry.getValue().remove(consumerReference);
-                    }
-                }
-                else if (((Class<?>) producer).isInstance(current))
-                {
-                    entry.getValue().remove(consumerReference);
-                }
-            }
-        }
-        else
-        {
-            Reference<Object> producerReference = new WeakIdentityReference<Object>(producer, referenceQueue);
-            ProducerInfo producerInfo = producerInfos.get(producerReference);
-
-            if (producerInfo != null)
-            {
-                producerInfo.remove(consumerReference);
-            }
-        }
-    }
-
-    /**
-     * Uses the reference queue to clean up unused references to garbage collected objects
-     */
-    private void cleanupReferences()
-    {
-        Reference<?> reference;
-
-        while ((reference = referenceQueue.poll()) != null)
-        {
-            Iterator<Entry<Reference<Object>, ProducerInfo>> it = producerInfos.entrySet().iterator();
-
-            while (it.hasNext())
-            {
-                Entry<Reference<Object>, ProducerInfo> entry = it.next();
-                Reference<Object> producerReference = entry.getKey();
-
-                if (producerReference == reference)
-                {
-                    it.remove();
-                    break;
-                }
-
-                ProducerInfo producer = entry.getValue();
-
-                producer.remove(reference);
-
-                if (producer.isEmpty())
-                {
-                    it.remove();
-                }
-            }
-        }
-    }
-}
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.google.code.eventsonfire.error.DefaultErrorHandler;
+import com.google.code.eventsonfire.error.ErrorHandler;
+import com.google.code.eventsonfire.swing.SwingEventHandler;
+
+/**
+ * <p>
+ * The most important class for events-on-fire.
+ * </p>
+ * <p>
+ * For a detailed usage description see <a href="http://code.google.com/p/events-on-fire/wiki/Usage"
+ * target="_blank">Usage on Google Project Hosting</a>.
+ * </p>
+ * <p>
+ * All references to producers and consumers in this class are weak, unless otherwise noted. Any producer or consumer
+ * will get garbage collected, if there is no reference to it outside this class. All checks will be made on identity
+ * instead of equality.
+ * </p>
+ * <p>
+ * By default, all events are fired by one single thread. The number of threads (lanes) can be increased by setting the
+ * system property {@value #NUMBER_OF_LANES_PROPERTY}. Actions of one producer are always executed by the same lane,
+ * thus the events of one producer keep their order, while the events of unrelated producers are fired in parallel.
+ * </p>
+ * <p>
+ * If the system property {@value #RING_SIZE_PROPERTY} is set, each lane passes the events by a ring buffer with
+ * preallocated slots. Firing an event without requesting an {@link EventReference} does not allocate any object then.
+ * </p>
+ * <p>
+ * By default, the number of pending events is unbounded. Use {@link #setCapacity(int, OverflowPolicy)} to limit the
+ * number of pending events per lane and to choose what happens, if a lane is full.
+ * </p>
+ * <p>
+ * All static methods use the default {@link EventBus}. Subsystems with heavy traffic may create their own buses, each
+ * one with its own lanes, registry, executor service and error handler. Disabling events applies to all buses.
+ * </p>
+ * 
+ * @see <a href="http://code.google.com/p/events-on-fire/wiki/Usage" target="_blank">Usage on Google Project Hosting</a>
+ * @author Manfred Hantschel
+ */
+public class Events
+{
+
+    /**
+     * The name of the system property defining the number of lanes (and threads) used for firing the events
+     */
+    public static final String NUMBER_OF_LANES_PROPERTY = "events-on-fire.lanes";
+
+    /**
+     * The name of the system property defining the size of the ring buffer of each lane. The size must be a power of
+     * two, 0 (the default) disables the ring buffers.
+     */
+    public static final String RING_SIZE_PROPERTY = "events-on-fire.ring-size";
+
+    /**
+     * The capacity of unbounded lanes
+     */
+    public static final int UNBOUNDED = EventBus.UNBOUNDED;
+
+    /**
+     * The thread local variable containing the count for disabled events
+     */
+    private static final ThreadLocal<Integer> DISABLED = new ThreadLocal<Integer>();
+
+    /**
+     * The default bus, used by all static methods
+     */
+    private static final EventBus DEFAULT_BUS =
+        new EventBus("Events Thread", Integer.getInteger(NUMBER_OF_LANES_PROPERTY, 1).intValue(), Integer.getInteger(
+            RING_SIZE_PROPERTY, 0).intValue());
+
+    /**
+     * Returns the default bus, used by all static methods of this class.
+     * 
+     * @return the default bus
+     */
+    public static EventBus getDefaultBus()
+    {
+        return DEFAULT_BUS;
+    }
+
+    /**
+     * <p>
+     * Binds the specified consumer / listener to the specified instance of class of a producer. The producer may either
+     * be an instance or a class reference.
+     * </p>
+     * <ul>
+     * <li>In case of an instance, the consumer / listener is notified, if the specified producer fires the event
+     * (producers are compared by identity rather than equality).</li>
+     * <li>In case of a class reference, the consumer / listener is notified, if a producer, that fires the event, is an
+     * instance of the specified class (e.g. if the specified producer is a <code>Object.class</code> reference, then
+     * the consumer get notified by all events it can handle).</li>
+     * </ul>
+     * <p>
+     * The consumer must contain at least one <code>@{@link EventHandler} public void handleEvent(* event)</code>
+     * method, otherwise an exception is thrown. Both, the producer and the consumer must have references outside of the
+     * Events class. All references within the Events class are weak, so the objects and the binding gets garbage
+     * collected if not referenced. Does nothing if the objects are already bonded.
+     * 
+     * @param producer the instance or class of a producer, mandatory
+     * @param consumers one or more consumers / listeners, mandatory
+     * @return the producer
+     * @throws IllegalArgumentException if the producer or the consumers are null or one of the consumer cannot handle
+     *             events
+     */
+    public static <PRODUCER_TYPE> PRODUCER_TYPE bind(PRODUCER_TYPE producer, Object... consumers)
+        throws IllegalArgumentException
+    {
+        return DEFAULT_BUS.bind(producer, consumers);
+    }
+
+    /**
+     * <p>
+     * Unbinds the specified consumer from the specified instance or class of a producer. The producer may either be an
+     * instance or a class reference.
+     * </p>
+     * <ul>
+     * <li>In case of an instance, the consumer / listener unbonded from the specified producer (producers are compared
+     * by identity rather than equality).</li>
+     * <li>In case of a class reference, the consumer / listener unbonded from any producer that is an instance of the
+     * specified class (e.g. if the specified producer is a <code>Object.class</code> reference, then the consumer get
+     * unbonded from all producers).</li>
+     * </ul>
+     * <p>
+     * Does nothing if the objects are not bonded.
+     * </p>
+     * 
+     * @param producer the instance or class of a producer, mandatory
+     * @param consumers one or more consumers / listeners, mandatory
+     * @return the producer
+     * @throws IllegalArgumentException if the producer or the consumers are null
+     */
+    public static <PRODUCER_TYPE> PRODUCER_TYPE unbind(PRODUCER_TYPE producer, Object... consumers)
+        throws IllegalArgumentException
+    {
+        return DEFAULT_BUS.unbind(producer, consumers);
+    }
+
+    /**
+     * Unbinds the specified consumers from all producers, they are bound to, including classes of producers. Only the
+     * bindings of the consumers are touched, thus the costs do not depend on the number of producers. Does nothing if
+     * the consumers are not bound.
+     * 
+     * @param consumers one or more consumers / listeners, mandatory
+     * @throws IllegalArgumentException if the consumers are null
+     */
+    public static void unbindAll(Object... consumers) throws IllegalArgumentException
+    {
+        DEFAULT_BUS.unbindAll(consumers);
+    }
+
+    /**
+     * Unbinds all consumers from the specified instance or class of a producer, without waiting for the garbage
+     * collector. In case of a class reference, only the consumers bound to the class itself get unbound, the consumers
+     * bound to instances or sub-classes stay bound. Does nothing if the producer has no consumers.
+     * 
+     * @param producer the instance or class of a producer, mandatory
+     * @return the producer
+     * @throws IllegalArgumentException if the producer is null
+     */
+    public static <PRODUCER_TYPE> PRODUCER_TYPE release(PRODUCER_TYPE producer) throws IllegalArgumentException
+    {
+        return DEFAULT_BUS.release(producer);
+    }
+
+    /**
+     * Scans the specified consumer classes in parallel and waits until all classes are scanned. Call it during startup
+     * to keep binding the first instance of each class fast. See {@link EventBus#preload(Class...)}.
+     * 
+     * @param consumerTypes the classes of the consumers, mandatory
+     * @throws IllegalArgumentException if the classes are null or one of the classes cannot handle events
+     */
+    public static void preload(Class<?>... consumerTypes) throws IllegalArgumentException
+    {
+        DEFAULT_BUS.preload(consumerTypes);
+    }
+
+    /**
+     * Fires the specified event from the specified instance of a producer immediately, without tags. Works like
+     * {@link #fire(Object, Object, String...)}, but does not create an empty array of tags on each call.
+     * 
+     * @param producer the producer, mandatory
+     * @param event the event, mandatory
+     * @throws IllegalArgumentException if the producer or the event is null
+     * @throws RejectedExecutionException if the event has been rejected, because the queue of pending events is
+     *             full and the {@link OverflowPolicy#FAIL} policy is active
+     */
+    public static <PRODUCER_TYPE> PRODUCER_TYPE fire(PRODUCER_TYPE producer, Object event)
+        throws IllegalArgumentException, RejectedExecutionException
+    {
+        return DEFAULT_BUS.fire(producer, event);
+    }
+
+    /**
+     * <p>
+     * Fires the specified event from the specified instance of a producer immediately. Notifies all consumers that are
+     * either directly bonded to the producer or that are bonded to the class, any sub-class or any interface of the
+     * producer.
+     * </p>
+     * <p>
+     * Calls the appropriate <code>@{@link EventHandler} public void handleEvent(* event)</code> method of all
+     * consumers. Does nothing, if events are disabled for the current thread. Does nothing, if there are no consumers
+     * bonded to the producer.
+     * </p>
+     * 
+     * @param producer the producer, mandatory
+     * @param event the event, mandatory
+     * @param tags, optional, can be checked against tags in annotations
+     * @throws IllegalArgumentException if the producer or the event is null
+     * @throws RejectedExecutionException if the event has been rejected, because the queue of pending events is
+     *             full and the {@link OverflowPolicy#FAIL} policy is active
+     */
+    public static <PRODUCER_TYPE> PRODUCER_TYPE fire(PRODUCER_TYPE producer, Object event, String... tags)
+        throws IllegalArgumentException, RejectedExecutionException
+    {
+        return DEFAULT_BUS.fire(producer, event, tags);
+    }
+
+    /**
+     * Fires the specified event from the specified instance of a producer immediately. Works like
+     * {@link #fire(Object, Object, String...)}, but uses tags, that have been created once by {@link Tags#of(String...)}.
+     * 
+     * @param producer the producer, mandatory
+     * @param event the event, mandatory
+     * @param tags the tags, mandatory, {@link Tags#NONE} for no tags
+     * @throws IllegalArgumentException if the producer, the event or the tags are null
+     * @throws RejectedExecutionException if the event has been rejected, because the queue of pending events is
+     *             full and the {@link OverflowPolicy#FAIL} policy is active
+     */
+    public static <PRODUCER_TYPE> PRODUCER_TYPE fire(PRODUCER_TYPE producer, Object event, Tags tags)
+        throws IllegalArgumentException, RejectedExecutionException
+    {
+        return DEFAULT_BUS.fire(producer, event, tags);
+    }
+
+    /**
+     * <p>
+     * Fires all the specified events from the specified instance of a producer immediately. Notifies all consumers that
+     * are either directly bonded to the producer or that are bonded to the class, any sub-class or any interface of
+     * the producer.
+     * </p>
+     * <p>
+     * The events are passed to the events thread as one single batch and the consumers of the producer are resolved
+     * only once for all events. The events are fired in the order of the iterable. Does nothing, if events are disabled
+     * for the current thread. Does nothing, if there are no consumers bonded to the producer.
+     * </p>
+     * 
+     * @param producer the producer, mandatory
+     * @param events the events, mandatory, none of the events may be null
+     * @param tags, optional, can be checked against tags in annotations
+     * @throws IllegalArgumentException if the producer, the events or one of the events is null
+     */
+    public static <PRODUCER_TYPE> PRODUCER_TYPE fireAll(PRODUCER_TYPE producer, Iterable<?> events, String... tags)
+        throws IllegalArgumentException
+    {
+        return DEFAULT_BUS.fireAll(producer, events, tags);
+    }
+
+    /**
+     * <p>
+     * Runs the specified runnable within a batch scope. All bindings, unbindings and events without delay, that are
+     * issued by the current thread within the scope, are collected and passed to the events thread as one single batch
+     * when the runnable finishes. Events with a delay and events fired by {@link #fireNow(Object, Object, String...)}
+     * are not collected.
+     * </p>
+     * <p>
+     * If the runnable fails with an exception, all actions collected within the scope are discarded and the exception
+     * is thrown. Batch scopes can be nested, the actions of an inner scope are published with the outermost scope.
+     * </p>
+     * 
+     * @param runnable the runnable, mandatory
+     * @throws IllegalArgumentException if the runnable is null
+     */
+    public static void batch(Runnable runnable) throws IllegalArgumentException
+    {
+        DEFAULT_BUS.batch(runnable);
+    }
+
+    /**
+     * <p>
+     * Fires the specified event from the specified instance of a producer synchronously. Notifies all consumers that
+     * are either directly bonded to the producer or that are bonded to the class, any sub-class or any interface of
+     * the producer.
+     * </p>
+     * <p>
+     * Calls the appropriate <code>@{@link EventHandler} public void handleEvent(* event)</code> methods of all consumers
+     * by the calling thread and returns after all of them have been called. Handlers annotated with
+     * {@link PooledEventHandler} or {@link SwingEventHandler} are still passed to their threads. The event does not
+     * wait for pending actions of the producer, thus bindings, unbindings and events that have been enqueued before
+     * may not have been processed yet. Does nothing, if events are disabled for the current thread. Does nothing, if
+     * there are no consumers bonded to the producer.
+     * </p>
+     * 
+     * @param producer the producer, mandatory
+     * @param event the event, mandatory
+     * @param tags, optional, can be checked against tags in annotations
+     * @throws IllegalArgumentException if the producer or the event is null
+     */
+    public static <PRODUCER_TYPE> PRODUCER_TYPE fireNow(PRODUCER_TYPE producer, Object event, String... tags)
+        throws IllegalArgumentException
+    {
+        return DEFAULT_BUS.fireNow(producer, event, tags);
+    }
+
+    /**
+     * Fires the specified event from the specified instance of a producer synchronously. Works like
+     * {@link #fireNow(Object, Object, String...)}, but uses tags, that have been created once by
+     * {@link Tags#of(String...)}.
+     * 
+     * @param producer the producer, mandatory
+     * @param event the event, mandatory
+     * @param tags the tags, mandatory, {@link Tags#NONE} for no tags
+     * @throws IllegalArgumentException if the producer, the event or the tags are null
+     */
+    public static <PRODUCER_TYPE> PRODUCER_TYPE fireNow(PRODUCER_TYPE producer, Object event, Tags tags)
+        throws IllegalArgumentException
+    {
+        return DEFAULT_BUS.fireNow(producer, event, tags);
+    }
+
+    /**
+     * <p>
+     * Fires the specified event from the specified instance of a producer. Additionally defines an delay for firing
+     * this event (in seconds). Notifies all consumers that are either directly bonded to the producer or that are
+     * bonded to the class, any sub-class or any interface of the producer.
+     * </p>
+     * <p>
+     * Calls the appropriate <code>@{@link EventHandler} public void handleEvent(* event)</code> method of all
+     * consumers. Does nothing, if events are disabled for the current thread. Does nothing, if there are no consumers
+     * bonded to the producer. An event with a delay of 0 is collected by the current batch scope, like an event
+     * without delay.
+     * </p>
+     * 
+     * @param producer the producer, mandatory
+     * @param event the event, mandatory
+     * @param delayInSeconds the delay for triggering this event in seconds
+     * @param tags, optional, can be checked against tags in annotations
+     * @throws IllegalArgumentException if the producer or the event is null
+     */
+    public static <PRODUCER_TYPE> EventReference fire(PRODUCER_TYPE producer, Object event, double delayInSeconds,
+        String... tags) throws IllegalArgumentException
+    {
+        return DEFAULT_BUS.fire(producer, event, delayInSeconds, tags);
+    }
+
+    /**
+     * Fires the specified event from the specified instance of a producer with a delay. Works like
+     * {@link #fire(Object, Object, double, String...)}, but uses tags, that have been created once by
+     * {@link Tags#of(String...)}.
+     * 
+     * @param producer the producer, mandatory
+     * @param event the event, mandatory
+     * @param delayInSeconds the delay for triggering this event in seconds
+     * @param tags the tags, mandatory, {@link Tags#NONE} for no tags
+     * @throws IllegalArgumentException if the producer, the event or the tags are null
+     */
+    public static <PRODUCER_TYPE> EventReference fire(PRODUCER_TYPE producer, Object event, double delayInSeconds,
+        Tags tags) throws IllegalArgumentException
+    {
+        return DEFAULT_BUS.fire(producer, event, delayInSeconds, tags);
+    }
+
+    /**
+     * <p>
+     * Fires the specified event from the specified instance of a producer, conflating it with pending events of the
+     * same producer, with the same class and the same tags. If such an event is still pending, the new event replaces
+     * it, and the reference of the replaced event reports, that it has been superseded. Use this method for events
+     * where only the latest value matters (progress, selection, ...).
+     * </p>
+     * <p>
+     * Conflated events are passed to the events thread immediately, even within a {@link #batch(Runnable)}. They are
+     * not counted against the capacity, because there is at most one pending event per key. Does nothing, if events are
+     * disabled for the current thread.
+     * </p>
+     * 
+     * @param producer the producer, mandatory
+     * @param event the event, mandatory
+     * @param tags, optional, can be checked against tags in annotations
+     * @return the reference to the event
+     * @throws IllegalArgumentException if the producer or the event is null
+     */
+    public static <PRODUCER_TYPE> EventReference fireConflated(PRODUCER_TYPE producer, Object event, String... tags)
+        throws IllegalArgumentException
+    {
+        return DEFAULT_BUS.fireConflated(producer, event, tags);
+    }
+
+    /**
+     * <p>
+     * Fires the specified event from the specified instance of a producer, conflating it with pending events with an
+     * equal key. If such an event is still pending, the new event replaces it, and the reference of the replaced event
+     * reports, that it has been superseded.
+     * </p>
+     * <p>
+     * Events are only conflated with events of producers in the same lane, thus the key should contain the producer.
+     * If the key is null, the event gets fired without conflation.
+     * </p>
+     * 
+     * @param producer the producer, mandatory
+     * @param event the event, mandatory
+     * @param conflationKeyProvider provides the conflation key, mandatory
+     * @param tags, optional, can be checked against tags in annotations
+     * @return the reference to the event
+     * @throws IllegalArgumentException if the producer, the event or the provider is null
+     */
+    public static <PRODUCER_TYPE> EventReference fireConflated(PRODUCER_TYPE producer, Object event,
+        ConflationKeyProvider conflationKeyProvider, String... tags) throws IllegalArgumentException
+    {
+        return DEFAULT_BUS.fireConflated(producer, event, conflationKeyProvider, tags);
+    }
+
+    /**
+     * <p>
+     * Disables events from the current thread.
+     * </p>
+     * <p>
+     * Make sure to call the enable method by using a finally block! Multiple calls to disable, increase a counter and
+     * it is necessary to call enable as often as you have called disable.
+     * </p>
+     */
+    public static void disable()
+    {
+        Integer count = DISABLED.get();
+
+        if (count != null)
+        {
+            DISABLED.set(Integer.valueOf(count.intValue() + 1));
+        }
+        else
+        {
+            DISABLED.set(Integer.valueOf(1));
+        }
+    }
+
+    /**
+     * Returns true if events from the current thread are disabled.
+     * 
+     * @return true if disabled
+     */
+    public static boolean isDisabled()
+    {
+        Integer count = DISABLED.get();
+
+        return ((count != null) && (count.intValue() > 0));
+    }
+
+    /**
+     * <p>
+     * Enables events from the current thread.
+     * </p>
+     * <p>
+     * It is wise to place call to this method within a finally block. Multiple calls to disable, increase a counter and
+     * it is necessary to call enable as often as you have called disable.
+     * </p>
+     * 
+     * @throws IllegalStateException if events from the current thread are not disabled
+     */
+    public static void enable() throws IllegalStateException
+    {
+        Integer count = DISABLED.get();
+
+        if ((count == null) || (count.intValue() <= 0))
+        {
+            throw new IllegalStateException("Events not disabled");
+        }
+
+        DISABLED.set(Integer.valueOf(count - 1));
+    }
+
+    /**
+     * Registers a strategy for event handlers. The strategy decides for a method of a consumer, whether it is capable
+     * of handling events or not. By default there exist strategies for following annotations: {@link EventHandler},
+     * {@link PooledEventHandler} and {@link SwingEventHandler}.
+     * 
+     * @param strategy the strategy, never null
+     */
+    public static void registerStrategy(EventHandlerStrategy strategy)
+    {
+        DEFAULT_BUS.registerStrategy(strategy);
+    }
+
+    /**
+     * Returns the executor service for event handler that are executed using pooled threads. The default value is a
+     * fixed thread pool using a maximum of 4 threads.
+     * 
+     * @return the executor service
+     */
+    public static ExecutorService getExecutorService()
+    {
+        return DEFAULT_BUS.getExecutorService();
+    }
+
+    /**
+     * Sets the executor service for event handlers that are executed using pooled threads.
+     * 
+     * @param executorService the executor service, mandatory
+     * @throws IllegalArgumentException if the executor service is null
+     */
+    public static void setExecutorService(ExecutorService executorService)
+    {
+        DEFAULT_BUS.setExecutorService(executorService);
+    }
+
+    /**
+     * Returns the error handler, the {@link DefaultErrorHandler} if not specified.
+     * 
+     * @return the error handler, never null
+     */
+    public static ErrorHandler getErrorHandler()
+    {
+        return DEFAULT_BUS.getErrorHandler();
+    }
+
+    /**
+     * Sets the error handler.
+     * 
+     * @param errorHandler the error handler, mandatory
+     * @throws IllegalArgumentException if the error handler is null
+     */
+    public static void setErrorHandler(ErrorHandler errorHandler) throws IllegalArgumentException
+    {
+        DEFAULT_BUS.setErrorHandler(errorHandler);
+    }
+
+    /**
+     * Returns the maximum number of pending events per lane.
+     * 
+     * @return the capacity, {@link #UNBOUNDED} by default
+     */
+    public static int getCapacity()
+    {
+        return DEFAULT_BUS.getCapacity();
+    }
+
+    /**
+     * Returns the policy, that is applied if a lane is full.
+     * 
+     * @return the policy, {@link OverflowPolicy#BLOCK} by default
+     */
+    public static OverflowPolicy getOverflowPolicy()
+    {
+        return DEFAULT_BUS.getOverflowPolicy();
+    }
+
+    /**
+     * <p>
+     * Limits the number of pending events per lane and sets the policy, that is applied, if a lane is full.
+     * </p>
+     * <p>
+     * The capacity applies to events, that should be fired immediately. Delayed events, bindings and batches are always
+     * accepted.
+     * </p>
+     * 
+     * @param capacity the capacity, at least 1, {@link #UNBOUNDED} to remove the limit
+     * @param overflowPolicy the policy, mandatory
+     * @throws IllegalArgumentException if the capacity is less than 1 or the policy is null
+     */
+    public static void setCapacity(int capacity, OverflowPolicy overflowPolicy) throws IllegalArgumentException
+    {
+        DEFAULT_BUS.setCapacity(capacity, overflowPolicy);
+    }
+
+    /**
+     * Returns how often the policy has been applied, because a lane was full.
+     * 
+     * @param overflowPolicy the policy, mandatory
+     * @return the number of overflows
+     * @throws IllegalArgumentException if the policy is null
+     */
+    public static long getOverflowCount(OverflowPolicy overflowPolicy) throws IllegalArgumentException
+    {
+        return DEFAULT_BUS.getOverflowCount(overflowPolicy);
+    }
+}
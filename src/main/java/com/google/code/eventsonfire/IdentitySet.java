@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * A compact set of elements, compared by identity. Most producers have one or two consumers and most consumers have
+ * one or two producers, a few have hundreds of thousands, thus the set changes its representation with its size: a
+ * single element is held directly, up to {@link #SMALL} elements are held in an array in the order of addition, more
+ * elements are held in an open addressed hash table with linear probing. Not thread-safe.
+ * 
+ * @param <E> the type of the elements
+ * @author Manfred Hantschel
+ */
+final class IdentitySet<E> implements Iterable<E>
+{
+
+    /**
+     * The maximum number of elements held in a plain array
+     */
+    static final int SMALL = 8;
+
+    private static final Object[] NO_ELEMENTS = {};
+
+    /**
+     * Either null, a single element, an array with the first {@link #size} elements used or a hash table
+     */
+    private Object elements;
+    private int size;
+
+    public IdentitySet()
+    {
+        super();
+    }
+
+    /**
+     * Returns true if the set contains the element
+     * 
+     * @param element the element
+     * @return true if contained
+     */
+    public boolean contains(Object element)
+    {
+        if (size == 0)
+        {
+            return false;
+        }
+
+        if (size == 1)
+        {
+            return elements == element;
+        }
+
+        Object[] array = (Object[]) elements;
+
+        if (size <= SMALL)
+        {
+            return indexOf(array, size, element) >= 0;
+        }
+
+        return array[slotOf(array, element)] != null;
+    }
+
+    /**
+     * Adds the element to the set
+     * 
+     * @param element the element, mandatory
+     * @return true if added, false if already contained
+     */
+    public boolean add(E element)
+    {
+        if (contains(element))
+        {
+            return false;
+        }
+
+        if (size == 0)
+        {
+            elements = element;
+        }
+        else if (size == 1)
+        {
+            elements = new Object[]{elements, element};
+        }
+        else if (size < SMALL)
+        {
+            Object[] array = (Object[]) elements;
+
+            if (size == array.length)
+            {
+                array = copyOf(array, size, Math.min(size << 1, SMALL));
+                elements = array;
+            }
+
+            array[size] = element;
+        }
+        else
+        {
+            Object[] table = (size == SMALL) ? null : (Object[]) elements;
+
+            // keep the load factor of the table below 1/2
+            if ((table == null) || (((size + 1) << 1) > table.length))
+            {
+                table = rehash((Object[]) elements, (table == null) ? SMALL << 2 : table.length << 1);
+                elements = table;
+            }
+
+            table[slotOf(table, element)] = element;
+        }
+
+        size += 1;
+
+        return true;
+    }
+
+    /**
+     * Removes the element from the set
+     * 
+     * @param element the element
+     * @return true if removed, false if not contained
+     */
+    public boolean remove(Object element)
+    {
+        if (!contains(element))
+        {
+            return false;
+        }
+
+        if (size == 1)
+        {
+            elements = null;
+        }
+        else if (size == 2)
+        {
+            Object[] array = (Object[]) elements;
+
+            elements = (array[0] == element) ? array[1] : array[0];
+        }
+        else if (size <= SMALL)
+        {
+            Object[] array = (Object[]) elements;
+            int index = indexOf(array, size, element);
+
+            System.arraycopy(array, index + 1, array, index, size - index - 1);
+            array[size - 1] = null;
+        }
+        else if (size == SMALL + 1)
+        {
+            Object[] table = (Object[]) elements;
+
+            table[slotOf(table, element)] = null;
+            elements = copyOf(table, table.length, SMALL);
+        }
+        else
+        {
+            removeFromTable((Object[]) elements, element);
+        }
+
+        size -= 1;
+
+        return true;
+    }
+
+    /**
+     * Returns the number of elements
+     * 
+     * @return the number of elements
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns true if the set is empty
+     * 
+     * @return true if empty
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Returns an iterator over a copy of the elements, thus the set may be modified while iterating.
+     * 
+     * @return the iterator
+     */
+    @SuppressWarnings("unchecked")
+    public Iterator<E> iterator()
+    {
+        Object[] copy;
+
+        if (size == 0)
+        {
+            copy = NO_ELEMENTS;
+        }
+        else if (size == 1)
+        {
+            copy = new Object[]{elements};
+        }
+        else
+        {
+            Object[] array = (Object[]) elements;
+
+            copy = copyOf(array, (size <= SMALL) ? size : array.length, size);
+        }
+
+        return (Iterator<E>) Arrays.asList(copy).iterator();
+    }
+
+    private static int indexOf(Object[] array, int size, Object element)
+    {
+        for (int i = 0; i < size; i += 1)
+        {
+            if (array[i] == element)
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the slot of the element in the table, or the empty slot, where it belongs
+     */
+    private static int slotOf(Object[] table, Object element)
+    {
+        int mask = table.length - 1;
+        int slot = hash(element) & mask;
+
+        while ((table[slot] != null) && (table[slot] != element))
+        {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private static int hash(Object element)
+    {
+        int hash = System.identityHashCode(element);
+
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Removes the element and moves the following elements of the cluster back, thus no probe sequence gets
+     * interrupted
+     */
+    private static void removeFromTable(Object[] table, Object element)
+    {
+        int mask = table.length - 1;
+        int slot = slotOf(table, element);
+        int next = slot;
+
+        table[slot] = null;
+
+        while (true)
+        {
+            next = (next + 1) & mask;
+
+            Object current = table[next];
+
+            if (current == null)
+            {
+                return;
+            }
+
+            int home = hash(current) & mask;
+
+            // move the element, if its home is not within (slot, next], cyclically
+            if ((slot <= next) ? ((home <= slot) || (home > next)) : ((home <= slot) && (home > next)))
+            {
+                table[slot] = current;
+                table[next] = null;
+                slot = next;
+            }
+        }
+    }
+
+    private static Object[] rehash(Object[] source, int capacity)
+    {
+        Object[] table = new Object[capacity];
+
+        for (int i = 0; i < source.length; i += 1)
+        {
+            Object element = source[i];
+
+            if (element != null)
+            {
+                table[slotOf(table, element)] = element;
+            }
+        }
+
+        return table;
+    }
+
+    /**
+     * Copies the elements, that are not null, from the first elements of the source to a new array
+     */
+    private static Object[] copyOf(Object[] source, int length, int capacity)
+    {
+        Object[] array = new Object[capacity];
+        int index = 0;
+
+        for (int i = 0; (i < length) && (index < capacity); i += 1)
+        {
+            if (source[i] != null)
+            {
+                array[index] = source[i];
+                index += 1;
+            }
+        }
+
+        return array;
+    }
+
+}
@@ -0,0 +1,1378 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import com.google.code.eventsonfire.Action.Type;
+
+/**
+ * <p>
+ * A lane of the {@link Dispatcher}. Each lane owns its own queue of pending actions and its own registry of producers
+ * and consumers, thus the actions of one lane are executed strictly one after another by the thread of the lane, while
+ * different lanes work in parallel. Bindings to classes are replicated to each lane by the {@link Dispatcher}.
+ * </p>
+ * <p>
+ * Actions that should be executed immediately are added to a lock-free queue, which can be filled by any number of
+ * threads without contention. Only delayed actions are added to the {@link TimingWheel}. The thread of the lane parks
+ * if there is nothing to do and gets unparked by the next enqueued action.
+ * </p>
+ * <p>
+ * Optionally, the queue is replaced by a {@link RingBuffer} with preallocated slots. Bindings and events without
+ * reference are passed without creating any object. If the ring buffer is full, the enqueuing thread waits. Threads
+ * of lanes must never wait, they spill the entry to the queue instead. As long as there are spilled entries, all
+ * further entries get spilled, too, thus the order is kept.
+ * </p>
+ * <p>
+ * If the {@link Dispatcher} has a capacity, fire actions are offered to the lane and counted as long as they are
+ * pending. Actions, that have been dropped while pending, are skipped by the lane.
+ * </p>
+ * <p>
+ * Conflated actions occupy one place in the queue per conflation key. A newer action with the same key replaces the
+ * pending one in place, until the lane takes it.
+ * </p>
+ * 
+ * @author Manfred Hantschel
+ */
+class Lane implements Runnable
+{
+
+    /**
+     * The lane of the current thread, null if the thread does not belong to a lane
+     */
+    private static final ThreadLocal<Lane> CURRENT = new ThreadLocal<Lane>();
+
+    /**
+     * The number of yields before parking, if the ring buffer is full
+     */
+    private static final int SPINS = 100;
+
+    /**
+     * The nano seconds to park, if the ring buffer is full
+     */
+    private static final long PARK_NANOS = 100000;
+
+    /**
+     * The bus, that owns the lane
+     */
+    private final EventBus bus;
+
+    /**
+     * The queue containing actions which should get executed immediately. If the lane uses a ring buffer, the queue
+     * takes the entries, that threads of lanes could not add to the full ring buffer.
+     */
+    private final ConcurrentLinkedQueue<Action> actions;
+
+    /**
+     * The ring buffer replacing the queue, null if the queue is used
+     */
+    private final RingBuffer ring;
+
+    /**
+     * The conflated actions in the queue by their conflation keys
+     */
+    private final ConcurrentMap<Object, Action> conflatedActions;
+
+    /**
+     * The number of counted actions in the queue
+     */
+    private final AtomicInteger pending;
+
+    /**
+     * The monitor of threads waiting for space in the queue
+     */
+    private final Object notFull;
+
+    /**
+     * The number of threads waiting for space in the queue
+     */
+    private volatile int blocked = 0;
+
+    /**
+     * The duration of one tick of the timing wheel in nano seconds (one millisecond)
+     */
+    private static final long TICK_NANOS = 1000000;
+
+    /**
+     * The timing wheel containing delayed actions which wait to get executed.
+     */
+    private final TimingWheel delayedActions;
+
+    /**
+     * Empty chain of {@link ProducerInfo}s for classes without bindings
+     */
+    private static final ProducerInfo[] NO_PRODUCER_INFOS = {};
+
+    /**
+     * A map containing all {@link ProducerInfo} objects containing the consumers by the instances of producers. The
+     * map is only modified by the thread of the lane, the producers are weakly referenced and looked up by identity.
+     */
+    private final WeakIdentityMap<ProducerInfo> producerInfos;
+
+    /**
+     * A map containing all {@link ProducerInfo} objects containing the consumers by the classes of producers. The map
+     * is only modified by the thread of the lane.
+     */
+    private final WeakIdentityMap<ProducerInfo> classProducerInfos;
+
+    /**
+     * The {@link ProducerInfo}s bound to the type hierarchy of a class, resolved by the thread of the lane when needed.
+     * Replaced as a whole, when a class gets its first or loses its last consumer.
+     */
+    private volatile WeakIdentityMap<ProducerInfo[]> classChains;
+
+    /**
+     * A map containing the one {@link ConsumerInfo} per consumer, that knows the producers of the consumer. The entries
+     * of the map are the only weak references to the consumers. The map is only modified by the thread of the lane.
+     */
+    private final WeakIdentityMap<ConsumerInfo> consumerInfos;
+
+    /**
+     * The reference queue for the entries of the producers and consumers used to get rid of them if the object has
+     * been garbage collected.
+     */
+    private final ReferenceQueue<Object> referenceQueue;
+
+    /**
+     * The thread of the lane, set when the lane starts running
+     */
+    private volatile Thread thread;
+
+    /**
+     * True, if the thread of the lane is about to park
+     */
+    private volatile boolean waiting = false;
+
+    /**
+     * True, if the lane has been stopped
+     */
+    private volatile boolean stopped = false;
+
+    /**
+     * True, if a delayed action has been added or moved since the last check of the timing wheel
+     */
+    private volatile boolean delayedActionsChanged = false;
+
+    /**
+     * The nano seconds, when the next delayed action should get triggered. Only used by the thread of the lane.
+     */
+    private long nextDelayedNanos;
+
+    /**
+     * True if the timing wheel contains any action. Only used by the thread of the lane.
+     */
+    private boolean delayed = false;
+
+    /**
+     * The chain of delayed actions, that are due. Only used by the thread of the lane.
+     */
+    private Action dueActions;
+
+    /**
+     * Creates the lane.
+     * 
+     * @param bus the bus, that owns the lane, mandatory
+     * @param ringSize the size of the ring buffer, a power of two, 0 to use the unbounded queue
+     * @throws IllegalArgumentException if the size of the ring buffer is not a power of two
+     */
+    public Lane(EventBus bus, int ringSize) throws IllegalArgumentException
+    {
+        super();
+
+        this.bus = bus;
+
+        ring = (ringSize > 0) ? new RingBuffer(ringSize) : null;
+        actions = new ConcurrentLinkedQueue<Action>();
+        conflatedActions = new ConcurrentHashMap<Object, Action>();
+        pending = new AtomicInteger();
+        notFull = new Object();
+        delayedActions = new TimingWheel(TICK_NANOS);
+        referenceQueue = new ReferenceQueue<Object>();
+        producerInfos = new WeakIdentityMap<ProducerInfo>(referenceQueue);
+        classProducerInfos = new WeakIdentityMap<ProducerInfo>(referenceQueue);
+        classChains = new WeakIdentityMap<ProducerInfo[]>();
+        consumerInfos = new WeakIdentityMap<ConsumerInfo>(referenceQueue);
+    }
+
+    /**
+     * Adds an action to the pending actions of this lane, that should get executed immediately
+     * 
+     * @param action the action
+     */
+    public void enqueue(Action action)
+    {
+        if (ring != null)
+        {
+            enqueue(action.getType(), action.getProducer(), action.getParameter(), action.getTags(), action);
+
+            return;
+        }
+
+        actions.offer(action);
+
+        if (waiting)
+        {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Adds an entry to the ring buffer of this lane without creating an action. Waits, if the ring buffer is full or
+     * if there are spilled entries. Threads of lanes never wait (they could wait for themselves or for each other),
+     * they spill the entry to the queue instead. The spilled entries get executed after the entries of the ring
+     * buffer.
+     * 
+     * @param type the type
+     * @param producer the producer
+     * @param parameter the parameter
+     * @param tags the tags
+     * @param action the action, may be null
+     */
+    public void enqueue(Type type, Object producer, Object parameter, Tags tags, Action action)
+    {
+        int attempts = 0;
+
+        while ((!actions.isEmpty()) || (!ring.offer(type, producer, parameter, tags, action)))
+        {
+            if (stopped)
+            {
+                if (action != null)
+                {
+                    action.reject();
+                }
+
+                return;
+            }
+
+            if (CURRENT.get() != null)
+            {
+                if (action == null)
+                {
+                    action = new Action(type, producer, parameter, System.nanoTime(), tags);
+                }
+
+                actions.offer(action);
+                break;
+            }
+
+            if (waiting)
+            {
+                LockSupport.unpark(thread);
+            }
+
+            if (attempts < SPINS)
+            {
+                Thread.yield();
+            }
+            else
+            {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+
+            attempts += 1;
+        }
+
+        if (waiting)
+        {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Returns true if the lane uses a ring buffer instead of the unbounded queue
+     * 
+     * @return true if ring buffer
+     */
+    public boolean isRing()
+    {
+        return ring != null;
+    }
+
+    /**
+     * Adds a conflated action to the pending actions of this lane. If there is a pending action with the same
+     * conflation key, the action replaces it instead of being added to the queue.
+     * 
+     * @param action the action with a conflation key
+     */
+    public void conflate(Action action)
+    {
+        Object conflationKey = action.getConflationKey();
+
+        while (true)
+        {
+            Action pendingAction = conflatedActions.putIfAbsent(conflationKey, action);
+
+            if (pendingAction == null)
+            {
+                enqueue(action);
+                return;
+            }
+
+            if (pendingAction.supersede(action))
+            {
+                return;
+            }
+
+            // the pending action has been taken meanwhile
+            if (conflatedActions.replace(conflationKey, pendingAction, action))
+            {
+                enqueue(action);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds an action to the pending actions of this lane, if the number of counted actions is below the capacity. The
+     * action gets counted until it is taken by the lane.
+     * 
+     * @param action the action
+     * @param capacity the capacity
+     * @return true if enqueued, false if the queue is full
+     */
+    public boolean offer(Action action, int capacity)
+    {
+        if (pending.incrementAndGet() > capacity)
+        {
+            pending.decrementAndGet();
+
+            return false;
+        }
+
+        action.setCounted(true);
+        enqueue(action);
+
+        return true;
+    }
+
+    /**
+     * Drops the oldest counted action, that has not been taken by the lane, yet.
+     * 
+     * @return true if an action has been dropped
+     */
+    public boolean dropOldest()
+    {
+        Iterator<Action> it = actions.iterator();
+
+        while (it.hasNext())
+        {
+            Action action = it.next();
+
+            if ((action.isCounted()) && (action.drop()))
+            {
+                it.remove();
+                pending.decrementAndGet();
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Waits until the number of counted actions is below the capacity
+     * 
+     * @param capacity the capacity
+     * @throws InterruptedException if interrupted
+     */
+    public void awaitNotFull(int capacity) throws InterruptedException
+    {
+        synchronized (notFull)
+        {
+            blocked += 1;
+
+            try
+            {
+                while ((pending.get() >= capacity) && (!stopped))
+                {
+                    // the timeout is a safety net only, the lane notifies as soon as it takes an action
+                    notFull.wait(100);
+                }
+            }
+            finally
+            {
+                blocked -= 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of counted actions in the queue
+     * 
+     * @return the number of counted actions
+     */
+    public int getPending()
+    {
+        return pending.get();
+    }
+
+    /**
+     * Adds an action to the delayed actions of this lane
+     * 
+     * @param action the action
+     */
+    public void schedule(Action action)
+    {
+        action.setLane(this);
+        delayedActions.schedule(action);
+        delayedActionsChanged = true;
+
+        if (waiting)
+        {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Removes the delayed action from this lane
+     * 
+     * @param action the action
+     */
+    public void cancel(Action action)
+    {
+        if (delayedActions.remove(action))
+        {
+            action.complete();
+        }
+    }
+
+    /**
+     * Moves the delayed action to the specified time
+     * 
+     * @param action the action
+     * @param nanosToTrigger the nano seconds, when the action should get triggered
+     * @return true if rescheduled, false if the action is not pending anymore
+     */
+    public boolean reschedule(Action action, long nanosToTrigger)
+    {
+        if (!delayedActions.reschedule(action, nanosToTrigger))
+        {
+            return false;
+        }
+
+        delayedActionsChanged = true;
+
+        if (waiting)
+        {
+            LockSupport.unpark(thread);
+        }
+
+        return true;
+    }
+
+    /**
+     * Worker for pending actions.
+     * 
+     * @see java.lang.Runnable#run()
+     */
+    public void run()
+    {
+        thread = Thread.currentThread();
+        CURRENT.set(this);
+        EventBus.enter(bus);
+
+        try
+        {
+            while (!stopped)
+            {
+                if (Thread.interrupted())
+                {
+                    throw new InterruptedException();
+                }
+
+                if (!executeNext())
+                {
+                    waitForAction();
+                }
+            }
+        }
+        catch (InterruptedException e)
+        {
+            if (!stopped)
+            {
+                bus.getErrorHandler().interrupted(e);
+            }
+        }
+    }
+
+    /**
+     * Stops the thread of the lane. Pending actions are not executed anymore, threads waiting for space in the lane
+     * stop waiting.
+     */
+    public void stop()
+    {
+        stopped = true;
+
+        Thread thread = this.thread;
+
+        if (thread != null)
+        {
+            thread.interrupt();
+        }
+
+        synchronized (notFull)
+        {
+            notFull.notifyAll();
+        }
+    }
+
+    /**
+     * Returns true if the lane has been stopped
+     * 
+     * @return true if stopped
+     */
+    public boolean isStopped()
+    {
+        return stopped;
+    }
+
+    /**
+     * Executes the next pending action, if there is one. Delayed actions, that are due, take precedence. Must only be
+     * called by the thread of the lane.
+     * 
+     * @return true if an action has been executed, false if there was nothing to do
+     */
+    private boolean executeNext()
+    {
+        Action action = pollDelayedAction();
+
+        if (action != null)
+        {
+            execute(action);
+
+            return true;
+        }
+
+        if (ring != null)
+        {
+            RingBuffer.Slot slot = ring.peek();
+
+            if (slot == null)
+            {
+                // spilled entries are younger than the entries of the ring buffer
+                action = actions.poll();
+
+                if (action == null)
+                {
+                    return false;
+                }
+
+                execute(action);
+
+                return true;
+            }
+
+            Type type = slot.type;
+            Object producer = slot.producer;
+            Object parameter = slot.parameter;
+            Tags tags = slot.tags;
+
+            action = slot.action;
+            ring.release(slot);
+
+            if (action != null)
+            {
+                execute(action);
+            }
+            else
+            {
+                execute(type, producer, parameter, tags);
+            }
+
+            return true;
+        }
+
+        action = pollAction();
+
+        if (action == null)
+        {
+            return false;
+        }
+
+        execute(action);
+
+        return true;
+    }
+
+    /**
+     * Polls the next action from the queue. Skips actions, that have been dropped.
+     * 
+     * @return the action, null if the queue is empty
+     */
+    private Action pollAction()
+    {
+        while (true)
+        {
+            Action action = actions.poll();
+
+            if (action == null)
+            {
+                return null;
+            }
+
+            if (action.isCounted())
+            {
+                if (!action.take())
+                {
+                    // dropped, already uncounted
+                    continue;
+                }
+
+                pending.decrementAndGet();
+
+                if (blocked > 0)
+                {
+                    synchronized (notFull)
+                    {
+                        notFull.notifyAll();
+                    }
+                }
+            }
+
+            return action;
+        }
+    }
+
+    /**
+     * Executes the action
+     * 
+     * @param action the action
+     */
+    private void execute(Action action)
+    {
+        try
+        {
+            if (action.getConflationKey() != null)
+            {
+                Action conflatedAction = action;
+
+                action = conflatedAction.close();
+                conflatedActions.remove(conflatedAction.getConflationKey(), conflatedAction);
+            }
+
+            try
+            {
+                if (!action.isCanceled())
+                {
+                    switch (action.getType())
+                    {
+                        case FIRE:
+                            executeFireAction(action);
+                            break;
+
+                        case BIND:
+                            executeBindAction(action);
+                            break;
+
+                        case UNBIND:
+                            executeUnbindAction(action);
+                            break;
+
+                        case UNBIND_ALL:
+                            executeUnbindAllAction(action);
+                            break;
+
+                        case RELEASE:
+                            executeReleaseAction(action);
+                            break;
+
+                        case BATCH:
+                            executeBatchAction(action);
+                            break;
+                    }
+
+                    action.setExecuted(true);
+                }
+            }
+            finally
+            {
+                action.complete();
+            }
+
+            cleanupReferences();
+        }
+        catch (Exception e)
+        {
+            bus.getErrorHandler().unhandledException("Exception in event thread", e);
+        }
+    }
+
+    /**
+     * Executes an entry of the ring buffer, that does not need an action object
+     * 
+     * @param type the type
+     * @param producer the producer
+     * @param parameter the parameter
+     * @param tags the tags
+     */
+    private void execute(Type type, Object producer, Object parameter, Tags tags)
+    {
+        try
+        {
+            switch (type)
+            {
+                case FIRE:
+                    fire(producer, parameter, tags, (Completion) null);
+                    break;
+
+                case BIND:
+                    bind(producer, parameter);
+                    break;
+
+                case UNBIND:
+                    unbind(producer, parameter);
+                    break;
+
+                case UNBIND_ALL:
+                    unbindAll(parameter);
+                    break;
+
+                case RELEASE:
+                    release(producer);
+                    break;
+
+                default:
+                    throw new IllegalArgumentException("Unsupported entry in ring buffer: " + type);
+            }
+
+            cleanupReferences();
+        }
+        catch (Exception e)
+        {
+            bus.getErrorHandler().unhandledException("Exception in event thread", e);
+        }
+    }
+
+    /**
+     * Returns the next delayed action, that is due. Avoids to touch the timing wheel if no delayed action is due.
+     * 
+     * @return the action, null if none is due
+     */
+    private Action pollDelayedAction()
+    {
+        if (dueActions == null)
+        {
+            if (delayedActionsChanged)
+            {
+                delayedActionsChanged = false;
+
+                updateNextDelayedNanos();
+            }
+
+            if ((!delayed) || (nextDelayedNanos - System.nanoTime() > 0))
+            {
+                return null;
+            }
+
+            dueActions = delayedActions.expire(System.nanoTime());
+
+            updateNextDelayedNanos();
+        }
+
+        Action action = dueActions;
+
+        if (action != null)
+        {
+            dueActions = action.next;
+            action.next = null;
+        }
+
+        return action;
+    }
+
+    private void updateNextDelayedNanos()
+    {
+        synchronized (delayedActions)
+        {
+            delayed = !delayedActions.isEmpty();
+
+            if (delayed)
+            {
+                nextDelayedNanos = delayedActions.getNextNanos();
+            }
+        }
+    }
+
+    private boolean isQueueEmpty()
+    {
+        return ((ring == null) || (ring.isEmpty())) && (actions.isEmpty());
+    }
+
+    /**
+     * Parks the thread until the next action gets enqueued or the next delayed action is due
+     */
+    private void waitForAction()
+    {
+        waiting = true;
+
+        try
+        {
+            if ((!isQueueEmpty()) || (delayedActionsChanged) || (dueActions != null))
+            {
+                return;
+            }
+
+            if (delayed)
+            {
+                LockSupport.parkNanos(this, nextDelayedNanos - System.nanoTime());
+            }
+            else
+            {
+                LockSupport.park(this);
+            }
+        }
+        finally
+        {
+            waiting = false;
+        }
+    }
+
+    /**
+     * Fires an event from the producer
+     * 
+     * @param action the action
+     */
+    private void executeFireAction(Action action)
+    {
+        fire(action.getProducer(), action.getParameter(), action.getTags(), action.getCompletion());
+    }
+
+    /**
+     * Fires an event from the producer to all consumers, that are bound to the producer in this lane. The event
+     * handlers, that get invoked, are counted by the completion. This method may be called by any thread, the registry
+     * of the lane supports concurrent readers.
+     * 
+     * @param producer the producer
+     * @param event the event
+     * @param tags the tags, null for no tags
+     * @param completion the completion, null if not tracked
+     */
+    public void fire(Object producer, Object event, Tags tags, Completion completion)
+    {
+        if (tags == null)
+        {
+            tags = Tags.NONE;
+        }
+
+        boolean foreign = Thread.currentThread() != thread;
+
+        if ((!foreign) && (completion == null) && (Completion.current() == null))
+        {
+            fire(producer, event, tags);
+            return;
+        }
+
+        EventBus previousBus = (foreign) ? EventBus.enter(bus) : null;
+        Completion previous = Completion.enter(completion);
+
+        try
+        {
+            fire(producer, event, tags);
+        }
+        finally
+        {
+            Completion.exit(previous);
+
+            if (foreign)
+            {
+                EventBus.exit(previousBus);
+            }
+        }
+    }
+
+    /**
+     * Fires an event from the producer to all consumers, that are bound to the producer in this lane.
+     * 
+     * @param producer the producer
+     * @param event the event
+     * @param tags the tags
+     */
+    private void fire(Object producer, Object event, Tags tags)
+    {
+        ProducerInfo[] chain;
+
+        if (!(producer instanceof Class))
+        {
+            ProducerInfo producerInfo = producerInfos.get(producer);
+
+            if (producerInfo != null)
+            {
+                producerInfo.fire(producer, event, tags);
+            }
+
+            chain = getClassChain(producer.getClass());
+        }
+        else
+        {
+            chain = getClassChain((Class<?>) producer);
+        }
+
+        for (int i = 0; i < chain.length; i += 1)
+        {
+            chain[i].fire(producer, event, tags);
+        }
+    }
+
+    /**
+     * Returns the {@link ProducerInfo}s of all classes in the type hierarchy of the specified class, that have
+     * consumers. The chain is cached, if the calling thread is the thread of the lane.
+     * 
+     * @param type the class
+     * @return the chain, never null
+     */
+    private ProducerInfo[] getClassChain(Class<?> type)
+    {
+        WeakIdentityMap<ProducerInfo[]> classChains = this.classChains;
+        ProducerInfo[] chain = classChains.get(type);
+
+        if (chain == null)
+        {
+            chain = resolveClassChain(type);
+
+            if (Thread.currentThread() == thread)
+            {
+                classChains.put(type, chain);
+            }
+        }
+
+        return chain;
+    }
+
+    private ProducerInfo[] resolveClassChain(Class<?> type)
+    {
+        if (classProducerInfos.isEmpty())
+        {
+            return NO_PRODUCER_INFOS;
+        }
+
+        Class<?>[] hierarchy = TypeHierarchy.of(type);
+        List<ProducerInfo> chain = new ArrayList<ProducerInfo>();
+
+        for (int i = 0; i < hierarchy.length; i += 1)
+        {
+            ProducerInfo producerInfo = classProducerInfos.get(hierarchy[i]);
+
+            if (producerInfo != null)
+            {
+                chain.add(producerInfo);
+            }
+        }
+
+        return (chain.isEmpty()) ? NO_PRODUCER_INFOS : chain.toArray(new ProducerInfo[chain.size()]);
+    }
+
+    /**
+     * Returns the registry for the producer, either the one for instances or the one for classes
+     * 
+     * @param producer the producer
+     * @return the registry
+     */
+    private WeakIdentityMap<ProducerInfo> registryOf(Object producer)
+    {
+        return (producer instanceof Class) ? classProducerInfos : producerInfos;
+    }
+
+    /**
+     * Removes the info of a producer from its registry, even if the producer has been garbage collected
+     * 
+     * @param producerInfo the info
+     */
+    private void removeProducerInfo(ProducerInfo producerInfo)
+    {
+        if ((!producerInfos.removeEntry(producerInfo.getEntry()))
+            && (classProducerInfos.removeEntry(producerInfo.getEntry())))
+        {
+            classChains = new WeakIdentityMap<ProducerInfo[]>();
+        }
+    }
+
+    /**
+     * Binds a consumer to a producer
+     * 
+     * @param action the action
+     */
+    private void executeBindAction(Action action)
+    {
+        bind(action.getProducer(), action.getParameter());
+    }
+
+    private void bind(Object producer, Object consumer)
+    {
+        // ensure validity
+        bus.getConsumerClassInfo(consumer.getClass());
+
+        WeakIdentityMap<ProducerInfo> registry = registryOf(producer);
+        ProducerInfo producerInfo = registry.get(producer);
+
+        if (producerInfo == null)
+        {
+            producerInfo = new ProducerInfo(bus);
+
+            registry.put(producer, producerInfo);
+            producerInfo.setEntry(registry.getEntry(producer));
+
+            if (registry == classProducerInfos)
+            {
+                classChains = new WeakIdentityMap<ProducerInfo[]>();
+            }
+        }
+
+        ConsumerInfo consumerInfo = consumerInfos.get(consumer);
+
+        if (consumerInfo == null)
+        {
+            consumerInfo = new ConsumerInfo();
+
+            consumerInfos.put(consumer, consumerInfo);
+            consumerInfo.setEntry(consumerInfos.getEntry(consumer));
+        }
+
+        if (!consumerInfo.contains(producerInfo))
+        {
+            producerInfo.add(consumerInfo.getEntry());
+            consumerInfo.add(producerInfo);
+        }
+    }
+
+    /**
+     * Unbinds a consumer form a producer
+     * 
+     * @param action the action
+     */
+    private void executeUnbindAction(Action action)
+    {
+        unbind(action.getProducer(), action.getParameter());
+    }
+
+    private void unbind(Object producer, Object consumer)
+    {
+        ConsumerInfo consumerInfo = consumerInfos.get(consumer);
+
+        if (consumerInfo == null)
+        {
+            return;
+        }
+
+        if (producer instanceof Class)
+        {
+            for (ProducerInfo producerInfo : consumerInfo)
+            {
+                Object current = producerInfo.getEntry().get();
+
+                if (current instanceof Class)
+                {
+                    if (((Class<?>) producer).isAssignableFrom((Class<?>) current))
+                    {
+                        unbind(producerInfo, consumerInfo);
+                    }
+                }
+                else if (((Class<?>) producer).isInstance(current))
+                {
+                    unbind(producerInfo, consumerInfo);
+                }
+            }
+        }
+        else
+        {
+            ProducerInfo producerInfo = producerInfos.get(producer);
+
+            if ((producerInfo != null) && (consumerInfo.contains(producerInfo)))
+            {
+                unbind(producerInfo, consumerInfo);
+            }
+        }
+
+        if (consumerInfo.isEmpty())
+        {
+            consumerInfos.removeEntry(consumerInfo.getEntry());
+        }
+    }
+
+    /**
+     * Removes the binding of the consumer from the producer. Removes the producer from the registry, if it has no more
+     * consumers.
+     * 
+     * @param producerInfo the info of the producer
+     * @param consumerInfo the info of the consumer
+     */
+    private void unbind(ProducerInfo producerInfo, ConsumerInfo consumerInfo)
+    {
+        producerInfo.remove(consumerInfo.getEntry());
+        consumerInfo.remove(producerInfo);
+
+        if (producerInfo.isEmpty())
+        {
+            removeProducerInfo(producerInfo);
+        }
+    }
+
+    /**
+     * Unbinds a consumer from all producers
+     * 
+     * @param action the action
+     */
+    private void executeUnbindAllAction(Action action)
+    {
+        unbindAll(action.getParameter());
+    }
+
+    private void unbindAll(Object consumer)
+    {
+        ConsumerInfo consumerInfo = consumerInfos.remove(consumer);
+
+        if (consumerInfo != null)
+        {
+            unbindAll(consumerInfo);
+        }
+    }
+
+    /**
+     * Removes the consumer from all producers, it is bound to. Touches the bound producers only.
+     * 
+     * @param consumerInfo the info of the consumer
+     */
+    private void unbindAll(ConsumerInfo consumerInfo)
+    {
+        for (ProducerInfo producerInfo : consumerInfo)
+        {
+            unbind(producerInfo, consumerInfo);
+        }
+    }
+
+    /**
+     * Unbinds all consumers from a producer
+     * 
+     * @param action the action
+     */
+    private void executeReleaseAction(Action action)
+    {
+        release(action.getProducer());
+    }
+
+    private void release(Object producer)
+    {
+        ProducerInfo producerInfo = registryOf(producer).get(producer);
+
+        if (producerInfo != null)
+        {
+            release(producerInfo);
+        }
+    }
+
+    /**
+     * Removes the producer from its registry and from all consumers, it is bound to. Touches the bound consumers
+     * only. The entry of a garbage collected producer may have been dropped from the registry already, when the
+     * registry has been rebuilt, but the consumers still know the producer.
+     * 
+     * @param producerInfo the info of the producer
+     */
+    @SuppressWarnings("unchecked")
+    private void release(ProducerInfo producerInfo)
+    {
+        removeProducerInfo(producerInfo);
+
+        for (Reference<?> reference : producerInfo)
+        {
+            ConsumerInfo consumerInfo = ((WeakIdentityMap.Entry<ConsumerInfo>) reference).getValue();
+
+            consumerInfo.remove(producerInfo);
+
+            if (consumerInfo.isEmpty())
+            {
+                consumerInfos.removeEntry(consumerInfo.getEntry());
+            }
+        }
+    }
+
+    /**
+     * Executes all actions of a batch. The producers and consumers, that are bound to a producer, are resolved only
+     * once for consecutive events of the same producer.
+     * 
+     * @param action the action
+     */
+    private void executeBatchAction(Action action)
+    {
+        Batch batch = (Batch) action.getParameter();
+        List<ProducerInfo> chain = new ArrayList<ProducerInfo>();
+        Object resolvedProducer = null;
+
+        for (int i = 0; i < batch.size(); i += 1)
+        {
+            Object producer = batch.getProducer(i);
+
+            try
+            {
+                switch (batch.getType(i))
+                {
+                    case FIRE:
+                        Action fireAction = batch.getAction(i);
+
+                        if (fireAction != null)
+                        {
+                            execute(fireAction);
+                            resolvedProducer = null;
+                            break;
+                        }
+
+                        if (producer != resolvedProducer)
+                        {
+                            chain.clear();
+                            resolve(producer, chain);
+                            resolvedProducer = producer;
+                        }
+
+                        for (ProducerInfo producerInfo : chain)
+                        {
+                            producerInfo.fire(producer, batch.getParameter(i), batch.getTags(i));
+                        }
+                        break;
+
+                    case BIND:
+                        bind(producer, batch.getParameter(i));
+                        resolvedProducer = null;
+                        break;
+
+                    case UNBIND:
+                        unbind(producer, batch.getParameter(i));
+                        resolvedProducer = null;
+                        break;
+
+                    case UNBIND_ALL:
+                        unbindAll(batch.getParameter(i));
+                        resolvedProducer = null;
+                        break;
+
+                    case RELEASE:
+                        release(producer);
+                        resolvedProducer = null;
+                        break;
+
+                    default:
+                        throw new IllegalArgumentException("Unsupported action in batch: " + batch.getType(i));
+                }
+            }
+            catch (Exception e)
+            {
+                bus.getErrorHandler().unhandledException("Exception in event thread", e);
+            }
+        }
+    }
+
+    /**
+     * Adds all {@link ProducerInfo}s, that are responsible for the producer, to the list
+     * 
+     * @param producer the producer
+     * @param chain the list
+     */
+    private void resolve(Object producer, List<ProducerInfo> chain)
+    {
+        ProducerInfo[] classChain;
+
+        if (!(producer instanceof Class))
+        {
+            ProducerInfo producerInfo = producerInfos.get(producer);
+
+            if (producerInfo != null)
+            {
+                chain.add(producerInfo);
+            }
+
+            classChain = getClassChain(producer.getClass());
+        }
+        else
+        {
+            classChain = getClassChain((Class<?>) producer);
+        }
+
+        for (int i = 0; i < classChain.length; i += 1)
+        {
+            chain.add(classChain[i]);
+        }
+    }
+
+    /**
+     * Removes producers and consumers, that have been garbage collected. A garbage collected producer is removed from
+     * the consumers, it has been bound to, only. A garbage collected consumer is removed from the producers, it has
+     * been bound to, only. Each of these producers replaces its snapshot once per call, no matter how many of its
+     * consumers have been collected.
+     */
+    @SuppressWarnings("unchecked")
+    private void cleanupReferences()
+    {
+        classChains.expungeStaleEntries();
+
+        Reference<?> reference = referenceQueue.poll();
+
+        if (reference == null)
+        {
+            return;
+        }
+
+        // the producers, that still list expunged consumers in their snapshots
+        List<ProducerInfo> expungingProducerInfos = new ArrayList<ProducerInfo>();
+
+        do
+        {
+            Object info = ((WeakIdentityMap.Entry<?>) reference).getValue();
+
+            if (info instanceof ProducerInfo)
+            {
+                release((ProducerInfo) info);
+                continue;
+            }
+
+            WeakIdentityMap.Entry<ConsumerInfo> entry = (WeakIdentityMap.Entry<ConsumerInfo>) reference;
+            ConsumerInfo consumerInfo = entry.getValue();
+
+            // the entry may have been dropped already, when the map has been rebuilt
+            consumerInfos.removeEntry(entry);
+
+            for (ProducerInfo producerInfo : consumerInfo)
+            {
+                if (producerInfo.expunge(entry))
+                {
+                    expungingProducerInfos.add(producerInfo);
+                }
+            }
+        }
+        while ((reference = referenceQueue.poll()) != null);
+
+        for (ProducerInfo producerInfo : expungingProducerInfos)
+        {
+            producerInfo.flush();
+
+            if (producerInfo.isEmpty())
+            {
+                removeProducerInfo(producerInfo);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Invokes the method of an event handler. Each {@link AbstractEventHandlerInfo} creates an invoker for its method
+ * when the consumer class gets scanned. Usually the invoker is a generated class, that calls the method directly, thus
+ * the invocation neither needs reflection nor an array for the parameters.
+ * 
+ * @author Manfred Hantschel
+ */
+public interface MethodInvoker
+{
+
+    /**
+     * Invokes the method with the parameters needed by the type of the method. Behaves like
+     * {@link java.lang.reflect.Method#invoke(Object, Object...)}.
+     * 
+     * @param producer the producer
+     * @param consumer the consumer
+     * @param event the event
+     * @param tags the tags
+     * @throws IllegalAccessException if the method is not accessible
+     * @throws InvocationTargetException if the method throws an exception
+     */
+    void invoke(Object producer, Object consumer, Object event, String[] tags) throws IllegalAccessException,
+        InvocationTargetException;
+
+}
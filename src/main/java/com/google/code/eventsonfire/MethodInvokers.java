@@ -0,0 +1,562 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.code.eventsonfire.AbstractEventHandlerInfo.MethodType;
+
+/**
+ * Creates the {@link MethodInvoker}s for the methods of event handlers. The invokers of the {@link EventHandlerIndex},
+ * that has been generated at compile time, are preferred. Otherwise, for each public method of a public class a class
+ * gets generated, that casts the parameters and calls the method directly. The JIT may inline such a call, and it does
+ * not need an array for the parameters. If the method is not accessible or the class cannot be defined (e.g. because
+ * of a security manager), the method gets invoked by reflection.
+ * <p>
+ * The generated classes of the methods of one consumer class are defined by one class loader, a child of the loader of
+ * the consumer class, thus they can be unloaded together with the consumer class. The loader caches the invoker of
+ * each method, thus scanning a class again, e.g. by another {@link EventBus}, does not define the classes again. The
+ * cache lives as long as the loader, that is as long as one of its invokers is in use.
+ * </p>
+ * 
+ * @author Manfred Hantschel
+ */
+final class MethodInvokers
+{
+
+    private static final String PACKAGE = "com/google/code/eventsonfire/generated/";
+
+    private static final AtomicInteger COUNT = new AtomicInteger();
+
+    /**
+     * The loaders of the generated classes by the classes declaring the methods
+     */
+    private static final ClassCache<InvokerClassLoader> LOADERS = new ClassCache<InvokerClassLoader>();
+
+    /**
+     * Invokes the method by reflection
+     */
+    private static final class ReflectiveMethodInvoker implements MethodInvoker
+    {
+        private final MethodType methodType;
+        private final Method method;
+
+        public ReflectiveMethodInvoker(MethodType methodType, Method method)
+        {
+            super();
+
+            this.methodType = methodType;
+            this.method = method;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void invoke(Object producer, Object consumer, Object event, String[] tags)
+            throws IllegalAccessException, InvocationTargetException
+        {
+            method.invoke(consumer, methodType.toParameters(producer, event, tags));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString()
+        {
+            return "Reflective invoker of " + method;
+        }
+    }
+
+    /**
+     * Defines the generated classes of the methods of one consumer class, that may access the classes of the consumer
+     * and the {@link MethodInvoker} interface. Caches the invoker of each method. The cache is guarded by the lock of
+     * the loader.
+     */
+    private static final class InvokerClassLoader extends ClassLoader
+    {
+        private final Map<Method, MethodInvoker> invokers = new HashMap<Method, MethodInvoker>();
+
+        public InvokerClassLoader(ClassLoader parent)
+        {
+            super(parent);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException
+        {
+            if (MethodInvoker.class.getName().equals(name))
+            {
+                return MethodInvoker.class;
+            }
+
+            return super.loadClass(name, resolve);
+        }
+
+        public Class<?> define(String name, byte[] bytes)
+        {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+
+        public MethodInvoker get(Method method)
+        {
+            return invokers.get(method);
+        }
+
+        public void put(Method method, MethodInvoker invoker)
+        {
+            invokers.put(method, invoker);
+        }
+    }
+
+    /**
+     * The constant pool of the generated class
+     */
+    private static final class ConstantPool
+    {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> indices = new HashMap<String, Integer>();
+
+        private int count = 1;
+
+        public ConstantPool()
+        {
+            super();
+        }
+
+        public int utf8(String value) throws IOException
+        {
+            Integer index = indices.get("U" + value);
+
+            if (index != null)
+            {
+                return index.intValue();
+            }
+
+            out.writeByte(1);
+            out.writeUTF(value);
+
+            return register("U" + value);
+        }
+
+        public int type(String internalName) throws IOException
+        {
+            Integer index = indices.get("C" + internalName);
+
+            if (index != null)
+            {
+                return index.intValue();
+            }
+
+            int nameIndex = utf8(internalName);
+
+            out.writeByte(7);
+            out.writeShort(nameIndex);
+
+            return register("C" + internalName);
+        }
+
+        public int methodRef(String owner, String name, String descriptor) throws IOException
+        {
+            int ownerIndex = type(owner);
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+
+            out.writeByte(12);
+            out.writeShort(nameIndex);
+            out.writeShort(descriptorIndex);
+
+            int nameAndTypeIndex = register("N" + owner + "." + name + descriptor);
+
+            out.writeByte(10);
+            out.writeShort(ownerIndex);
+            out.writeShort(nameAndTypeIndex);
+
+            return register("M" + owner + "." + name + descriptor);
+        }
+
+        private int register(String key)
+        {
+            int index = count;
+
+            indices.put(key, Integer.valueOf(index));
+            count += 1;
+
+            return index;
+        }
+
+        public void writeTo(DataOutputStream target) throws IOException
+        {
+            target.writeShort(count);
+            target.write(bytes.toByteArray());
+        }
+    }
+
+    private MethodInvokers()
+    {
+        super();
+    }
+
+    /**
+     * Creates the invoker for the method. Uses the invoker of the {@link EventHandlerIndex} generated at compile time,
+     * if available. Generates a class if possible, falls back to reflection otherwise. A generated invoker is created
+     * once per method, the type of the method is given by its parameters.
+     * 
+     * @param methodType the type of the method
+     * @param method the method
+     * @return the invoker
+     */
+    public static MethodInvoker create(MethodType methodType, Method method)
+    {
+        MethodInvoker invoker = EventHandlerIndexes.invokerOf(method);
+
+        if (invoker != null)
+        {
+            return invoker;
+        }
+
+        if (!isAccessible(method))
+        {
+            return reflective(methodType, method);
+        }
+
+        InvokerClassLoader loader = loaderOf(method.getDeclaringClass());
+
+        synchronized (loader)
+        {
+            invoker = loader.get(method);
+
+            if (invoker == null)
+            {
+                invoker = generate(loader, methodType, method);
+                loader.put(method, invoker);
+            }
+        }
+
+        return invoker;
+    }
+
+    /**
+     * Creates an invoker, that uses reflection
+     * 
+     * @param methodType the type of the method
+     * @param method the method
+     * @return the invoker
+     */
+    public static MethodInvoker reflective(MethodType methodType, Method method)
+    {
+        return new ReflectiveMethodInvoker(methodType, method);
+    }
+
+    /**
+     * Returns true if a generated class in another package may call the method and cast the parameters
+     */
+    private static boolean isAccessible(Method method)
+    {
+        Class<?> declaringClass = method.getDeclaringClass();
+
+        if ((!Modifier.isPublic(method.getModifiers())) || (Modifier.isStatic(method.getModifiers()))
+            || (!Modifier.isPublic(declaringClass.getModifiers())) || (declaringClass.isInterface())
+            || (declaringClass.getClassLoader() == null))
+        {
+            return false;
+        }
+
+        for (Class<?> parameterType : method.getParameterTypes())
+        {
+            while (parameterType.isArray())
+            {
+                parameterType = parameterType.getComponentType();
+            }
+
+            if ((parameterType.isPrimitive()) || (!Modifier.isPublic(parameterType.getModifiers())))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static InvokerClassLoader loaderOf(Class<?> type)
+    {
+        InvokerClassLoader loader = LOADERS.get(type);
+
+        if (loader == null)
+        {
+            loader = LOADERS.putIfAbsent(type, new InvokerClassLoader(type.getClassLoader()));
+        }
+
+        return loader;
+    }
+
+    /**
+     * Defines the class of the invoker by the loader, falls back to reflection if the class cannot be defined
+     */
+    private static MethodInvoker generate(InvokerClassLoader loader, MethodType methodType, Method method)
+    {
+        String name = PACKAGE + "MethodInvoker" + COUNT.incrementAndGet();
+
+        try
+        {
+            Class<?> type = loader.define(name.replace('/', '.'), generateClass(name, methodType, method));
+
+            return (MethodInvoker) type.newInstance();
+        }
+        catch (Exception e)
+        {
+            // fall back to reflection
+        }
+        catch (LinkageError e)
+        {
+            // fall back to reflection
+        }
+
+        return reflective(methodType, method);
+    }
+
+    /**
+     * Generates a class of the Java 5 class file format:
+     * 
+     * <pre>
+     * public final class MethodInvokerN implements MethodInvoker
+     * {
+     *     public void invoke(Object producer, Object consumer, Object event, String[] tags)
+     *     {
+     *         try
+     *         {
+     *             ((Consumer) consumer).method((Producer) producer, (Event) event, tags);
+     *         }
+     *         catch (Throwable e)
+     *         {
+     *             throw new InvocationTargetException(e);
+     *         }
+     *     }
+     * }
+     * </pre>
+     * 
+     * Only the call of the method itself is guarded, a failing cast throws a {@link ClassCastException}.
+     */
+    private static byte[] generateClass(String name, MethodType methodType, Method method) throws IOException
+    {
+        ConstantPool pool = new ConstantPool();
+        String owner = internalNameOf(method.getDeclaringClass());
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        int[] locals = localsOf(methodType);
+
+        int thisIndex = pool.type(name);
+        int superIndex = pool.type("java/lang/Object");
+        int interfaceIndex = pool.type(internalNameOf(MethodInvoker.class));
+        int constructorNameIndex = pool.utf8("<init>");
+        int constructorDescriptorIndex = pool.utf8("()V");
+        int superConstructorIndex = pool.methodRef("java/lang/Object", "<init>", "()V");
+        int invokeNameIndex = pool.utf8("invoke");
+        int invokeDescriptorIndex =
+            pool.utf8("(Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;[Ljava/lang/String;)V");
+        int codeIndex = pool.utf8("Code");
+        int ownerIndex = pool.type(owner);
+        int methodIndex = pool.methodRef(owner, method.getName(), descriptorOf(method));
+        int exceptionIndex = pool.type("java/lang/reflect/InvocationTargetException");
+        int exceptionConstructorIndex =
+            pool.methodRef("java/lang/reflect/InvocationTargetException", "<init>", "(Ljava/lang/Throwable;)V");
+
+        ByteArrayOutputStream codeBytes = new ByteArrayOutputStream();
+        DataOutputStream code = new DataOutputStream(codeBytes);
+
+        code.writeByte(0x2c); // aload_2 (consumer)
+        code.writeByte(0xc0); // checkcast
+        code.writeShort(ownerIndex);
+
+        for (int i = 0; i < locals.length; i += 1)
+        {
+            code.writeByte(0x19); // aload
+            code.writeByte(locals[i]);
+
+            if ((parameterTypes[i] != Object.class) && (parameterTypes[i] != String[].class))
+            {
+                code.writeByte(0xc0); // checkcast
+                code.writeShort(pool.type(internalNameOf(parameterTypes[i])));
+            }
+        }
+
+        int tryStart = code.size();
+
+        code.writeByte(0xb6); // invokevirtual
+        code.writeShort(methodIndex);
+
+        int tryEnd = code.size();
+
+        code.writeByte(0xb1); // return
+
+        int handler = code.size();
+
+        code.writeByte(0x3a); // astore
+        code.writeByte(5);
+        code.writeByte(0xbb); // new
+        code.writeShort(exceptionIndex);
+        code.writeByte(0x59); // dup
+        code.writeByte(0x19); // aload
+        code.writeByte(5);
+        code.writeByte(0xb7); // invokespecial
+        code.writeShort(exceptionConstructorIndex);
+        code.writeByte(0xbf); // athrow
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(0xcafebabe);
+        out.writeShort(0); // minor version
+        out.writeShort(49); // major version, Java 5
+        pool.writeTo(out);
+        out.writeShort(0x0001 | 0x0010 | 0x0020); // public final super
+        out.writeShort(thisIndex);
+        out.writeShort(superIndex);
+        out.writeShort(1);
+        out.writeShort(interfaceIndex);
+        out.writeShort(0); // fields
+        out.writeShort(2); // methods
+
+        // public <init>() { super(); }
+        out.writeShort(0x0001);
+        out.writeShort(constructorNameIndex);
+        out.writeShort(constructorDescriptorIndex);
+        out.writeShort(1);
+        writeCode(out, codeIndex, 1, 1, new byte[]{0x2a, (byte) 0xb7, (byte) (superConstructorIndex >>> 8),
+            (byte) superConstructorIndex, (byte) 0xb1}, null);
+
+        // public void invoke(Object producer, Object consumer, Object event, String[] tags) {...}
+        out.writeShort(0x0001);
+        out.writeShort(invokeNameIndex);
+        out.writeShort(invokeDescriptorIndex);
+        out.writeShort(1);
+        writeCode(out, codeIndex, Math.max(locals.length + 1, 3), 6, codeBytes.toByteArray(), new int[]{tryStart,
+            tryEnd, handler});
+
+        out.writeShort(0); // attributes
+        out.flush();
+
+        return bytes.toByteArray();
+    }
+
+    private static void writeCode(DataOutputStream out, int codeIndex, int maxStack, int maxLocals, byte[] code,
+        int[] handler) throws IOException
+    {
+        out.writeShort(codeIndex);
+        out.writeInt(12 + code.length + ((handler != null) ? 8 : 0));
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+
+        if (handler != null)
+        {
+            out.writeShort(1);
+            out.writeShort(handler[0]);
+            out.writeShort(handler[1]);
+            out.writeShort(handler[2]);
+            out.writeShort(0); // any throwable
+        }
+        else
+        {
+            out.writeShort(0);
+        }
+
+        out.writeShort(0); // attributes
+    }
+
+    /**
+     * Returns the local variables of the invoke method (1 = producer, 3 = event, 4 = tags), that are passed to the
+     * method
+     */
+    private static int[] localsOf(MethodType methodType)
+    {
+        switch (methodType)
+        {
+            case NO_PARAMETERS:
+                return new int[]{};
+
+            case EVENT:
+                return new int[]{3};
+
+            case TAGS:
+                return new int[]{4};
+
+            case EVENT_TAGS:
+                return new int[]{3, 4};
+
+            case PROVIDER_EVENT:
+                return new int[]{1, 3};
+
+            case PROVIDER_EVENT_TAGS:
+                return new int[]{1, 3, 4};
+
+            default:
+                throw new IllegalArgumentException("Unsupported method type: " + methodType);
+        }
+    }
+
+    /**
+     * Returns the internal name of the class, for arrays the descriptor
+     */
+    private static String internalNameOf(Class<?> type)
+    {
+        return type.getName().replace('.', '/');
+    }
+
+    private static String descriptorOf(Class<?> type)
+    {
+        if (type.isArray())
+        {
+            return type.getName().replace('.', '/');
+        }
+
+        if (type == Void.TYPE)
+        {
+            return "V";
+        }
+
+        return "L" + type.getName().replace('.', '/') + ";";
+    }
+
+    private static String descriptorOf(Method method)
+    {
+        StringBuilder builder = new StringBuilder("(");
+
+        for (Class<?> parameterType : method.getParameterTypes())
+        {
+            builder.append(descriptorOf(parameterType));
+        }
+
+        return builder.append(")").append(descriptorOf(method.getReturnType())).toString();
+    }
+
+}
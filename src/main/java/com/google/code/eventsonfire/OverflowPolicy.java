@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+/**
+ * The policies, that are applied if the queue of pending events is full.
+ * 
+ * @see Events#setCapacity(int, OverflowPolicy)
+ * @author Manfred Hantschel
+ */
+public enum OverflowPolicy
+{
+
+    /**
+     * Blocks the firing thread until there is space in the queue. The threads of the events never block, they always
+     * add the event to the queue.
+     */
+    BLOCK,
+
+    /**
+     * Rejects the event. Firing an event without reference fails with a
+     * {@link java.util.concurrent.RejectedExecutionException}, the {@link EventReference} of an event fired with a
+     * delay reports the rejection instead.
+     */
+    FAIL,
+
+    /**
+     * Drops the oldest pending event to make space for the new one. The {@link EventReference} of the old event reports
+     * that it has been dropped.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Drops the new event. The {@link EventReference} of the new event reports that it has been dropped.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Fires the event synchronously by the firing thread, like {@link Events#fireNow(Object, Object, String...)}.
+     */
+    CALLER_RUNS
+
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.code.eventsonfire.Action.Type;
+
+/**
+ * <p>
+ * A bounded queue of preallocated, reusable slots. Any number of threads may offer entries, only one thread (the
+ * thread of the {@link Lane}) consumes them. Offering and consuming an entry does not allocate any object.
+ * </p>
+ * <p>
+ * A producer claims the next position by a compare-and-set on the claim counter, as long as the slot at that position
+ * has been consumed, fills the slot and publishes it by writing the sequence of the slot. The consumer waits for the
+ * sequence, copies the entry and releases the slot for the next lap.
+ * </p>
+ * 
+ * @author Manfred Hantschel
+ */
+class RingBuffer
+{
+
+    /**
+     * A slot of the ring buffer. An entry either consists of a type, a producer, a parameter and the tags, or of an
+     * {@link Action}.
+     */
+    static final class Slot
+    {
+        volatile long sequence;
+
+        Type type;
+        Object producer;
+        Object parameter;
+        Tags tags;
+        Action action;
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+
+    /**
+     * The next position to claim
+     */
+    private final AtomicLong claimed;
+
+    /**
+     * The next position to consume, all positions before have been released
+     */
+    private volatile long consumed = 0;
+
+    /**
+     * Creates the ring buffer.
+     * 
+     * @param size the number of slots, a power of two, at least 2
+     * @throws IllegalArgumentException if the size is not a power of two
+     */
+    public RingBuffer(int size) throws IllegalArgumentException
+    {
+        super();
+
+        if ((size < 2) || ((size & (size - 1)) != 0))
+        {
+            throw new IllegalArgumentException("Size of ring buffer must be a power of two: " + size);
+        }
+
+        slots = new Slot[size];
+        mask = size - 1;
+        claimed = new AtomicLong();
+
+        for (int i = 0; i < size; i += 1)
+        {
+            slots[i] = new Slot();
+            slots[i].sequence = i;
+        }
+    }
+
+    /**
+     * Returns the number of slots
+     * 
+     * @return the number of slots
+     */
+    public int size()
+    {
+        return slots.length;
+    }
+
+    /**
+     * Adds an entry to the ring buffer. May be called by any thread.
+     * 
+     * @param type the type of the entry
+     * @param producer the producer
+     * @param parameter the parameter
+     * @param tags the tags
+     * @param action the action, null if the entry consists of the type, the producer, the parameter and the tags
+     * @return true if added, false if the ring buffer is full
+     */
+    public boolean offer(Type type, Object producer, Object parameter, Tags tags, Action action)
+    {
+        long position;
+
+        do
+        {
+            position = claimed.get();
+
+            if (position - consumed >= slots.length)
+            {
+                return false;
+            }
+        }
+        while (!claimed.compareAndSet(position, position + 1));
+
+        Slot slot = slots[(int) position & mask];
+
+        slot.type = type;
+        slot.producer = producer;
+        slot.parameter = parameter;
+        slot.tags = tags;
+        slot.action = action;
+
+        // publish
+        slot.sequence = position + 1;
+
+        return true;
+    }
+
+    /**
+     * Returns the next published slot. Must only be called by the consumer.
+     * 
+     * @return the slot, null if the next slot has not been published yet
+     */
+    public Slot peek()
+    {
+        long position = consumed;
+        Slot slot = slots[(int) position & mask];
+
+        return (slot.sequence == position + 1) ? slot : null;
+    }
+
+    /**
+     * Clears the slot, that has been returned by {@link #peek()}, and releases it for the producers. Must only be
+     * called by the consumer.
+     * 
+     * @param slot the slot
+     */
+    public void release(Slot slot)
+    {
+        long position = consumed;
+
+        slot.type = null;
+        slot.producer = null;
+        slot.parameter = null;
+        slot.tags = null;
+        slot.action = null;
+
+        slot.sequence = position + slots.length;
+        consumed = position + 1;
+    }
+
+    /**
+     * Returns true if there is no published slot. Must only be called by the consumer.
+     * 
+     * @return true if empty
+     */
+    public boolean isEmpty()
+    {
+        return peek() == null;
+    }
+
+}
@@ -0,0 +1,531 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.lang.ref.Reference;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * An immutable snapshot of the consumers of a producer, including the resolved infos of their classes. Any thread may
+ * fire events using the snapshot without locking, the {@link ProducerInfo} replaces it with each modification. The
+ * snapshot is the only store of the consumers of a producer.
+ * <p>
+ * The references to the consumers and the infos of their classes are held in two arrays in the order of binding, thus
+ * a binding costs two array elements and no object of its own. The consumers are indexed by the tags, their event
+ * handlers require. A consumer, whose event handlers all require any of some tags, is only listed for these tags. All
+ * other consumers are visited on each event. Firing an event with tags visits the consumers, that may accept at least
+ * one of the tags, only. Patterns are listed by their numbers, too, the tags of the event include the numbers of all
+ * matching patterns.
+ * <p>
+ * The lists hold the positions of the consumers in the arrays, sorted ascending. Firing an event merges the positions
+ * of the unconstrained consumers with the lists of the tags, thus the consumers are notified in the order of binding,
+ * each of them once, as if there was no index at all. As long as no consumer requires tags, there are no lists at all.
+ * <p>
+ * The arrays may be larger than the number of consumers. Adding a consumer writes to the first unused element and
+ * shares the arrays with the new snapshot, the previous snapshots never look at this element. Thus binding many
+ * consumers to one producer does not copy the arrays each time. Only the newest snapshot may be modified.
+ * 
+ * @author Manfred Hantschel
+ */
+final class TagRoutes implements Iterable<Reference<?>>
+{
+
+    private static final Reference<?>[] NO_CONSUMER_REFERENCES = {};
+    private static final ConsumerClassInfo[] NO_CONSUMER_CLASS_INFOS = {};
+    private static final int[] NO_POSITIONS = {};
+    private static final int[][] NO_TAG_ROUTES = {};
+
+    /**
+     * The snapshot without any consumers
+     */
+    public static final TagRoutes EMPTY = new TagRoutes(NO_CONSUMER_REFERENCES, NO_CONSUMER_CLASS_INFOS, 0, null, 0,
+        NO_TAG_ROUTES);
+
+    /**
+     * The references to the consumers and the infos of their classes in the order of binding. Only the first elements
+     * are used.
+     */
+    private final Reference<?>[] consumerReferences;
+    private final ConsumerClassInfo[] consumerClassInfos;
+    private final int count;
+
+    /**
+     * The positions of the consumers, that get visited on each event, null if all consumers get visited. Only the first
+     * elements are used.
+     */
+    private final int[] unconstrained;
+    private final int unconstrainedCount;
+
+    /**
+     * The positions of the consumers, that require tags, by the number of the tag
+     */
+    private final int[][] routes;
+
+    private TagRoutes(Reference<?>[] consumerReferences, ConsumerClassInfo[] consumerClassInfos, int count,
+        int[] unconstrained, int unconstrainedCount, int[][] routes)
+    {
+        super();
+
+        this.consumerReferences = consumerReferences;
+        this.consumerClassInfos = consumerClassInfos;
+        this.count = count;
+        this.unconstrained = unconstrained;
+        this.unconstrainedCount = unconstrainedCount;
+        this.routes = routes;
+    }
+
+    /**
+     * Returns a snapshot with the additional consumer. Must only be called on the newest snapshot. The consumer must
+     * not be contained already.
+     * 
+     * @param consumerReference the reference to the consumer
+     * @param consumerClassInfo the info of the class of the consumer
+     * @return the new snapshot
+     */
+    public TagRoutes with(Reference<?> consumerReference, ConsumerClassInfo consumerClassInfo)
+    {
+        Reference<?>[] consumerReferences = this.consumerReferences;
+        ConsumerClassInfo[] consumerClassInfos = this.consumerClassInfos;
+
+        if (count == consumerReferences.length)
+        {
+            int capacity = grow(count);
+
+            consumerReferences = new Reference<?>[capacity];
+            System.arraycopy(this.consumerReferences, 0, consumerReferences, 0, count);
+            consumerClassInfos = new ConsumerClassInfo[capacity];
+            System.arraycopy(this.consumerClassInfos, 0, consumerClassInfos, 0, count);
+        }
+
+        int position = count;
+
+        consumerReferences[position] = consumerReference;
+        consumerClassInfos[position] = consumerClassInfo;
+
+        long[] requiredTagBits = consumerClassInfo.getRequiredTagBits();
+        int length = (requiredTagBits != null) ? lengthOf(requiredTagBits) : 0;
+
+        if (length == 0)
+        {
+            if (unconstrained == null)
+            {
+                return new TagRoutes(consumerReferences, consumerClassInfos, position + 1, null, 0, routes);
+            }
+
+            int[] unconstrained = this.unconstrained;
+
+            if (unconstrainedCount == unconstrained.length)
+            {
+                unconstrained = new int[grow(unconstrainedCount)];
+                System.arraycopy(this.unconstrained, 0, unconstrained, 0, unconstrainedCount);
+            }
+
+            unconstrained[unconstrainedCount] = position;
+
+            return new TagRoutes(consumerReferences, consumerClassInfos, position + 1, unconstrained,
+                unconstrainedCount + 1, routes);
+        }
+
+        int[] unconstrained = this.unconstrained;
+        int unconstrainedCount = this.unconstrainedCount;
+
+        if (unconstrained == null)
+        {
+            // up to now, all consumers have been unconstrained
+            unconstrained = new int[position];
+            unconstrainedCount = position;
+
+            for (int i = 0; i < position; i += 1)
+            {
+                unconstrained[i] = i;
+            }
+        }
+
+        int[][] routes = new int[Math.max(this.routes.length, length)][];
+
+        System.arraycopy(this.routes, 0, routes, 0, this.routes.length);
+
+        for (int id = 0; id < length; id += 1)
+        {
+            if (Tags.isSet(requiredTagBits, id))
+            {
+                int[] list = routes[id];
+
+                if (list == null)
+                {
+                    routes[id] = new int[]{position};
+                }
+                else
+                {
+                    routes[id] = new int[list.length + 1];
+                    System.arraycopy(list, 0, routes[id], 0, list.length);
+                    routes[id][list.length] = position;
+                }
+            }
+        }
+
+        return new TagRoutes(consumerReferences, consumerClassInfos, position + 1, unconstrained, unconstrainedCount,
+            routes);
+    }
+
+    /**
+     * Grows exactly for the usual few consumers, by half for the large ones
+     */
+    private static int grow(int count)
+    {
+        return (count < 8) ? count + 1 : count + (count >> 1);
+    }
+
+    /**
+     * Returns a snapshot without the consumer
+     * 
+     * @param consumerReference the reference to the consumer
+     * @return the new snapshot, this one if the consumer is not contained
+     */
+    public TagRoutes without(Reference<?> consumerReference)
+    {
+        for (int i = 0; i < count; i += 1)
+        {
+            if (consumerReferences[i] == consumerReference)
+            {
+                boolean[] removed = new boolean[count];
+
+                removed[i] = true;
+
+                return without(removed, 1);
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Returns a snapshot without all of the consumers. Copies the snapshot once, no matter how many consumers get
+     * removed.
+     * 
+     * @param consumerReferences the references to the consumers
+     * @return the new snapshot, this one if none of the consumers is contained
+     */
+    public TagRoutes without(IdentitySet<Reference<?>> consumerReferences)
+    {
+        boolean[] removed = new boolean[count];
+        int removedCount = 0;
+
+        for (int i = 0; i < count; i += 1)
+        {
+            if (consumerReferences.contains(this.consumerReferences[i]))
+            {
+                removed[i] = true;
+                removedCount += 1;
+            }
+        }
+
+        return without(removed, removedCount);
+    }
+
+    /**
+     * Returns a snapshot without the consumers at the marked positions. The lists get renumbered.
+     */
+    private TagRoutes without(boolean[] removed, int removedCount)
+    {
+        if (removedCount == 0)
+        {
+            return this;
+        }
+
+        int remaining = count - removedCount;
+
+        if (remaining == 0)
+        {
+            return EMPTY;
+        }
+
+        Reference<?>[] consumerReferences = new Reference<?>[remaining];
+        ConsumerClassInfo[] consumerClassInfos = new ConsumerClassInfo[remaining];
+        int[] positions = new int[count];
+        int index = 0;
+
+        for (int i = 0; i < count; i += 1)
+        {
+            if (removed[i])
+            {
+                positions[i] = -1;
+            }
+            else
+            {
+                consumerReferences[index] = this.consumerReferences[i];
+                consumerClassInfos[index] = this.consumerClassInfos[i];
+                positions[i] = index;
+                index += 1;
+            }
+        }
+
+        int[][] routes = new int[this.routes.length][];
+        int length = 0;
+
+        for (int id = 0; id < routes.length; id += 1)
+        {
+            if (this.routes[id] != null)
+            {
+                int[] list = renumber(this.routes[id], this.routes[id].length, positions);
+
+                if (list.length > 0)
+                {
+                    routes[id] = list;
+                    length = id + 1;
+                }
+            }
+        }
+
+        if (length == 0)
+        {
+            return new TagRoutes(consumerReferences, consumerClassInfos, remaining, null, 0, NO_TAG_ROUTES);
+        }
+
+        if (length < routes.length)
+        {
+            int[][] trimmed = new int[length][];
+
+            System.arraycopy(routes, 0, trimmed, 0, length);
+            routes = trimmed;
+        }
+
+        int[] unconstrained = renumber(this.unconstrained, unconstrainedCount, positions);
+
+        return new TagRoutes(consumerReferences, consumerClassInfos, remaining, unconstrained, unconstrained.length,
+            routes);
+    }
+
+    /**
+     * Returns the new positions of the first elements of the list, without the removed ones
+     */
+    private static int[] renumber(int[] list, int length, int[] positions)
+    {
+        int kept = 0;
+
+        for (int i = 0; i < length; i += 1)
+        {
+            if (positions[list[i]] >= 0)
+            {
+                kept += 1;
+            }
+        }
+
+        if (kept == 0)
+        {
+            return NO_POSITIONS;
+        }
+
+        int[] result = new int[kept];
+        int index = 0;
+
+        for (int i = 0; i < length; i += 1)
+        {
+            if (positions[list[i]] >= 0)
+            {
+                result[index] = positions[list[i]];
+                index += 1;
+            }
+        }
+
+        return result;
+    }
+
+    private static int lengthOf(long[] bits)
+    {
+        for (int index = bits.length - 1; index >= 0; index -= 1)
+        {
+            if (bits[index] != 0)
+            {
+                return (index << 6) + 64 - Long.numberOfLeadingZeros(bits[index]);
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Returns true, if the snapshot contains the consumer. Visits all consumers.
+     * 
+     * @param consumerReference the reference to the consumer
+     * @return true if contained
+     */
+    public boolean contains(Reference<?> consumerReference)
+    {
+        for (int i = 0; i < count; i += 1)
+        {
+            if (consumerReferences[i] == consumerReference)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns true if the snapshot contains no consumers
+     * 
+     * @return true if empty
+     */
+    public boolean isEmpty()
+    {
+        return count == 0;
+    }
+
+    /**
+     * Returns an iterator over the references to the consumers in the order of binding. The snapshot is immutable, thus
+     * the producer may be modified while iterating.
+     * 
+     * @return the iterator
+     */
+    public Iterator<Reference<?>> iterator()
+    {
+        return Arrays.asList(consumerReferences).subList(0, count).iterator();
+    }
+
+    /**
+     * Fires the event to all consumers, that may accept the tags, in the order of binding
+     * 
+     * @param producer the producer
+     * @param event the event
+     * @param tags the tags
+     */
+    public void fire(Object producer, Object event, Tags tags)
+    {
+        if (unconstrained == null)
+        {
+            for (int i = 0; i < count; i += 1)
+            {
+                fire(i, producer, event, tags);
+            }
+
+            return;
+        }
+
+        int[] tagged = routesOf(tags.matchingBits());
+        int i = 0;
+        int j = 0;
+
+        // a consumer is either unconstrained or listed by tags, never both
+        while ((i < unconstrainedCount) || (j < tagged.length))
+        {
+            if ((j == tagged.length) || ((i < unconstrainedCount) && (unconstrained[i] < tagged[j])))
+            {
+                fire(unconstrained[i], producer, event, tags);
+                i += 1;
+            }
+            else
+            {
+                fire(tagged[j], producer, event, tags);
+                j += 1;
+            }
+        }
+    }
+
+    private void fire(int position, Object producer, Object event, Tags tags)
+    {
+        Object consumer = consumerReferences[position].get();
+
+        if (consumer != null)
+        {
+            consumerClassInfos[position].invoke(producer, consumer, event, tags);
+        }
+    }
+
+    /**
+     * Returns the positions of the consumers listed by any of the numbers, in the order of binding. The list of a
+     * single number is returned as it is, the lists of more numbers get merged.
+     * 
+     * @param bits the numbers of the tags and the matching patterns
+     * @return the positions, each one once
+     */
+    private int[] routesOf(long[] bits)
+    {
+        int[] result = NO_POSITIONS;
+        int length = Math.min(bits.length, (routes.length + 63) >>> 6);
+
+        for (int index = 0; index < length; index += 1)
+        {
+            long word = bits[index];
+
+            while (word != 0)
+            {
+                int id = (index << 6) + Long.numberOfTrailingZeros(word);
+
+                word &= word - 1;
+
+                if ((id >= routes.length) || (routes[id] == null))
+                {
+                    continue;
+                }
+
+                result = (result.length == 0) ? routes[id] : merge(result, routes[id]);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Merges the sorted lists. A position contained in both lists is taken once.
+     */
+    private static int[] merge(int[] left, int[] right)
+    {
+        int[] result = new int[left.length + right.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+
+        while ((i < left.length) || (j < right.length))
+        {
+            if ((j == right.length) || ((i < left.length) && (left[i] < right[j])))
+            {
+                result[count] = left[i];
+                i += 1;
+            }
+            else if ((i == left.length) || (right[j] < left[i]))
+            {
+                result[count] = right[j];
+                j += 1;
+            }
+            else
+            {
+                result[count] = left[i];
+                i += 1;
+                j += 1;
+            }
+
+            count += 1;
+        }
+
+        if (count < result.length)
+        {
+            int[] trimmed = new int[count];
+
+            System.arraycopy(result, 0, trimmed, 0, count);
+            result = trimmed;
+        }
+
+        return result;
+    }
+
+}
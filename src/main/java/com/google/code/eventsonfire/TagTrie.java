@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A trie of all tag patterns used by event handlers. Tags are named hierarchically, the segments are separated by dots
+ * (e.g. "order.cancelled.byUser"). A segment of a pattern may be a wildcard: "*" matches exactly one segment, "**"
+ * matches one or more segments. Thus "order.*" matches "order.created", but not "order.cancelled.byUser", while
+ * "order.**" matches both, but not "order" itself. The patterns are interned like all other tags, a single traversal
+ * of the trie per tag resolves the numbers of all matching patterns.
+ * 
+ * Patterns are added while holding the lock of the trie, the trie can be traversed concurrently at any time. The
+ * version changes with each added pattern.
+ * 
+ * @author Manfred Hantschel
+ */
+final class TagTrie
+{
+
+    private static final String SEPARATOR = "\\.";
+    private static final String ANY_SEGMENT = "*";
+    private static final String ANY_SEGMENTS = "**";
+
+    private static final long[] NO_BITS = {};
+
+    /**
+     * A node of the trie, represents the segments from the root up to the node
+     */
+    private static final class Node
+    {
+        private final ConcurrentMap<String, Node> children = new ConcurrentHashMap<String, Node>();
+
+        private volatile Node anySegment;
+        private volatile Node anySegments;
+        private volatile long[] patternBits = NO_BITS;
+
+        public Node()
+        {
+            super();
+        }
+    }
+
+    private final Node root;
+
+    private volatile int version;
+
+    public TagTrie()
+    {
+        super();
+
+        root = new Node();
+    }
+
+    /**
+     * Returns true if the name contains any wildcard segment
+     * 
+     * @param name the name of the tag
+     * @return true if a pattern
+     */
+    public static boolean isPattern(String name)
+    {
+        for (String segment : name.split(SEPARATOR, -1))
+        {
+            if ((ANY_SEGMENT.equals(segment)) || (ANY_SEGMENTS.equals(segment)))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the version of the trie, changes with each added pattern. Zero, if there are no patterns at all.
+     * 
+     * @return the version
+     */
+    public int getVersion()
+    {
+        return version;
+    }
+
+    /**
+     * Adds the pattern
+     * 
+     * @param pattern the pattern
+     * @param id the number of the pattern
+     */
+    public synchronized void add(String pattern, int id)
+    {
+        Node node = root;
+
+        for (String segment : pattern.split(SEPARATOR, -1))
+        {
+            Node child;
+
+            if (ANY_SEGMENT.equals(segment))
+            {
+                child = node.anySegment;
+
+                if (child == null)
+                {
+                    child = new Node();
+                    node.anySegment = child;
+                }
+            }
+            else if (ANY_SEGMENTS.equals(segment))
+            {
+                child = node.anySegments;
+
+                if (child == null)
+                {
+                    child = new Node();
+                    node.anySegments = child;
+                }
+            }
+            else
+            {
+                child = node.children.get(segment);
+
+                if (child == null)
+                {
+                    child = new Node();
+                    node.children.put(segment, child);
+                }
+            }
+
+            node = child;
+        }
+
+        if (!Tags.isSet(node.patternBits, id))
+        {
+            node.patternBits = Tags.union(node.patternBits, Tags.bitsOf(id));
+            version += 1;
+        }
+    }
+
+    /**
+     * Adds the numbers of all patterns matching the name to the bitset
+     * 
+     * @param name the name of the tag
+     * @param bits the bitset, will not be modified
+     * @return the bitset with the numbers of the matching patterns, the passed bitset if no pattern matches
+     */
+    public long[] match(String name, long[] bits)
+    {
+        return match(root, name.split(SEPARATOR, -1), 0, bits);
+    }
+
+    private static long[] match(Node node, String[] segments, int index, long[] bits)
+    {
+        if (index == segments.length)
+        {
+            long[] patternBits = node.patternBits;
+
+            return (patternBits.length > 0) ? Tags.union(bits, patternBits) : bits;
+        }
+
+        Node child = node.children.get(segments[index]);
+
+        if (child != null)
+        {
+            bits = match(child, segments, index + 1, bits);
+        }
+
+        child = node.anySegment;
+
+        if (child != null)
+        {
+            bits = match(child, segments, index + 1, bits);
+        }
+
+        child = node.anySegments;
+
+        if (child != null)
+        {
+            for (int i = index + 1; i <= segments.length; i += 1)
+            {
+                bits = match(child, segments, i, bits);
+            }
+        }
+
+        return bits;
+    }
+
+}
@@ -0,0 +1,492 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An immutable set of tags, that can be passed to {@link Events#fire(Object, Object, Tags)} instead of an array of
+ * strings. Each tag, that is declared by an event handler, is interned to a small number, a set of tags is a bitset.
+ * Matching the tags of an event against the tags of an event handler needs one or two bitwise operations per 64
+ * declared tags. Create the tags once and reuse them, firing events with the same tags does not create any object then.
+ * 
+ * Tags of events are never interned, a tag, that is not declared by any event handler, has no number and does not
+ * match any event handler. Thus the number of interned tags is bounded by the tags of the event handlers, no matter
+ * how many distinct tags are fired.
+ * 
+ * Event handlers may use patterns with wildcard segments (e.g. "order.*" or "order.**", see {@link TagTrie}). If any
+ * pattern is known, the tags additionally match the numbers of all matching patterns. The numbers are resolved once
+ * per instance and resolved again only if event handlers declare new tags or patterns.
+ * 
+ * @author Manfred Hantschel
+ */
+public final class Tags
+{
+
+    private static final ConcurrentMap<String, Integer> IDS = new ConcurrentHashMap<String, Integer>();
+
+    /**
+     * Incremented each time a tag gets interned, guarded by the map of numbers for writing
+     */
+    private static volatile int version = 0;
+
+    private static final long[] NO_BITS = {};
+
+    private static final TagTrie PATTERNS = new TagTrie();
+
+    /**
+     * No tags at all
+     */
+    public static final Tags NONE = new Tags(new String[0]);
+
+    /**
+     * Returns the tags for the specified names. The names are copied. Null names are kept, but never match any tag of
+     * an event handler.
+     * 
+     * @param names the names of the tags, may be null
+     * @return the tags
+     */
+    public static Tags of(String... names)
+    {
+        if ((names == null) || (names.length == 0))
+        {
+            return NONE;
+        }
+
+        return new Tags(names.clone());
+    }
+
+    /**
+     * Returns the tags for the specified names without copying them
+     * 
+     * @param names the names of the tags, may be null
+     * @return the tags
+     */
+    static Tags wrap(String[] names)
+    {
+        if ((names == null) || (names.length == 0))
+        {
+            return NONE;
+        }
+
+        return new Tags(names);
+    }
+
+    /**
+     * Returns the bitset for the names of the tags of an event handler. The names get interned, patterns get added to
+     * the trie of patterns.
+     * 
+     * @param names the names, may be null
+     * @return the bitset, null if the names are null
+     */
+    static long[] bitsOf(Collection<String> names)
+    {
+        if (names == null)
+        {
+            return null;
+        }
+
+        long[] bits = NO_BITS;
+
+        for (String name : names)
+        {
+            if (name == null)
+            {
+                continue;
+            }
+
+            int id = intern(name);
+
+            if (TagTrie.isPattern(name))
+            {
+                PATTERNS.add(name, id);
+            }
+
+            int index = id >>> 6;
+
+            if (index >= bits.length)
+            {
+                long[] grownBits = new long[index + 1];
+
+                System.arraycopy(bits, 0, grownBits, 0, bits.length);
+                bits = grownBits;
+            }
+
+            bits[index] |= 1L << id;
+        }
+
+        return bits;
+    }
+
+    /**
+     * Returns the bitset with the single number
+     * 
+     * @param id the number of the tag
+     * @return the bitset
+     */
+    static long[] bitsOf(int id)
+    {
+        long[] bits = new long[(id >>> 6) + 1];
+
+        bits[id >>> 6] = 1L << id;
+
+        return bits;
+    }
+
+    /**
+     * Returns the number of the tag of an event handler, a new one, if the tag is not known, yet
+     * 
+     * @param name the name of the tag
+     * @return the number
+     */
+    private static int intern(String name)
+    {
+        Integer id = IDS.get(name);
+
+        if (id == null)
+        {
+            synchronized (IDS)
+            {
+                id = IDS.get(name);
+
+                if (id == null)
+                {
+                    id = Integer.valueOf(IDS.size());
+
+                    IDS.put(name, id);
+                    version += 1;
+                }
+            }
+        }
+
+        return id.intValue();
+    }
+
+    /**
+     * Returns the number of the tag without interning it
+     * 
+     * @param name the name of the tag
+     * @return the number, -1 if no event handler declares the tag
+     */
+    private static int idOf(String name)
+    {
+        Integer id = IDS.get(name);
+
+        return (id != null) ? id.intValue() : -1;
+    }
+
+    /**
+     * Returns the number of interned tags
+     * 
+     * @return the number of interned tags
+     */
+    static int getNumberOfTags()
+    {
+        return IDS.size();
+    }
+
+    /**
+     * Returns true if the bit of the tag is set in the bitset
+     * 
+     * @param bits the bitset
+     * @param id the number of the tag
+     * @return true if set
+     */
+    static boolean isSet(long[] bits, int id)
+    {
+        int index = id >>> 6;
+
+        return (index < bits.length) && ((bits[index] & (1L << id)) != 0);
+    }
+
+    /**
+     * Returns the union of the bitsets
+     * 
+     * @param bits the bitset
+     * @param otherBits the other bitset
+     * @return the union, a new bitset
+     */
+    static long[] union(long[] bits, long[] otherBits)
+    {
+        long[] result = new long[Math.max(bits.length, otherBits.length)];
+
+        for (int i = 0; i < result.length; i += 1)
+        {
+            result[i] = ((i < bits.length) ? bits[i] : 0) | ((i < otherBits.length) ? otherBits[i] : 0);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns true if the bitsets have any number in common
+     * 
+     * @param bits the bitset
+     * @param otherBits the other bitset
+     * @return true if intersecting
+     */
+    static boolean isIntersecting(long[] bits, long[] otherBits)
+    {
+        int length = Math.min(bits.length, otherBits.length);
+
+        for (int i = 0; i < length; i += 1)
+        {
+            if ((bits[i] & otherBits[i]) != 0)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * The numbers of the tags and the patterns matching them, valid for one version of the interned tags and the trie
+     */
+    private static final class Matches
+    {
+        private final int version;
+        private final long[] bits;
+        private final long[][] bitsOfNames;
+        private final boolean unmatched;
+
+        public Matches(int version, String[] names)
+        {
+            super();
+
+            this.version = version;
+
+            boolean patterns = PATTERNS.getVersion() > 0;
+            long[] bits = NO_BITS;
+            long[][] bitsOfNames = (patterns) ? new long[names.length][] : null;
+            boolean unmatched = false;
+
+            for (int i = 0; i < names.length; i += 1)
+            {
+                String name = names[i];
+
+                if (name == null)
+                {
+                    unmatched = true;
+                    continue;
+                }
+
+                int id = idOf(name);
+                long[] bitsOfName = (id >= 0) ? bitsOf(id) : NO_BITS;
+
+                if (patterns)
+                {
+                    bitsOfName = PATTERNS.match(name, bitsOfName);
+                    bitsOfNames[i] = bitsOfName;
+                }
+
+                if (bitsOfName.length == 0)
+                {
+                    // neither declared, nor matching any pattern
+                    unmatched = true;
+                    continue;
+                }
+
+                bits = (bits.length > 0) ? union(bits, bitsOfName) : bitsOfName;
+            }
+
+            this.bits = bits;
+            this.bitsOfNames = bitsOfNames;
+            this.unmatched = unmatched;
+        }
+    }
+
+    private final String[] names;
+
+    private volatile Matches matches;
+
+    private Tags(String[] names)
+    {
+        super();
+
+        this.names = names;
+    }
+
+    /**
+     * Returns the number of tags
+     * 
+     * @return the number of tags
+     */
+    public int size()
+    {
+        return names.length;
+    }
+
+    /**
+     * Returns true if there are no tags
+     * 
+     * @return true if empty
+     */
+    public boolean isEmpty()
+    {
+        return names.length == 0;
+    }
+
+    /**
+     * Returns a copy of the names of the tags
+     * 
+     * @return the names
+     */
+    public String[] toArray()
+    {
+        return names.clone();
+    }
+
+    /**
+     * Returns the names of the tags without copying them. Passed to event handlers and error handlers.
+     * 
+     * @return the names
+     */
+    String[] names()
+    {
+        return names;
+    }
+
+    /**
+     * Returns the matches for the current version of the interned tags and of the trie of patterns. Both versions only
+     * grow, thus their sum changes with any new tag or pattern.
+     * 
+     * @return the matches
+     */
+    private Matches matches()
+    {
+        int version = Tags.version + PATTERNS.getVersion();
+        Matches matches = this.matches;
+
+        if ((matches == null) || (matches.version != version))
+        {
+            matches = new Matches(version, names);
+
+            this.matches = matches;
+        }
+
+        return matches;
+    }
+
+    /**
+     * Returns the bitset with the numbers of the tags and of all patterns matching any of the tags
+     * 
+     * @return the bitset, must not be modified
+     */
+    long[] matchingBits()
+    {
+        return matches().bits;
+    }
+
+    /**
+     * Returns true if any of the tags or any pattern matching one of the tags is contained in the bitset
+     * 
+     * @param other the bitset
+     * @return true if any tag is contained
+     */
+    boolean isAnyIn(long[] other)
+    {
+        return isIntersecting(matchingBits(), other);
+    }
+
+    /**
+     * Returns true if each of the tags or at least one pattern matching the tag is contained in the bitset
+     * 
+     * @param other the bitset
+     * @return true if each tag is contained
+     */
+    boolean isEachIn(long[] other)
+    {
+        Matches matches = matches();
+
+        if (matches.unmatched)
+        {
+            return false;
+        }
+
+        if (matches.bitsOfNames != null)
+        {
+            for (long[] bitsOfName : matches.bitsOfNames)
+            {
+                if (!isIntersecting(bitsOfName, other))
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        long[] bits = matches.bits;
+
+        for (int i = 0; i < bits.length; i += 1)
+        {
+            long otherBits = (i < other.length) ? other[i] : 0;
+
+            if ((bits[i] & ~otherBits) != 0)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode()
+    {
+        return Arrays.hashCode(names);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (obj == this)
+        {
+            return true;
+        }
+
+        if (!(obj instanceof Tags))
+        {
+            return false;
+        }
+
+        return Arrays.equals(names, ((Tags) obj).names);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString()
+    {
+        return Arrays.toString(names);
+    }
+
+}
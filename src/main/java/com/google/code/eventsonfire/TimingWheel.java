@@ -0,0 +1,403 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+/**
+ * <p>
+ * A hierarchical timing wheel for delayed actions. Scheduling, canceling and rescheduling an action takes constant
+ * time, because the actions are kept in doubly linked lists within the slots of the wheel. The action itself is the
+ * node of the list, thus no additional objects are needed.
+ * </p>
+ * <p>
+ * The wheel consists of {@value #LEVELS} levels with {@value #SLOTS} slots each. The first level holds the actions
+ * that are due within the next {@value #SLOTS} ticks, each further level covers a {@value #SLOTS} times longer range.
+ * When the wheel advances, the actions of the higher levels cascade down to the lower levels. Actions that are due
+ * beyond the range of the wheel are kept in the last level until they come into range.
+ * </p>
+ * <p>
+ * All methods are synchronized. The wheel is filled by any thread, but only the thread of the {@link Lane} expires
+ * the actions.
+ * </p>
+ * 
+ * @author Manfred Hantschel
+ */
+class TimingWheel
+{
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long RANGE = 1L << (SLOT_BITS * LEVELS);
+
+    private final long startNanos;
+    private final long tickNanos;
+    private final Action[][] slots;
+    private final long[] occupied;
+    private final int[] counts;
+
+    /**
+     * The next tick that has to be processed
+     */
+    private long currentTick = 0;
+    private int size = 0;
+
+    /**
+     * Creates a timing wheel.
+     * 
+     * @param tickNanos the duration of one tick in nano seconds
+     */
+    public TimingWheel(long tickNanos)
+    {
+        super();
+
+        if (tickNanos <= 0)
+        {
+            throw new IllegalArgumentException("Tick must be positive: " + tickNanos);
+        }
+
+        this.tickNanos = tickNanos;
+
+        startNanos = System.nanoTime();
+        slots = new Action[LEVELS][SLOTS];
+        occupied = new long[LEVELS];
+        counts = new int[LEVELS];
+    }
+
+    /**
+     * Returns the number of scheduled actions
+     * 
+     * @return the number of scheduled actions
+     */
+    public synchronized int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns true if there are no scheduled actions
+     * 
+     * @return true if empty
+     */
+    public synchronized boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Schedules the action. The action will be due at its nano seconds to trigger.
+     * 
+     * @param action the action, mandatory
+     * @throws IllegalStateException if the action is already scheduled
+     */
+    public synchronized void schedule(Action action) throws IllegalStateException
+    {
+        if (action.scheduled)
+        {
+            throw new IllegalStateException("Action already scheduled");
+        }
+
+        if (size == 0)
+        {
+            // nothing to process, skip all ticks up to now
+            currentTick = Math.max(currentTick, floorTick(System.nanoTime()) + 1);
+        }
+
+        insert(action);
+    }
+
+    /**
+     * Removes the action from the wheel.
+     * 
+     * @param action the action, mandatory
+     * @return true if removed, false if the action was not scheduled (anymore)
+     */
+    public synchronized boolean remove(Action action)
+    {
+        if (!action.scheduled)
+        {
+            return false;
+        }
+
+        unlink(action);
+
+        return true;
+    }
+
+    /**
+     * Moves the action to the specified time.
+     * 
+     * @param action the action, mandatory
+     * @param nanosToTrigger the nano seconds, when the action should get triggered
+     * @return true if rescheduled, false if the action was not scheduled (anymore)
+     */
+    public synchronized boolean reschedule(Action action, long nanosToTrigger)
+    {
+        if (!action.scheduled)
+        {
+            return false;
+        }
+
+        unlink(action);
+        action.setNanosToTrigger(nanosToTrigger);
+        insert(action);
+
+        return true;
+    }
+
+    /**
+     * Returns the nano seconds, when the wheel should be expired next. This is either the time of the next action in
+     * the first level or the time, when the next cascade of the higher levels takes place. The value may be in the
+     * past, if the wheel has not been expired for some time.
+     * 
+     * @return the nano seconds, undefined if the wheel is empty
+     */
+    public synchronized long getNextNanos()
+    {
+        int index = (int) (currentTick & SLOT_MASK);
+        long distance = SLOTS;
+
+        if (occupied[0] != 0)
+        {
+            distance = Long.numberOfTrailingZeros(Long.rotateRight(occupied[0], index));
+        }
+
+        if (size > counts[0])
+        {
+            distance = Math.min(distance, (SLOTS - index) & SLOT_MASK);
+        }
+
+        return startNanos + ((currentTick + distance) * tickNanos);
+    }
+
+    /**
+     * Advances the wheel up to the specified time and removes all actions that are due. The actions are returned as
+     * chain, linked by their next field, ordered by the tick they got due.
+     * 
+     * @param nanos the current nano seconds
+     * @return the first action of the chain, null if no action is due
+     */
+    public synchronized Action expire(long nanos)
+    {
+        long nowTick = floorTick(nanos);
+        Action first = null;
+        Action last = null;
+
+        while ((size > 0) && (currentTick <= nowTick))
+        {
+            int index = (int) (currentTick & SLOT_MASK);
+
+            if (index == 0)
+            {
+                cascade(1);
+            }
+
+            Action action = slots[0][index];
+
+            if (action != null)
+            {
+                slots[0][index] = null;
+                occupied[0] &= ~(1L << index);
+
+                while (action != null)
+                {
+                    Action next = action.next;
+
+                    action.previous = null;
+                    action.next = null;
+                    action.scheduled = false;
+                    counts[0] -= 1;
+                    size -= 1;
+
+                    if (last == null)
+                    {
+                        first = action;
+                    }
+                    else
+                    {
+                        last.next = action;
+                    }
+
+                    last = action;
+                    action = next;
+                }
+            }
+
+            currentTick += 1;
+        }
+
+        if (size == 0)
+        {
+            currentTick = Math.max(currentTick, nowTick + 1);
+        }
+
+        return first;
+    }
+
+    /**
+     * Moves the actions of the current slot of the specified level down to the lower levels. Cascades the next level
+     * first, if this level wraps around.
+     * 
+     * @param level the level
+     */
+    private void cascade(int level)
+    {
+        if (level >= LEVELS)
+        {
+            return;
+        }
+
+        int index = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+
+        if (index == 0)
+        {
+            cascade(level + 1);
+        }
+
+        Action action = slots[level][index];
+
+        if (action == null)
+        {
+            return;
+        }
+
+        slots[level][index] = null;
+        occupied[level] &= ~(1L << index);
+
+        while (action != null)
+        {
+            Action next = action.next;
+
+            action.previous = null;
+            action.next = null;
+            action.scheduled = false;
+            counts[level] -= 1;
+            size -= 1;
+
+            insert(action);
+
+            action = next;
+        }
+    }
+
+    private void insert(Action action)
+    {
+        long tick = Math.max(ceilTick(action.getNanosToTrigger()), currentTick);
+        long delta = tick - currentTick;
+
+        if (delta >= RANGE)
+        {
+            // out of range, keep it in the last level, it will be reinserted on cascade
+            delta = RANGE - 1;
+            tick = currentTick + delta;
+        }
+
+        int level = 0;
+
+        while (delta >= (1L << (SLOT_BITS * (level + 1))))
+        {
+            level += 1;
+        }
+
+        int index = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        Action head = slots[level][index];
+
+        if (head == null)
+        {
+            // the previous field of the head points to the tail
+            action.previous = action;
+            slots[level][index] = action;
+            occupied[level] |= 1L << index;
+        }
+        else
+        {
+            Action tail = head.previous;
+
+            tail.next = action;
+            action.previous = tail;
+            head.previous = action;
+        }
+
+        action.next = null;
+        action.level = level;
+        action.index = index;
+        action.scheduled = true;
+        counts[level] += 1;
+        size += 1;
+    }
+
+    private void unlink(Action action)
+    {
+        int level = action.level;
+        int index = action.index;
+        Action head = slots[level][index];
+        Action next = action.next;
+
+        if (action == head)
+        {
+            if (next == null)
+            {
+                slots[level][index] = null;
+                occupied[level] &= ~(1L << index);
+            }
+            else
+            {
+                next.previous = action.previous;
+                slots[level][index] = next;
+            }
+        }
+        else
+        {
+            Action previous = action.previous;
+
+            previous.next = next;
+
+            if (next != null)
+            {
+                next.previous = previous;
+            }
+            else
+            {
+                head.previous = previous;
+            }
+        }
+
+        action.previous = null;
+        action.next = null;
+        action.scheduled = false;
+        counts[level] -= 1;
+        size -= 1;
+    }
+
+    private long floorTick(long nanos)
+    {
+        long delta = nanos - startNanos;
+
+        return (delta < 0) ? -1 : delta / tickNanos;
+    }
+
+    private long ceilTick(long nanos)
+    {
+        long delta = nanos - startNanos;
+
+        return (delta <= 0) ? 0 : ((delta + tickNanos - 1) / tickNanos);
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Caches the flattened type hierarchy of classes. The hierarchy of a class contains the class itself, all its
+ * superclasses and all interfaces, that are implemented by the class, the superclasses or extended by any of these
+ * interfaces. Each type is contained only once. The cache does not prevent the classes from being unloaded.
+ * 
+ * @author Manfred Hantschel
+ */
+final class TypeHierarchy
+{
+
+    private static final ClassCache<Class<?>[]> HIERARCHIES = new ClassCache<Class<?>[]>();
+
+    private TypeHierarchy()
+    {
+        super();
+    }
+
+    /**
+     * Returns the flattened type hierarchy of the specified class. The class comes first, followed by its interfaces
+     * and then by each superclass, followed by interfaces, that have not been listed before. The array is cached and
+     * shared, it must not be modified.
+     * 
+     * @param type the class, mandatory
+     * @return the flattened type hierarchy
+     */
+    public static Class<?>[] of(Class<?> type)
+    {
+        Class<?>[] hierarchy = HIERARCHIES.get(type);
+
+        if (hierarchy == null)
+        {
+            hierarchy = HIERARCHIES.putIfAbsent(type, flatten(type));
+        }
+
+        return hierarchy;
+    }
+
+    private static Class<?>[] flatten(Class<?> type)
+    {
+        Set<Class<?>> types = new LinkedHashSet<Class<?>>();
+        Class<?> current = type;
+
+        while (current != null)
+        {
+            types.add(current);
+            addInterfaces(current, types);
+
+            current = current.getSuperclass();
+        }
+
+        return types.toArray(new Class<?>[types.size()]);
+    }
+
+    private static void addInterfaces(Class<?> type, Set<Class<?>> types)
+    {
+        for (Class<?> item : type.getInterfaces())
+        {
+            if (types.add(item))
+            {
+                addInterfaces(item, types);
+            }
+        }
+    }
+
+}
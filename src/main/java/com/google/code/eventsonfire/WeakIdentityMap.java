@@ -0,0 +1,498 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A map with weak keys, that compares the keys by identity. The entries are kept in an open addressing table with
+ * linear probing, using the identity hash code of the keys. Looking up a value does neither create a reference nor
+ * call the hashCode or equals methods of the key.
+ * <p>
+ * The map is modified by one thread at a time (the thread of a {@link Lane} or the owner of a lock), but any thread
+ * may look up values at the same time. Removed entries are replaced by tombstones and the table gets rebuilt when it
+ * is full, thus entries never move while they are being looked up. Entries with garbage collected keys are removed
+ * with each modification and by calling {@link #expungeStaleEntries()}, unless the queue for the entries is owned by
+ * the creator of the map.
+ * 
+ * @author Manfred Hantschel
+ * @param <VALUE> the type of the values
+ */
+final class WeakIdentityMap<VALUE> implements Iterable<WeakIdentityMap.Entry<VALUE>>
+{
+
+    /**
+     * An entry of the map. The entry references the key weakly.
+     * 
+     * @param <VALUE> the type of the value
+     */
+    static final class Entry<VALUE> extends WeakReference<Object>
+    {
+        private final int hash;
+        private volatile VALUE value;
+
+        Entry(Object key, int hash, VALUE value, ReferenceQueue<Object> queue)
+        {
+            super(key, queue);
+
+            this.hash = hash;
+            this.value = value;
+        }
+
+        /**
+         * Returns the value
+         * 
+         * @return the value
+         */
+        public VALUE getValue()
+        {
+            return value;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString()
+        {
+            return "Entry of " + get() + ": " + value;
+        }
+    }
+
+    private static final int MINIMUM_CAPACITY = 16;
+
+    /**
+     * Marks a removed entry. Look ups continue probing when reaching a tombstone. The tombstone never matches a key,
+     * because it does not reference any object.
+     */
+    private static final Entry<Object> TOMBSTONE = new Entry<Object>(null, 0, null, null);
+
+    /**
+     * Receives the entries with garbage collected keys
+     */
+    private final ReferenceQueue<Object> queue;
+
+    /**
+     * True if the map polls the queue and removes the entries with garbage collected keys by itself
+     */
+    private final boolean expunging;
+
+    /**
+     * The table, always a power of two in size. Replaced as a whole when rebuilt.
+     */
+    private volatile AtomicReferenceArray<Entry<VALUE>> table;
+
+    /**
+     * The number of entries. Only modified by the writing thread.
+     */
+    private volatile int size;
+
+    /**
+     * The number of used slots, including tombstones. Only used by the writing thread.
+     */
+    private int used;
+
+    /**
+     * Creates an empty map
+     */
+    public WeakIdentityMap()
+    {
+        super();
+
+        queue = new ReferenceQueue<Object>();
+        expunging = true;
+        table = new AtomicReferenceArray<Entry<VALUE>>(MINIMUM_CAPACITY);
+    }
+
+    /**
+     * Creates an empty map, that registers its entries with the specified queue. The map does not poll the queue, the
+     * owner of the queue is responsible to remove each polled entry by calling {@link #removeEntry(Entry)}. This
+     * allows the owner to use the entries as the only weak references to the keys. Rebuilding the table still drops
+     * entries with garbage collected keys, the owner receives them from the queue nevertheless.
+     * 
+     * @param queue the queue, mandatory
+     * @throws IllegalArgumentException if the queue is null
+     */
+    public WeakIdentityMap(ReferenceQueue<Object> queue) throws IllegalArgumentException
+    {
+        super();
+
+        if (queue == null)
+        {
+            throw new IllegalArgumentException("Queue is null");
+        }
+
+        this.queue = queue;
+        expunging = false;
+        table = new AtomicReferenceArray<Entry<VALUE>>(MINIMUM_CAPACITY);
+    }
+
+    /**
+     * Returns the value for the key. May be called by any thread.
+     * 
+     * @param key the key
+     * @return the value, null if there is none
+     */
+    public VALUE get(Object key)
+    {
+        Entry<VALUE> entry = getEntry(key);
+
+        return (entry != null) ? entry.value : null;
+    }
+
+    /**
+     * Returns the entry for the key. May be called by any thread.
+     * 
+     * @param key the key
+     * @return the entry, null if there is none
+     */
+    public Entry<VALUE> getEntry(Object key)
+    {
+        if (key == null)
+        {
+            return null;
+        }
+
+        AtomicReferenceArray<Entry<VALUE>> table = this.table;
+        int mask = table.length() - 1;
+        int index = hash(key) & mask;
+        Entry<VALUE> entry;
+
+        while ((entry = table.get(index)) != null)
+        {
+            if (entry.get() == key)
+            {
+                return entry;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return null;
+    }
+
+    /**
+     * Puts the value for the key into the map. Must only be called by the writing thread.
+     * 
+     * @param key the key, mandatory
+     * @param value the value
+     * @return the previous value, null if none
+     * @throws IllegalArgumentException if the key is null
+     */
+    public VALUE put(Object key, VALUE value) throws IllegalArgumentException
+    {
+        if (key == null)
+        {
+            throw new IllegalArgumentException("Key is null");
+        }
+
+        expungeStaleEntries();
+
+        AtomicReferenceArray<Entry<VALUE>> table = this.table;
+        int mask = table.length() - 1;
+        int hash = hash(key);
+        int index = hash & mask;
+        int free = -1;
+        Entry<VALUE> entry;
+
+        while ((entry = table.get(index)) != null)
+        {
+            if (entry == TOMBSTONE)
+            {
+                if (free < 0)
+                {
+                    free = index;
+                }
+            }
+            else if (entry.get() == key)
+            {
+                VALUE previous = entry.value;
+
+                entry.value = value;
+
+                return previous;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        if (free >= 0)
+        {
+            index = free;
+        }
+        else
+        {
+            used += 1;
+        }
+
+        table.set(index, new Entry<VALUE>(key, hash, value, queue));
+        size += 1;
+
+        if ((used * 3) >= (table.length() * 2))
+        {
+            rebuild();
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes the value for the key. Must only be called by the writing thread.
+     * 
+     * @param key the key
+     * @return the removed value, null if none
+     */
+    public VALUE remove(Object key)
+    {
+        expungeStaleEntries();
+
+        if (key == null)
+        {
+            return null;
+        }
+
+        AtomicReferenceArray<Entry<VALUE>> table = this.table;
+        int mask = table.length() - 1;
+        int index = hash(key) & mask;
+        Entry<VALUE> entry;
+
+        while ((entry = table.get(index)) != null)
+        {
+            if (entry.get() == key)
+            {
+                remove(table, index, entry);
+
+                return entry.value;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the number of entries, including entries with garbage collected keys, that have not been removed, yet.
+     * 
+     * @return the number of entries
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns true if the map is empty
+     * 
+     * @return true if empty
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Removes all entries with garbage collected keys. Must only be called by the writing thread. Each entry is found
+     * by its hash, thus the costs depend on the number of garbage collected keys, not on the size of the map. Does
+     * nothing, if the queue for the entries is owned by the creator of the map.
+     */
+    @SuppressWarnings("unchecked")
+    public void expungeStaleEntries()
+    {
+        if (!expunging)
+        {
+            return;
+        }
+
+        Entry<VALUE> stale;
+
+        while ((stale = (Entry<VALUE>) queue.poll()) != null)
+        {
+            removeEntry(stale);
+        }
+    }
+
+    /**
+     * Removes the entry, even if its key has been garbage collected. Must only be called by the writing thread.
+     * 
+     * @param entry the entry
+     * @return true if the entry has been removed, false if it has not been part of the map
+     */
+    public boolean removeEntry(Entry<VALUE> entry)
+    {
+        AtomicReferenceArray<Entry<VALUE>> table = this.table;
+        int mask = table.length() - 1;
+        int index = entry.hash & mask;
+        Entry<VALUE> current;
+
+        while ((current = table.get(index)) != null)
+        {
+            if (current == entry)
+            {
+                remove(table, index, entry);
+
+                return true;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns an iterator over all entries with keys, that have not been garbage collected. The iterator does not fail
+     * on concurrent modification. Removing entries is only allowed for the writing thread.
+     * 
+     * @return the iterator
+     */
+    public Iterator<Entry<VALUE>> iterator()
+    {
+        final AtomicReferenceArray<Entry<VALUE>> table = this.table;
+
+        return new Iterator<Entry<VALUE>>()
+        {
+            private int index = -1;
+            private int lastIndex = -1;
+            private Entry<VALUE> next = advance();
+            private Entry<VALUE> last;
+
+            public boolean hasNext()
+            {
+                return next != null;
+            }
+
+            public Entry<VALUE> next()
+            {
+                if (next == null)
+                {
+                    throw new NoSuchElementException();
+                }
+
+                last = next;
+                lastIndex = index;
+                next = advance();
+
+                return last;
+            }
+
+            public void remove()
+            {
+                if (last == null)
+                {
+                    throw new IllegalStateException("No current entry");
+                }
+
+                if ((WeakIdentityMap.this.table == table) && (table.get(lastIndex) == last))
+                {
+                    WeakIdentityMap.this.remove(table, lastIndex, last);
+                }
+                else
+                {
+                    WeakIdentityMap.this.remove(last.get());
+                }
+
+                last = null;
+            }
+
+            private Entry<VALUE> advance()
+            {
+                while (++index < table.length())
+                {
+                    Entry<VALUE> entry = table.get(index);
+
+                    if ((entry != null) && (entry != TOMBSTONE) && (entry.get() != null))
+                    {
+                        return entry;
+                    }
+                }
+
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Replaces the entry at the index with a tombstone
+     */
+    @SuppressWarnings("unchecked")
+    private void remove(AtomicReferenceArray<Entry<VALUE>> table, int index, Entry<VALUE> entry)
+    {
+        table.set(index, (Entry<VALUE>) TOMBSTONE);
+        entry.clear();
+        size -= 1;
+    }
+
+    /**
+     * Copies all entries to a new table without tombstones and without entries with garbage collected keys. The size
+     * of the new table depends on the number of entries, thus the table may grow or shrink.
+     */
+    private void rebuild()
+    {
+        AtomicReferenceArray<Entry<VALUE>> table = this.table;
+        int capacity = MINIMUM_CAPACITY;
+
+        while (capacity < (size * 3))
+        {
+            capacity <<= 1;
+        }
+
+        AtomicReferenceArray<Entry<VALUE>> rebuiltTable = new AtomicReferenceArray<Entry<VALUE>>(capacity);
+        int mask = capacity - 1;
+        int count = 0;
+
+        for (int i = 0; i < table.length(); i += 1)
+        {
+            Entry<VALUE> entry = table.get(i);
+
+            if ((entry == null) || (entry == TOMBSTONE) || (entry.get() == null))
+            {
+                continue;
+            }
+
+            int index = entry.hash & mask;
+
+            while (rebuiltTable.get(index) != null)
+            {
+                index = (index + 1) & mask;
+            }
+
+            rebuiltTable.set(index, entry);
+            count += 1;
+        }
+
+        size = count;
+        used = count;
+
+        this.table = rebuiltTable;
+    }
+
+    private static int hash(Object key)
+    {
+        int hash = System.identityHashCode(key);
+
+        return hash ^ (hash >>> 16);
+    }
+
+}
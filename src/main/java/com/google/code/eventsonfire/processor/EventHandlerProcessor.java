@@ -0,0 +1,531 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+
+import com.google.code.eventsonfire.EventHandlerIndex;
+import com.google.code.eventsonfire.MethodInvoker;
+
+/**
+ * An annotation processor for the {@link com.google.code.eventsonfire.EventHandler},
+ * {@link com.google.code.eventsonfire.PooledEventHandler} and
+ * {@link com.google.code.eventsonfire.swing.SwingEventHandler} annotations. It validates the signatures of the event
+ * handlers with the same rules as the {@link com.google.code.eventsonfire.AbstractEventHandlerInfo} and generates an
+ * {@link EventHandlerIndex} for each class with event handlers. The index lists the annotated methods and invokes them
+ * without reflection.
+ * <p>
+ * The processor is registered as service, it runs whenever the library is on the classpath of the compiler (Java 6 or
+ * later). The generated code does not need more than Java 5.
+ * 
+ * @author Manfred Hantschel
+ */
+@SupportedAnnotationTypes({"com.google.code.eventsonfire.EventHandler",
+    "com.google.code.eventsonfire.PooledEventHandler", "com.google.code.eventsonfire.swing.SwingEventHandler"})
+public class EventHandlerProcessor extends AbstractProcessor
+{
+
+    private static final Set<String> ANNOTATION_TYPES = new LinkedHashSet<String>();
+
+    static
+    {
+        ANNOTATION_TYPES.add("com.google.code.eventsonfire.EventHandler");
+        ANNOTATION_TYPES.add("com.google.code.eventsonfire.PooledEventHandler");
+        ANNOTATION_TYPES.add("com.google.code.eventsonfire.swing.SwingEventHandler");
+    }
+
+    public EventHandlerProcessor()
+    {
+        super();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+    {
+        Set<TypeElement> types = new LinkedHashSet<TypeElement>();
+
+        for (TypeElement annotation : annotations)
+        {
+            for (ExecutableElement method : ElementFilter.methodsIn(roundEnv.getElementsAnnotatedWith(annotation)))
+            {
+                if (validate(method, true))
+                {
+                    types.add((TypeElement) method.getEnclosingElement());
+                }
+            }
+        }
+
+        for (TypeElement type : types)
+        {
+            if (isAccessible(type))
+            {
+                generate(type);
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Validates the signature of the event handler like the AbstractEventHandlerInfo does
+     * 
+     * @param method the method
+     * @param report true to report errors
+     * @return true if valid
+     */
+    private boolean validate(ExecutableElement method, boolean report)
+    {
+        AnnotationMirror annotation = getEventHandlerAnnotation(method);
+
+        if (!method.getModifiers().contains(Modifier.PUBLIC))
+        {
+            return warn(report, "Event handler is not public and will be ignored", method);
+        }
+
+        if (method.getReturnType().getKind() != TypeKind.VOID)
+        {
+            return error(report, "Invalid event handler signature. Return type must be void", method);
+        }
+
+        List<? extends VariableElement> parameters = method.getParameters();
+        List<TypeMirror> producerTypes = getTypes(annotation, "producer");
+        List<TypeMirror> eventTypes = getTypes(annotation, "event");
+
+        switch (parameters.size())
+        {
+            case 0:
+                return validateEventTypeByAnnotationNotEmpty(report, method, eventTypes);
+
+            case 1:
+                if (method.isVarArgs())
+                {
+                    return validateEventTypeByAnnotationNotEmpty(report, method, eventTypes)
+                        && validateTagsOfString(report, method, parameters.get(0));
+                }
+
+                return validateAssignable(report, method, parameters.get(0), eventTypes, "event");
+
+            case 2:
+                if (method.isVarArgs())
+                {
+                    return validateAssignable(report, method, parameters.get(0), eventTypes, "event")
+                        && validateTagsOfString(report, method, parameters.get(1));
+                }
+
+                return validateAssignable(report, method, parameters.get(0), producerTypes, "provider")
+                    && validateAssignable(report, method, parameters.get(1), eventTypes, "event");
+
+            case 3:
+                return validateAssignable(report, method, parameters.get(0), producerTypes, "provider")
+                    && validateAssignable(report, method, parameters.get(1), eventTypes, "event")
+                    && validateTagsOfString(report, method, parameters.get(2));
+
+            default:
+                return error(report, "Invalid event handler signature", method);
+        }
+    }
+
+    private boolean validateEventTypeByAnnotationNotEmpty(boolean report, ExecutableElement method,
+        List<TypeMirror> eventTypes)
+    {
+        if (eventTypes.isEmpty())
+        {
+            return error(report, "Invalid event handler signature. If method does not provide an event type, "
+                + "it must be specified in the annotation", method);
+        }
+
+        return true;
+    }
+
+    private boolean validateAssignable(boolean report, ExecutableElement method, VariableElement parameter,
+        List<TypeMirror> types, String name)
+    {
+        TypeMirror parameterType = processingEnv.getTypeUtils().erasure(parameter.asType());
+
+        for (TypeMirror type : types)
+        {
+            if (!processingEnv.getTypeUtils().isSubtype(processingEnv.getTypeUtils().erasure(type), parameterType))
+            {
+                return error(report, "Invalid event handler signature. The " + name + " parameter cannot accept all "
+                    + name + " types of the annotation", method);
+            }
+        }
+
+        return true;
+    }
+
+    private boolean validateTagsOfString(boolean report, ExecutableElement method, VariableElement parameter)
+    {
+        TypeMirror type = parameter.asType();
+
+        if ((type.getKind() != TypeKind.ARRAY)
+            || (!"java.lang.String".equals(((ArrayType) type).getComponentType().toString())))
+        {
+            return error(report, "Invalid event handler signature. The tags parameter must be of type String...",
+                method);
+        }
+
+        return true;
+    }
+
+    private boolean warn(boolean report, String message, Element element)
+    {
+        if (report)
+        {
+            processingEnv.getMessager().printMessage(Kind.WARNING, message, element);
+        }
+
+        return false;
+    }
+
+    private boolean error(boolean report, String message, Element element)
+    {
+        if (report)
+        {
+            processingEnv.getMessager().printMessage(Kind.ERROR, message, element);
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the first event handler annotation of the method
+     */
+    private static AnnotationMirror getEventHandlerAnnotation(Element element)
+    {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors())
+        {
+            Element annotationType = annotation.getAnnotationType().asElement();
+
+            if (ANNOTATION_TYPES.contains(((TypeElement) annotationType).getQualifiedName().toString()))
+            {
+                return annotation;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the types of the class array of the annotation, without resolving the classes
+     */
+    private static List<TypeMirror> getTypes(AnnotationMirror annotation, String name)
+    {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues()
+            .entrySet())
+        {
+            if (name.equals(entry.getKey().getSimpleName().toString()))
+            {
+                List<TypeMirror> result = new ArrayList<TypeMirror>();
+
+                for (Object value : (List<?>) entry.getValue().getValue())
+                {
+                    result.add((TypeMirror) ((AnnotationValue) value).getValue());
+                }
+
+                return result;
+            }
+        }
+
+        return Collections.emptyList();
+    }
+
+    /**
+     * Returns true if the generated class in the same package can access the class
+     */
+    private static boolean isAccessible(TypeElement type)
+    {
+        Element element = type;
+
+        while (element.getKind() != ElementKind.PACKAGE)
+        {
+            if (element.getModifiers().contains(Modifier.PRIVATE))
+            {
+                return false;
+            }
+
+            if ((element instanceof TypeElement)
+                && (((TypeElement) element).getNestingKind() != NestingKind.TOP_LEVEL)
+                && (((TypeElement) element).getNestingKind() != NestingKind.MEMBER))
+            {
+                return false;
+            }
+
+            element = element.getEnclosingElement();
+        }
+
+        return true;
+    }
+
+    private static boolean hasPrimitiveParameter(ExecutableElement method)
+    {
+        for (VariableElement parameter : method.getParameters())
+        {
+            if (parameter.asType().getKind().isPrimitive())
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Generates the index with all annotated methods of the class, including the inherited ones
+     */
+    private void generate(TypeElement type)
+    {
+        List<ExecutableElement> methods = new ArrayList<ExecutableElement>();
+
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type)))
+        {
+            if (getEventHandlerAnnotation(method) == null)
+            {
+                continue;
+            }
+
+            if ((!validate(method, false)) || (hasPrimitiveParameter(method)))
+            {
+                if (method.getModifiers().contains(Modifier.PUBLIC))
+                {
+                    // an invalid inherited event handler or one, that cannot be called without boxing,
+                    // the class will be scanned at runtime
+                    return;
+                }
+
+                continue;
+            }
+
+            methods.add(method);
+        }
+
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = packageElement.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleName = binaryName.substring(packageName.length() + ((packageName.length() > 0) ? 1 : 0));
+        String indexName = simpleName + EventHandlerIndex.SUFFIX;
+        String typeName = processingEnv.getTypeUtils().erasure(type.asType()).toString();
+
+        try
+        {
+            PrintWriter out =
+                new PrintWriter(processingEnv.getFiler()
+                    .createSourceFile(((packageName.length() > 0) ? packageName + "." : "") + indexName, type)
+                    .openWriter());
+
+            try
+            {
+                write(out, packageName, indexName, typeName, methods);
+            }
+            finally
+            {
+                out.close();
+            }
+        }
+        catch (IOException e)
+        {
+            processingEnv.getMessager().printMessage(Kind.ERROR,
+                "Failed to generate the event handler index: " + e.getMessage(), type);
+        }
+    }
+
+    private void write(PrintWriter out, String packageName, String indexName, String typeName,
+        List<ExecutableElement> methods)
+    {
+        if (packageName.length() > 0)
+        {
+            out.println("package " + packageName + ";");
+            out.println();
+        }
+
+        out.println("/**");
+        out.println(" * The event handlers of {@link " + typeName + "}, generated by the");
+        out.println(" * {@link " + EventHandlerProcessor.class.getName() + "}");
+        out.println(" */");
+        out.println("public final class " + indexName + " implements " + EventHandlerIndex.class.getName());
+        out.println("{");
+        out.println();
+        out.println("    public java.lang.reflect.Method[] getMethods() throws java.lang.NoSuchMethodException");
+        out.println("    {");
+        out.println("        return new java.lang.reflect.Method[]{");
+
+        for (ExecutableElement method : methods)
+        {
+            StringBuilder builder = new StringBuilder();
+
+            builder.append("            ").append(typeName).append(".class.getMethod(\"");
+            builder.append(method.getSimpleName()).append("\", new java.lang.Class<?>[]{");
+
+            List<? extends VariableElement> parameters = method.getParameters();
+
+            for (int i = 0; i < parameters.size(); i += 1)
+            {
+                builder.append((i > 0) ? ", " : "").append(erasure(parameters.get(i))).append(".class");
+            }
+
+            out.println(builder.append("}),"));
+        }
+
+        out.println("        };");
+        out.println("    }");
+        out.println();
+        out.println("    public " + MethodInvoker.class.getName() + " getInvoker(int index)");
+        out.println("    {");
+        out.println("        switch (index)");
+        out.println("        {");
+
+        for (int i = 0; i < methods.size(); i += 1)
+        {
+            out.println("            case " + i + ":");
+            out.println("                return new " + MethodInvoker.class.getName() + "()");
+            out.println("                {");
+            out.println("                    public void invoke(java.lang.Object producer, java.lang.Object consumer,");
+            out.println("                        java.lang.Object event, java.lang.String[] tags)");
+            out.println("                        throws java.lang.reflect.InvocationTargetException");
+            out.println("                    {");
+            out.println("                        try");
+            out.println("                        {");
+            out.println("                            " + callOf(typeName, methods.get(i)) + ";");
+            out.println("                        }");
+            out.println("                        catch (java.lang.Throwable e)");
+            out.println("                        {");
+            out.println("                            throw new java.lang.reflect.InvocationTargetException(e);");
+            out.println("                        }");
+            out.println("                    }");
+            out.println("                };");
+            out.println();
+        }
+
+        out.println("            default:");
+        out.println("                return null;");
+        out.println("        }");
+        out.println("    }");
+        out.println();
+        out.println("}");
+    }
+
+    /**
+     * Returns the call of the method with the parameters, that the method type of the AbstractEventHandlerInfo passes
+     */
+    private String callOf(String typeName, ExecutableElement method)
+    {
+        List<? extends VariableElement> parameters = method.getParameters();
+        List<String> arguments = new ArrayList<String>();
+
+        switch (parameters.size())
+        {
+            case 1:
+                arguments.add((method.isVarArgs()) ? "tags" : cast(parameters.get(0), "event"));
+                break;
+
+            case 2:
+                if (method.isVarArgs())
+                {
+                    arguments.add(cast(parameters.get(0), "event"));
+                    arguments.add("tags");
+                }
+                else
+                {
+                    arguments.add(cast(parameters.get(0), "producer"));
+                    arguments.add(cast(parameters.get(1), "event"));
+                }
+                break;
+
+            case 3:
+                arguments.add(cast(parameters.get(0), "producer"));
+                arguments.add(cast(parameters.get(1), "event"));
+                arguments.add("tags");
+                break;
+
+            default:
+                break;
+        }
+
+        StringBuilder builder = new StringBuilder();
+
+        if (method.getModifiers().contains(Modifier.STATIC))
+        {
+            builder.append(typeName);
+        }
+        else
+        {
+            builder.append("((").append(typeName).append(") consumer)");
+        }
+
+        builder.append(".").append(method.getSimpleName()).append("(");
+
+        for (int i = 0; i < arguments.size(); i += 1)
+        {
+            builder.append((i > 0) ? ", " : "").append(arguments.get(i));
+        }
+
+        return builder.append(")").toString();
+    }
+
+    private String cast(VariableElement parameter, String name)
+    {
+        return "(" + erasure(parameter) + ") " + name;
+    }
+
+    private String erasure(VariableElement parameter)
+    {
+        return processingEnv.getTypeUtils().erasure(parameter.asType()).toString();
+    }
+
+}
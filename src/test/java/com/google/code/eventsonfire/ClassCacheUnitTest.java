@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.testng.annotations.Test;
+
+/**
+ * Unit test for the {@link ClassCache} class
+ * 
+ * @author Manfred Hantschel
+ */
+@Test
+public class ClassCacheUnitTest
+{
+
+    public static class Unloadable
+    {
+        // intentionally left blank
+    }
+
+    @Test
+    public void testPutIfAbsent()
+    {
+        ClassCache<String> cache = new ClassCache<String>();
+
+        assert cache.get(String.class) == null;
+
+        String value = cache.putIfAbsent(String.class, "Value");
+        String other = cache.putIfAbsent(String.class, "Other");
+
+        assert "Value".equals(value);
+        assert "Value".equals(other);
+        assert "Value".equals(cache.get(String.class));
+        assert cache.get(Object.class) == null;
+    }
+
+    @Test
+    public void testUnloading() throws Exception
+    {
+        ClassCache<String> cache = new ClassCache<String>();
+        URL location = ClassCacheUnitTest.class.getProtectionDomain().getCodeSource().getLocation();
+        ClassLoader loader = new URLClassLoader(new URL[]{location}, null);
+        Class<?> type = loader.loadClass(Unloadable.class.getName());
+
+        assert type != Unloadable.class;
+
+        cache.putIfAbsent(type, "Unloadable");
+        cache.putIfAbsent(String.class, "Value");
+
+        type = null;
+        loader = null;
+
+        for (int i = 0; (i < 100) && (cache.size() > 1); i += 1)
+        {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assert cache.size() == 1 : "Garbage collection does not perform well on your system...";
+    }
+
+    @Test
+    public void testUnloadingWithValueReferencingItsClass() throws Exception
+    {
+        ClassCache<Object> cache = new ClassCache<Object>();
+        URL location = ClassCacheUnitTest.class.getProtectionDomain().getCodeSource().getLocation();
+        ClassLoader loader = new URLClassLoader(new URL[]{location}, null);
+        Class<?> type = loader.loadClass(Unloadable.class.getName());
+
+        cache.putIfAbsent(type, new Object[]{type});
+        cache.putIfAbsent(String.class, "Value");
+
+        type = null;
+        loader = null;
+
+        for (int i = 0; (i < 100) && (cache.size() > 1); i += 1)
+        {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assert cache.size() == 1 : "Garbage collection does not perform well on your system...";
+    }
+
+    @Test
+    public void testValuesOfOwnedClassesAreKept() throws Exception
+    {
+        URL location = ClassCacheUnitTest.class.getProtectionDomain().getCodeSource().getLocation();
+        ClassLoader loader = new URLClassLoader(new URL[]{location}, null);
+        Class<?> type = loader.loadClass(Unloadable.class.getName());
+        ClassCache<Object> cache = new ClassCache<Object>(loader);
+
+        cache.putIfAbsent(type, new Object[]{type});
+        cache.putIfAbsent(Unloadable.class, new Object[]{Unloadable.class});
+
+        for (int i = 0; i < 3; i += 1)
+        {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        // the class belongs to the owner, the value of a class of another loader may have been collected
+        assert cache.get(type) != null;
+        assert cache.getOwner() == loader;
+        assert new ClassCache<Object>().getOwner() == ClassCache.class.getClassLoader();
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+/**
+ * Unit test for the {@link ConsumerClassInfo} class
+ * 
+ * @author Manfred Hantschel
+ */
+@Test
+public class ConsumerClassInfoUnitTest
+{
+
+    public static class TaggedConsumer extends AbstractTestConsumer
+    {
+        @EventHandler(producer = CharSequence.class, anyTag = "a")
+        public void handleTaggedEvent(final Number event)
+        {
+            pushEvent("handleTaggedEvent", null, event);
+        }
+
+        @EventHandler
+        public void handleEvent(final Number event)
+        {
+            pushEvent("handleEvent", null, event);
+        }
+    }
+
+    public static class VetoingEventHandlerInfo extends EventHandlerAnnotationInfo
+    {
+        public VetoingEventHandlerInfo(Method method)
+        {
+            super(method, new Class<?>[0], new Class<?>[0], new String[0], new String[0], false);
+        }
+
+        @Override
+        protected boolean isTagsMatching(String[] tags)
+        {
+            return !Arrays.asList(tags).contains("veto");
+        }
+    }
+
+    public static class AnyTagEventHandlerInfo extends EventHandlerAnnotationInfo
+    {
+        public AnyTagEventHandlerInfo(Method method)
+        {
+            super(method, new Class<?>[0], new Class<?>[0], new String[]{"a"}, new String[0], false);
+        }
+
+        @Override
+        protected boolean isAnyTagsMatching(String[] tags)
+        {
+            return super.isAnyTagsMatching(tags) || Arrays.asList(tags).contains("b");
+        }
+    }
+
+    @Test
+    public void testPlan()
+    {
+        ConsumerClassInfo info = Events.getDefaultBus().getConsumerClassInfo(TaggedConsumer.class);
+
+        assert info.getPlan(String.class, Integer.class) == info.getPlan(String.class, Integer.class);
+        assert !info.getPlan(String.class, Integer.class).isEmpty();
+        assert !info.getPlan(Object.class, Integer.class).isEmpty();
+        assert info.getPlan(String.class, String.class) == DispatchPlan.EMPTY;
+    }
+
+    @Test
+    public void testInvoke()
+    {
+        ConsumerClassInfo info = Events.getDefaultBus().getConsumerClassInfo(TaggedConsumer.class);
+        TaggedConsumer consumer = new TaggedConsumer();
+
+        info.invoke("Producer", consumer, Integer.valueOf(1), Tags.of("a"));
+
+        assert consumer.size() == 2;
+        assert !consumer.popEvent().getMethod().equals(consumer.popEvent().getMethod());
+
+        info.invoke("Producer", consumer, Integer.valueOf(2), Tags.of("b"));
+        info.invoke(new Object(), consumer, Integer.valueOf(3), Tags.of("a"));
+
+        assert consumer.size() == 2;
+        assert Integer.valueOf(3).equals(consumer.popEvent().getEvent());
+        assert Integer.valueOf(2).equals(consumer.popEvent().getEvent());
+
+        info.invoke("Producer", consumer, "Event", Tags.of("a"));
+
+        assert consumer.size() == 0;
+    }
+
+    @Test
+    public void testPlanWithOverriddenInfo() throws NoSuchMethodException
+    {
+        Method method = TaggedConsumer.class.getMethod("handleEvent", Number.class);
+        EventHandlerInfo info = new VetoingEventHandlerInfo(method);
+        DispatchPlan plan = DispatchPlan.create(Arrays.asList(info), String.class, Integer.class);
+        TaggedConsumer consumer = new TaggedConsumer();
+
+        plan.invoke("Producer", consumer, Integer.valueOf(1), Tags.of("veto"));
+
+        assert consumer.size() == 0;
+
+        plan.invoke("Producer", consumer, Integer.valueOf(2), Tags.of("a"));
+
+        assert consumer.size() == 1;
+    }
+
+    @Test
+    public void testPlanWithOverriddenTagMatching() throws NoSuchMethodException
+    {
+        Method method = TaggedConsumer.class.getMethod("handleEvent", Number.class);
+        EventHandlerInfo info = new AnyTagEventHandlerInfo(method);
+        DispatchPlan plan = DispatchPlan.create(Arrays.asList(info), String.class, Integer.class);
+        TaggedConsumer consumer = new TaggedConsumer();
+
+        plan.invoke("Producer", consumer, Integer.valueOf(1), Tags.of("a"));
+        plan.invoke("Producer", consumer, Integer.valueOf(2), Tags.of("b"));
+        plan.invoke("Producer", consumer, Integer.valueOf(3), Tags.of("c"));
+
+        assert consumer.size() == 2;
+    }
+
+    @Test
+    public void testRoutesWithOverriddenTagMatching() throws NoSuchMethodException
+    {
+        Method method = TaggedConsumer.class.getMethod("handleEvent", Number.class);
+        ConsumerClassInfo info =
+            new ConsumerClassInfo(TaggedConsumer.class, Arrays.<EventHandlerInfo> asList(new AnyTagEventHandlerInfo(
+                method)));
+        TaggedConsumer consumer = new TaggedConsumer();
+        TagRoutes routes = TagRoutes.EMPTY.with(new WeakReference<Object>(consumer), info);
+
+        assert info.getRequiredTagBits() == null;
+
+        routes.fire("Producer", Integer.valueOf(1), Tags.of("a"));
+        routes.fire("Producer", Integer.valueOf(2), Tags.of("b"));
+        routes.fire("Producer", Integer.valueOf(3), Tags.of("c"));
+
+        assert consumer.size() == 2;
+    }
+
+}
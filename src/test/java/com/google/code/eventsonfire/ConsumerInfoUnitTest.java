@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import org.testng.annotations.Test;
+
+/**
+ * Unit test for the {@link ConsumerInfo} class
+ * 
+ * @author Manfred Hantschel
+ */
+@Test
+public class ConsumerInfoUnitTest
+{
+
+    @Test
+    public void testAddAndRemove()
+    {
+        ConsumerInfo consumerInfo = new ConsumerInfo();
+        ProducerInfo[] producerInfos = new ProducerInfo[1000];
+
+        assert consumerInfo.isEmpty();
+
+        for (int i = 0; i < producerInfos.length; i += 1)
+        {
+            producerInfos[i] = new ProducerInfo(Events.getDefaultBus());
+            consumerInfo.add(producerInfos[i]);
+        }
+
+        for (ProducerInfo producerInfo : producerInfos)
+        {
+            assert consumerInfo.contains(producerInfo);
+        }
+
+        // the copy allows removing while iterating
+        for (ProducerInfo producerInfo : consumerInfo)
+        {
+            consumerInfo.remove(producerInfo);
+            consumerInfo.remove(producerInfo);
+        }
+
+        assert consumerInfo.isEmpty();
+        assert !consumerInfo.iterator().hasNext();
+
+        consumerInfo.add(producerInfos[0]);
+
+        assert !consumerInfo.isEmpty();
+        assert consumerInfo.iterator().next() == producerInfos[0];
+    }
+
+}
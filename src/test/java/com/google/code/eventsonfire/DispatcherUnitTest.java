@@ -0,0 +1,841 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import com.google.code.eventsonfire.Action.Type;
+
+/**
+ * Unit test for the {@link Dispatcher} class
+ * 
+ * @author Manfred Hantschel
+ */
+@Test
+public class DispatcherUnitTest
+{
+
+    public static class RecordingConsumer
+    {
+        private final Map<Object, List<Integer>> events = new HashMap<Object, List<Integer>>();
+        private final CountDownLatch latch;
+        private final long sleepInMillis;
+
+        public RecordingConsumer(int count, long sleepInMillis)
+        {
+            super();
+
+            latch = new CountDownLatch(count);
+            this.sleepInMillis = sleepInMillis;
+        }
+
+        @EventHandler
+        public void handleEvent(Object producer, Integer event) throws InterruptedException
+        {
+            if (sleepInMillis > 0)
+            {
+                Thread.sleep(sleepInMillis);
+            }
+
+            synchronized (events)
+            {
+                List<Integer> list = events.get(producer);
+
+                if (list == null)
+                {
+                    list = new ArrayList<Integer>();
+                    events.put(producer, list);
+                }
+
+                list.add(event);
+            }
+
+            latch.countDown();
+        }
+
+        public List<Integer> getEvents(Object producer)
+        {
+            synchronized (events)
+            {
+                return events.get(producer);
+            }
+        }
+
+        public void await() throws InterruptedException
+        {
+            boolean received = latch.await(10, TimeUnit.SECONDS);
+
+            assert received : "Consumer did not receive all events in time";
+        }
+    }
+
+    public static class BlockingConsumer
+    {
+        private final CountDownLatch released = new CountDownLatch(1);
+        private final CountDownLatch received = new CountDownLatch(1);
+
+        @EventHandler
+        public void handleEvent(String event) throws InterruptedException
+        {
+            received.countDown();
+            released.await();
+        }
+    }
+
+    public static class CountingConsumer
+    {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @EventHandler
+        public void handleEvent(String event)
+        {
+            count.incrementAndGet();
+        }
+    }
+
+    public static class NestingConsumer
+    {
+        private final List<Integer> events = new ArrayList<Integer>();
+        private final Dispatcher dispatcher;
+        private final CountDownLatch latch;
+        private final int count;
+
+        private boolean active = false;
+        private volatile boolean nested = false;
+
+        public NestingConsumer(Dispatcher dispatcher, int count)
+        {
+            super();
+
+            this.dispatcher = dispatcher;
+            this.count = count;
+
+            latch = new CountDownLatch(count);
+        }
+
+        @EventHandler
+        public void handleEvent(Object producer, Integer event)
+        {
+            if (active)
+            {
+                nested = true;
+            }
+
+            active = true;
+
+            try
+            {
+                synchronized (events)
+                {
+                    events.add(event);
+                }
+
+                if (event.intValue() == 0)
+                {
+                    // fills the ring of its own lane
+                    for (int i = 1; i < count; i += 1)
+                    {
+                        dispatcher.enqueue(Type.FIRE, producer, Integer.valueOf(i), null);
+                    }
+                }
+            }
+            finally
+            {
+                active = false;
+            }
+
+            latch.countDown();
+        }
+
+        public boolean isNested()
+        {
+            return nested;
+        }
+
+        public List<Integer> getEvents()
+        {
+            synchronized (events)
+            {
+                return new ArrayList<Integer>(events);
+            }
+        }
+
+        public void await() throws InterruptedException
+        {
+            boolean received = latch.await(10, TimeUnit.SECONDS);
+
+            assert received : "Consumer did not receive all events in time";
+        }
+    }
+
+    public static class BurstConsumer
+    {
+        private final Dispatcher dispatcher;
+
+        public BurstConsumer(Dispatcher dispatcher)
+        {
+            super();
+
+            this.dispatcher = dispatcher;
+        }
+
+        @EventHandler
+        public void handleEvent(Object producer, String event)
+        {
+            for (int i = 0; i < 100; i += 1)
+            {
+                dispatcher.enqueue(Type.FIRE, producer, Integer.valueOf(i), null);
+            }
+        }
+    }
+
+    private final List<Dispatcher> dispatchers = new ArrayList<Dispatcher>();
+
+    private Dispatcher createDispatcher(int numberOfLanes, int ringSize)
+    {
+        Dispatcher dispatcher = new Dispatcher(Events.getDefaultBus(), "Test Thread", numberOfLanes, ringSize);
+
+        dispatchers.add(dispatcher);
+
+        return dispatcher;
+    }
+
+    @AfterMethod
+    public void shutdownDispatchers()
+    {
+        for (Dispatcher dispatcher : dispatchers)
+        {
+            dispatcher.shutdown();
+        }
+
+        dispatchers.clear();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testConstructorFail()
+    {
+        new Dispatcher(Events.getDefaultBus(), "Test Thread", 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testConstructorRingSizeFail()
+    {
+        new Dispatcher(Events.getDefaultBus(), "Test Thread", 1, 100);
+    }
+
+    @Test
+    public void testIndexOf()
+    {
+        Dispatcher dispatcher = createDispatcher(4, 0);
+
+        for (int i = 0; i < 100; i += 1)
+        {
+            Object producer = new Object();
+            int index = dispatcher.indexOf(producer);
+
+            assert (index >= 0) && (index < 4);
+            assert index == dispatcher.indexOf(producer);
+        }
+    }
+
+    @Test
+    public void testOrderPerProducer() throws InterruptedException
+    {
+        Dispatcher dispatcher = createDispatcher(4, 0);
+        Object[] producers = new Object[16];
+        RecordingConsumer consumer = new RecordingConsumer(producers.length * 100, 0);
+
+        for (int i = 0; i < producers.length; i += 1)
+        {
+            producers[i] = new Object();
+            dispatcher.enqueue(new Action(Type.BIND, producers[i], consumer, System.nanoTime()));
+        }
+
+        for (int event = 0; event < 100; event += 1)
+        {
+            for (Object producer : producers)
+            {
+                dispatcher.enqueue(new Action(Type.FIRE, producer, Integer.valueOf(event), System.nanoTime()));
+            }
+        }
+
+        consumer.await();
+
+        for (Object producer : producers)
+        {
+            List<Integer> events = consumer.getEvents(producer);
+
+            assert events.size() == 100;
+
+            for (int event = 0; event < 100; event += 1)
+            {
+                assert events.get(event).intValue() == event : "Events of producer out of order: " + events;
+            }
+        }
+    }
+
+    @Test
+    public void testClassBindingInAllLanes() throws InterruptedException
+    {
+        Dispatcher dispatcher = createDispatcher(4, 0);
+        Object[] producers = new Object[16];
+        RecordingConsumer consumer = new RecordingConsumer(producers.length, 0);
+
+        dispatcher.enqueue(new Action(Type.BIND, Object.class, consumer, System.nanoTime()));
+
+        for (int i = 0; i < producers.length; i += 1)
+        {
+            producers[i] = new Object();
+            dispatcher.enqueue(new Action(Type.FIRE, producers[i], Integer.valueOf(i), System.nanoTime()));
+        }
+
+        consumer.await();
+
+        for (int i = 0; i < producers.length; i += 1)
+        {
+            assert consumer.getEvents(producers[i]).get(0).intValue() == i;
+        }
+    }
+
+    @Test
+    public void testSlowConsumerDoesNotBlockOtherLanes() throws InterruptedException
+    {
+        Dispatcher dispatcher = createDispatcher(2, 0);
+        Object producerA = new Object();
+        Object producerB = new Object();
+
+        while (dispatcher.indexOf(producerA) == dispatcher.indexOf(producerB))
+        {
+            producerB = new Object();
+        }
+
+        BlockingConsumer blockingConsumer = new BlockingConsumer();
+        RecordingConsumer consumer = new RecordingConsumer(1, 0);
+
+        dispatcher.enqueue(new Action(Type.BIND, producerA, blockingConsumer, System.nanoTime()));
+        dispatcher.enqueue(new Action(Type.BIND, producerB, consumer, System.nanoTime()));
+        dispatcher.enqueue(new Action(Type.FIRE, producerA, "Blocking", System.nanoTime()));
+
+        boolean received = blockingConsumer.received.await(10, TimeUnit.SECONDS);
+
+        assert received;
+
+        dispatcher.enqueue(new Action(Type.FIRE, producerB, Integer.valueOf(42), System.nanoTime()));
+
+        consumer.await();
+        blockingConsumer.released.countDown();
+
+        assert consumer.getEvents(producerB).get(0).intValue() == 42;
+    }
+
+    @Test
+    public void testConcurrentProducerThreads() throws InterruptedException
+    {
+        final Dispatcher dispatcher = createDispatcher(1, 0);
+        final RecordingConsumer consumer = new RecordingConsumer(8 * 10000, 0);
+        Thread[] threads = new Thread[8];
+        final Object[] producers = new Object[threads.length];
+
+        for (int i = 0; i < threads.length; i += 1)
+        {
+            final Object producer = new Object();
+
+            producers[i] = producer;
+            dispatcher.enqueue(new Action(Type.BIND, producer, consumer, System.nanoTime()));
+
+            threads[i] = new Thread(new Runnable()
+            {
+                public void run()
+                {
+                    for (int event = 0; event < 10000; event += 1)
+                    {
+                        dispatcher.enqueue(new Action(Type.FIRE, producer, Integer.valueOf(event), System.nanoTime()));
+                    }
+                }
+            });
+        }
+
+        for (Thread thread : threads)
+        {
+            thread.start();
+        }
+
+        consumer.await();
+
+        for (Object producer : producers)
+        {
+            List<Integer> events = consumer.getEvents(producer);
+
+            assert events.size() == 10000;
+
+            for (int event = 0; event < 10000; event += 1)
+            {
+                assert events.get(event).intValue() == event : "Events of producer out of order";
+            }
+        }
+    }
+
+    @Test
+    public void testDelayedAndImmediateActions() throws InterruptedException
+    {
+        Dispatcher dispatcher = createDispatcher(1, 0);
+        Object producer = new Object();
+        RecordingConsumer consumer = new RecordingConsumer(3, 0);
+
+        dispatcher.enqueue(new Action(Type.BIND, producer, consumer, System.nanoTime()));
+        dispatcher.schedule(new Action(Type.FIRE, producer, Integer.valueOf(2), System.nanoTime() + 200000000L));
+        dispatcher.schedule(new Action(Type.FIRE, producer, Integer.valueOf(1), System.nanoTime() + 100000000L));
+        dispatcher.enqueue(new Action(Type.FIRE, producer, Integer.valueOf(0), System.nanoTime()));
+
+        consumer.await();
+
+        List<Integer> events = consumer.getEvents(producer);
+
+        assert events.get(0).intValue() == 0;
+        assert events.get(1).intValue() == 1;
+        assert events.get(2).intValue() == 2;
+    }
+
+    @Test
+    public void testThroughputScalesWithLanes() throws InterruptedException
+    {
+        long singleLane = measure(1);
+        long fourLanes = measure(4);
+
+        assert fourLanes * 2 < singleLane : "Four lanes (" + fourLanes + " ms) not faster than one lane (" + singleLane
+            + " ms)";
+    }
+
+    private long measure(int numberOfLanes) throws InterruptedException
+    {
+        Dispatcher dispatcher = createDispatcher(numberOfLanes, 0);
+        RecordingConsumer consumer = new RecordingConsumer(8 * 40, 2);
+
+        // pick 8 producers, spread evenly on all lanes
+        Object[] selected = new Object[8];
+        int count = 0;
+
+        while (count < selected.length)
+        {
+            Object producer = new Object();
+
+            if (dispatcher.indexOf(producer) == (count % numberOfLanes))
+            {
+                selected[count] = producer;
+                count += 1;
+            }
+        }
+
+        for (Object producer : selected)
+        {
+            dispatcher.enqueue(new Action(Type.BIND, producer, consumer, System.nanoTime()));
+        }
+
+        long millis = System.currentTimeMillis();
+
+        for (int event = 0; event < 40; event += 1)
+        {
+            for (Object producer : selected)
+            {
+                dispatcher.enqueue(new Action(Type.FIRE, producer, Integer.valueOf(event), System.nanoTime()));
+            }
+        }
+
+        consumer.await();
+
+        return System.currentTimeMillis() - millis;
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testCapacityFail()
+    {
+        createDispatcher(1, 0).setCapacity(0, OverflowPolicy.FAIL);
+    }
+
+    @Test
+    public void testOverflowFail() throws InterruptedException
+    {
+        Object producer = new Object();
+        BlockingConsumer blockingConsumer = new BlockingConsumer();
+        RecordingConsumer consumer = new RecordingConsumer(2, 0);
+        Dispatcher dispatcher = createFullDispatcher(OverflowPolicy.FAIL, producer, blockingConsumer, consumer);
+        Action action = new Action(Type.FIRE, producer, Integer.valueOf(3), System.nanoTime());
+
+        dispatcher.enqueue(action);
+
+        assert action.isRejected();
+        assert !action.isDropped();
+        assert dispatcher.getOverflowCount(OverflowPolicy.FAIL) == 1;
+
+        blockingConsumer.released.countDown();
+        consumer.await();
+
+        assert consumer.getEvents(producer).equals(Arrays.asList(1, 2));
+    }
+
+    @Test
+    public void testOverflowFailWithoutReference() throws InterruptedException
+    {
+        Object producer = new Object();
+        BlockingConsumer blockingConsumer = new BlockingConsumer();
+        RecordingConsumer consumer = new RecordingConsumer(2, 0);
+        Dispatcher dispatcher = createFullDispatcher(OverflowPolicy.FAIL, producer, blockingConsumer, consumer);
+
+        try
+        {
+            dispatcher.enqueue(Type.FIRE, producer, Integer.valueOf(3), Tags.NONE);
+
+            assert false : "Failure expected";
+        }
+        catch (RejectedExecutionException e)
+        {
+            assert dispatcher.getOverflowCount(OverflowPolicy.FAIL) == 1;
+        }
+
+        blockingConsumer.released.countDown();
+        consumer.await();
+
+        assert consumer.getEvents(producer).equals(Arrays.asList(1, 2));
+    }
+
+    @Test
+    public void testOverflowDropNewest() throws InterruptedException
+    {
+        Object producer = new Object();
+        BlockingConsumer blockingConsumer = new BlockingConsumer();
+        RecordingConsumer consumer = new RecordingConsumer(2, 0);
+        Dispatcher dispatcher = createFullDispatcher(OverflowPolicy.DROP_NEWEST, producer, blockingConsumer, consumer);
+        Action action = new Action(Type.FIRE, producer, Integer.valueOf(3), System.nanoTime());
+
+        dispatcher.enqueue(action);
+
+        assert action.isDropped();
+        assert dispatcher.getOverflowCount(OverflowPolicy.DROP_NEWEST) == 1;
+
+        blockingConsumer.released.countDown();
+        consumer.await();
+
+        assert consumer.getEvents(producer).equals(Arrays.asList(1, 2));
+    }
+
+    @Test
+    public void testOverflowDropOldest() throws InterruptedException
+    {
+        Object producer = new Object();
+        BlockingConsumer blockingConsumer = new BlockingConsumer();
+        RecordingConsumer consumer = new RecordingConsumer(2, 0);
+        Dispatcher dispatcher = createDispatcher(1, 0);
+
+        dispatcher.setCapacity(2, OverflowPolicy.DROP_OLDEST);
+        dispatcher.enqueue(new Action(Type.BIND, producer, blockingConsumer, System.nanoTime()));
+        dispatcher.enqueue(new Action(Type.BIND, producer, consumer, System.nanoTime()));
+        dispatcher.enqueue(new Action(Type.FIRE, producer, "Blocking", System.nanoTime()));
+
+        boolean received = blockingConsumer.received.await(10, TimeUnit.SECONDS);
+
+        assert received;
+
+        Action oldest = new Action(Type.FIRE, producer, Integer.valueOf(1), System.nanoTime());
+
+        dispatcher.enqueue(oldest);
+        dispatcher.enqueue(new Action(Type.FIRE, producer, Integer.valueOf(2), System.nanoTime()));
+        dispatcher.enqueue(new Action(Type.FIRE, producer, Integer.valueOf(3), System.nanoTime()));
+
+        assert oldest.isDropped();
+        assert dispatcher.getOverflowCount(OverflowPolicy.DROP_OLDEST) == 1;
+
+        blockingConsumer.released.countDown();
+        consumer.await();
+
+        assert consumer.getEvents(producer).equals(Arrays.asList(2, 3));
+    }
+
+    @Test
+    public void testOverflowCallerRuns() throws InterruptedException
+    {
+        Object producer = new Object();
+        BlockingConsumer blockingConsumer = new BlockingConsumer();
+        RecordingConsumer consumer = new RecordingConsumer(3, 0);
+        Dispatcher dispatcher = createFullDispatcher(OverflowPolicy.CALLER_RUNS, producer, blockingConsumer, consumer);
+        Action action = new Action(Type.FIRE, producer, Integer.valueOf(3), System.nanoTime());
+
+        dispatcher.enqueue(action);
+
+        assert action.isExecuted();
+        assert consumer.getEvents(producer).equals(Arrays.asList(3));
+
+        blockingConsumer.released.countDown();
+        consumer.await();
+
+        assert consumer.getEvents(producer).equals(Arrays.asList(3, 1, 2));
+    }
+
+    @Test
+    public void testOverflowBlock() throws InterruptedException
+    {
+        final Object producer = new Object();
+        BlockingConsumer blockingConsumer = new BlockingConsumer();
+        RecordingConsumer consumer = new RecordingConsumer(3, 0);
+        final Dispatcher dispatcher = createFullDispatcher(OverflowPolicy.BLOCK, producer, blockingConsumer, consumer);
+
+        Thread thread = new Thread(new Runnable()
+        {
+            public void run()
+            {
+                dispatcher.enqueue(new Action(Type.FIRE, producer, Integer.valueOf(3), System.nanoTime()));
+            }
+        });
+
+        thread.start();
+        thread.join(200);
+
+        assert thread.isAlive() : "Thread should block while the lane is full";
+
+        blockingConsumer.released.countDown();
+        thread.join(10000);
+
+        assert !thread.isAlive();
+
+        consumer.await();
+
+        assert consumer.getEvents(producer).equals(Arrays.asList(1, 2, 3));
+        assert dispatcher.getOverflowCount(OverflowPolicy.BLOCK) == 1;
+    }
+
+    @Test
+    public void testConflation() throws InterruptedException
+    {
+        Object producer = new Object();
+        BlockingConsumer blockingConsumer = new BlockingConsumer();
+        RecordingConsumer consumer = new RecordingConsumer(3, 0);
+        Dispatcher dispatcher = createDispatcher(1, 0);
+
+        dispatcher.enqueue(new Action(Type.BIND, producer, blockingConsumer, System.nanoTime()));
+        dispatcher.enqueue(new Action(Type.BIND, producer, consumer, System.nanoTime()));
+        dispatcher.enqueue(new Action(Type.FIRE, producer, "Blocking", System.nanoTime()));
+
+        boolean received = blockingConsumer.received.await(10, TimeUnit.SECONDS);
+
+        assert received;
+
+        List<Action> actions = new ArrayList<Action>();
+
+        for (int i = 1; i <= 100; i += 1)
+        {
+            Action action = new Action(Type.FIRE, producer, Integer.valueOf(i), System.nanoTime());
+
+            action.setConflationKey(new ConflationKey(producer, Integer.class, new String[0]));
+            dispatcher.conflate(action);
+            actions.add(action);
+        }
+
+        dispatcher.enqueue(new Action(Type.FIRE, producer, Integer.valueOf(1000), System.nanoTime()));
+
+        for (int i = 0; i < 99; i += 1)
+        {
+            assert actions.get(i).isSuperseded();
+        }
+
+        assert !actions.get(99).isSuperseded();
+
+        blockingConsumer.released.countDown();
+
+        // the conflated action has been taken, the next one gets enqueued again
+        Action action = new Action(Type.FIRE, producer, Integer.valueOf(101), System.nanoTime());
+
+        action.setConflationKey(new ConflationKey(producer, Integer.class, new String[0]));
+
+        while (!actions.get(99).isExecuted())
+        {
+            Thread.sleep(1);
+        }
+
+        dispatcher.conflate(action);
+        consumer.await();
+
+        assert consumer.getEvents(producer).equals(Arrays.asList(100, 1000, 101));
+        assert !action.isSuperseded();
+    }
+
+    @Test
+    public void testRingOrderPerProducer() throws InterruptedException
+    {
+        final Dispatcher dispatcher = createDispatcher(2, 16);
+        final RecordingConsumer consumer = new RecordingConsumer(4 * 10000, 0);
+        List<Thread> threads = new ArrayList<Thread>();
+        final List<Object> producers = new ArrayList<Object>();
+
+        for (int i = 0; i < 4; i += 1)
+        {
+            final Object producer = new Object();
+
+            producers.add(producer);
+            dispatcher.enqueue(Type.BIND, producer, consumer, null);
+
+            threads.add(new Thread(new Runnable()
+            {
+                public void run()
+                {
+                    for (int j = 0; j < 10000; j += 1)
+                    {
+                        dispatcher.enqueue(Type.FIRE, producer, Integer.valueOf(j), null);
+                    }
+                }
+            }));
+        }
+
+        for (Thread thread : threads)
+        {
+            thread.start();
+        }
+
+        consumer.await();
+
+        for (Object producer : producers)
+        {
+            List<Integer> events = consumer.getEvents(producer);
+
+            assert events.size() == 10000;
+
+            for (int j = 0; j < 10000; j += 1)
+            {
+                assert events.get(j).intValue() == j;
+            }
+        }
+    }
+
+    @Test
+    public void testRingFullByOwnLane() throws InterruptedException
+    {
+        Dispatcher dispatcher = createDispatcher(1, 4);
+        Object producer = new Object();
+        BurstConsumer burstConsumer = new BurstConsumer(dispatcher);
+        RecordingConsumer consumer = new RecordingConsumer(100, 0);
+
+        dispatcher.enqueue(Type.BIND, producer, burstConsumer, null);
+        dispatcher.enqueue(Type.BIND, producer, consumer, null);
+        dispatcher.enqueue(Type.FIRE, producer, "Burst", null);
+
+        consumer.await();
+
+        List<Integer> events = consumer.getEvents(producer);
+
+        for (int i = 0; i < 100; i += 1)
+        {
+            assert events.get(i).intValue() == i;
+        }
+    }
+
+    @Test
+    public void testRingFullByOwnHandler() throws InterruptedException
+    {
+        Dispatcher dispatcher = createDispatcher(1, 4);
+        Object producer = new Object();
+        NestingConsumer consumer = new NestingConsumer(dispatcher, 100);
+
+        dispatcher.enqueue(Type.BIND, producer, consumer, null);
+        dispatcher.enqueue(Type.FIRE, producer, Integer.valueOf(0), null);
+
+        consumer.await();
+
+        assert !consumer.isNested() : "Handler has been invoked while handling an event";
+
+        List<Integer> events = consumer.getEvents();
+
+        for (int i = 0; i < 100; i += 1)
+        {
+            assert events.get(i).intValue() == i;
+        }
+    }
+
+    @Test
+    public void testRingAllocationFree() throws InterruptedException
+    {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+        if ((!(bean instanceof com.sun.management.ThreadMXBean))
+            || (!((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()))
+        {
+            return;
+        }
+
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        Dispatcher dispatcher = createDispatcher(1, 1024);
+        Object producer = new Object();
+        CountingConsumer consumer = new CountingConsumer();
+        Tags tags = Tags.NONE;
+        int count = 1000000;
+
+        dispatcher.enqueue(Type.BIND, producer, consumer, null);
+
+        // warm up
+        for (int i = 0; i < 100000; i += 1)
+        {
+            dispatcher.enqueue(Type.FIRE, producer, "Event", tags);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long allocatedBytes = threadBean.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < count; i += 1)
+        {
+            dispatcher.enqueue(Type.FIRE, producer, "Event", tags);
+        }
+
+        allocatedBytes = threadBean.getThreadAllocatedBytes(threadId) - allocatedBytes;
+
+        assert allocatedBytes < count : "Expected less than one byte per fire, but got " + allocatedBytes + " bytes for "
+            + count + " fires";
+    }
+
+    private Dispatcher createFullDispatcher(OverflowPolicy overflowPolicy, Object producer,
+        BlockingConsumer blockingConsumer, RecordingConsumer consumer) throws InterruptedException
+    {
+        Dispatcher dispatcher = createDispatcher(1, 0);
+
+        dispatcher.setCapacity(2, overflowPolicy);
+        dispatcher.enqueue(new Action(Type.BIND, producer, blockingConsumer, System.nanoTime()));
+        dispatcher.enqueue(new Action(Type.BIND, producer, consumer, System.nanoTime()));
+        dispatcher.enqueue(new Action(Type.FIRE, producer, "Blocking", System.nanoTime()));
+
+        boolean received = blockingConsumer.received.await(10, TimeUnit.SECONDS);
+
+        assert received;
+
+        dispatcher.enqueue(new Action(Type.FIRE, producer, Integer.valueOf(1), System.nanoTime()));
+        dispatcher.enqueue(new Action(Type.FIRE, producer, Integer.valueOf(2), System.nanoTime()));
+
+        return dispatcher;
+    }
+
+}
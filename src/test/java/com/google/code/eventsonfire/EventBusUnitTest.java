@@ -0,0 +1,580 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import com.google.code.eventsonfire.error.DefaultErrorHandler;
+
+/**
+ * Unit test for the {@link EventBus} class
+ * 
+ * @author Manfred Hantschel
+ */
+@Test
+public class EventBusUnitTest
+{
+
+    public static class FailingConsumer
+    {
+        @PooledEventHandler
+        public void handleEvent(String event)
+        {
+            throw new IllegalStateException("Failed by intention");
+        }
+    }
+
+    public static class RecordingErrorHandler extends DefaultErrorHandler
+    {
+        private final CountDownLatch failed = new CountDownLatch(1);
+
+        @Override
+        public void invocationFailed(Method method, String message, Throwable cause, Object producer,
+            Object consumer, Object event, String... tags)
+        {
+            failed.countDown();
+        }
+    }
+
+    private final List<EventBus> buses = new ArrayList<EventBus>();
+
+    private EventBus createBus(String name, int numberOfLanes)
+    {
+        EventBus bus = new EventBus(name, numberOfLanes);
+
+        buses.add(bus);
+
+        return bus;
+    }
+
+    @AfterMethod
+    public void shutdownBuses()
+    {
+        for (EventBus bus : buses)
+        {
+            bus.shutdown();
+        }
+
+        buses.clear();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testConstructorFail()
+    {
+        new EventBus(null);
+    }
+
+    @Test
+    public void testIsolation() throws InterruptedException
+    {
+        EventBus busA = createBus("Bus A", 1);
+        EventBus busB = createBus("Bus B", 2);
+        Object producer = new Object();
+        EventsTestConsumer consumerA = new EventsTestConsumer();
+        EventsTestConsumer consumerB = new EventsTestConsumer();
+
+        assert busB.getNumberOfLanes() == 2;
+
+        busA.bind(producer, consumerA);
+        busB.bind(producer, consumerB);
+
+        busA.fire(producer, "Event A");
+        consumerA.waitForSize(1);
+
+        assert "Event A".equals(consumerA.popEvent().getEvent());
+
+        busB.fire(producer, "Event B");
+        consumerB.waitForSize(1);
+
+        assert "Event B".equals(consumerB.popEvent().getEvent());
+
+        Events.fire(producer, "Event of default bus");
+
+        boolean completed = busA.fire(producer, "Event #2", 0).await(10, TimeUnit.SECONDS);
+
+        assert completed;
+
+        completed = busB.fire(producer, "Event #2", 0).await(10, TimeUnit.SECONDS);
+
+        assert completed;
+
+        assert "Event #2".equals(consumerA.popEvent().getEvent());
+        assert "Event #2".equals(consumerB.popEvent().getEvent());
+        assert consumerA.size() == 0;
+        assert consumerB.size() == 0;
+    }
+
+    @Test
+    public void testUnbindAll() throws InterruptedException
+    {
+        EventBus bus = createBus("Bus", 2);
+        Integer producerA = new Integer(1);
+        Integer producerB = new Integer(2);
+        EventsTestConsumer consumer = new EventsTestConsumer();
+        EventsTestConsumer otherConsumer = new EventsTestConsumer();
+
+        bus.bind(producerA, consumer, otherConsumer);
+        bus.bind(producerB, consumer);
+        bus.bind(Number.class, consumer);
+        bus.unbindAll(consumer);
+
+        boolean completed = bus.fire(producerA, "Event A", 0).await(10, TimeUnit.SECONDS);
+
+        assert completed;
+
+        completed = bus.fire(producerB, "Event B", 0).await(10, TimeUnit.SECONDS);
+
+        assert completed;
+
+        assert consumer.size() == 0;
+        assert otherConsumer.size() == 1;
+        assert "Event A".equals(otherConsumer.popEvent().getEvent());
+
+        bus.bind(producerB, consumer);
+
+        completed = bus.fire(producerB, "Event B", 0).await(10, TimeUnit.SECONDS);
+
+        assert completed;
+        assert "Event B".equals(consumer.popEvent().getEvent());
+    }
+
+    @Test
+    public void testRelease() throws InterruptedException
+    {
+        EventBus bus = createBus("Bus", 2);
+        Integer producer = new Integer(1);
+        EventsTestConsumer consumerA = new EventsTestConsumer();
+        EventsTestConsumer consumerB = new EventsTestConsumer();
+        EventsTestConsumer consumerOnNumber = new EventsTestConsumer();
+
+        bus.bind(producer, consumerA, consumerB);
+        bus.bind(Number.class, consumerOnNumber);
+
+        Object released = bus.release(producer);
+
+        assert released == producer;
+
+        boolean completed = bus.fire(producer, "Event #1", 0).await(10, TimeUnit.SECONDS);
+
+        assert completed;
+
+        assert consumerA.size() == 0;
+        assert consumerB.size() == 0;
+        assert "Event #1".equals(consumerOnNumber.popEvent().getEvent());
+
+        bus.release(Number.class);
+        bus.bind(producer, consumerA);
+
+        completed = bus.fire(producer, "Event #2", 0).await(10, TimeUnit.SECONDS);
+
+        assert completed;
+
+        assert "Event #2".equals(consumerA.popEvent().getEvent());
+        assert consumerB.size() == 0;
+        assert consumerOnNumber.size() == 0;
+    }
+
+    @Test
+    public void testClassBindingsChanged() throws InterruptedException
+    {
+        EventBus bus = createBus("Bus", 1);
+        Long producer = new Long(1);
+        EventsTestConsumer consumerOnNumber = new EventsTestConsumer();
+        EventsTestConsumer consumerOnComparable = new EventsTestConsumer();
+
+        bus.bind(Number.class, consumerOnNumber);
+
+        boolean completed = bus.fire(producer, "Event #1", 0).await(10, TimeUnit.SECONDS);
+
+        assert completed;
+        assert "Event #1".equals(consumerOnNumber.popEvent().getEvent());
+
+        bus.bind(Comparable.class, consumerOnComparable);
+
+        completed = bus.fire(producer, "Event #2", 0).await(10, TimeUnit.SECONDS);
+
+        assert completed;
+        assert "Event #2".equals(consumerOnNumber.popEvent().getEvent());
+        assert "Event #2".equals(consumerOnComparable.popEvent().getEvent());
+
+        bus.unbind(Object.class, consumerOnNumber);
+
+        completed = bus.fire(producer, "Event #3", 0).await(10, TimeUnit.SECONDS);
+
+        assert completed;
+        assert consumerOnNumber.size() == 0;
+        assert "Event #3".equals(consumerOnComparable.popEvent().getEvent());
+    }
+
+    public static class RoutedConsumer extends AbstractTestConsumer
+    {
+        @EventHandler(anyTag = {"route-x", "route-y"})
+        public void handleEvent(final String event, final String... tags)
+        {
+            pushEvent("handleEvent", null, event);
+        }
+    }
+
+    public static class OrderedConsumer
+    {
+        private final String name;
+        private final List<String> names;
+
+        public OrderedConsumer(String name, List<String> names)
+        {
+            super();
+
+            this.name = name;
+            this.names = names;
+        }
+
+        @EventHandler
+        public void handleEvent(final String event)
+        {
+            names.add(name);
+        }
+    }
+
+    public static class OrderedXConsumer extends OrderedConsumer
+    {
+        public OrderedXConsumer(String name, List<String> names)
+        {
+            super(name, names);
+        }
+
+        @Override
+        @EventHandler(anyTag = "order-x")
+        public void handleEvent(final String event)
+        {
+            super.handleEvent(event);
+        }
+    }
+
+    public static class OrderedXYConsumer extends OrderedConsumer
+    {
+        public OrderedXYConsumer(String name, List<String> names)
+        {
+            super(name, names);
+        }
+
+        @Override
+        @EventHandler(anyTag = {"order-x", "order-y"})
+        public void handleEvent(final String event)
+        {
+            super.handleEvent(event);
+        }
+    }
+
+    @Test
+    public void testFireByTagRoutesInOrderOfBinding() throws InterruptedException
+    {
+        EventBus bus = createBus("Bus", 1);
+        Object producer = new Object();
+        List<String> names = new ArrayList<String>();
+
+        bus.bind(producer, new OrderedXYConsumer("A", names), new OrderedConsumer("B", names), new OrderedXConsumer(
+            "C", names), new OrderedXYConsumer("D", names), new OrderedConsumer("E", names));
+
+        boolean completed = bus.fire(producer, "Event", 0, "order-y", "order-x").await(10, TimeUnit.SECONDS);
+
+        assert completed;
+        assert names.equals(Arrays.asList("A", "B", "C", "D", "E")) : names;
+
+        names.clear();
+        completed = bus.fire(producer, "Event", 0, "order-y").await(10, TimeUnit.SECONDS);
+
+        assert completed;
+        assert names.equals(Arrays.asList("A", "B", "D", "E")) : names;
+    }
+
+    @Test
+    public void testFireByTagRoutes() throws InterruptedException
+    {
+        EventBus bus = createBus("Bus", 1);
+        Object producer = new Object();
+        RoutedConsumer routedConsumer = new RoutedConsumer();
+        EventsTestConsumer consumer = new EventsTestConsumer();
+
+        bus.bind(producer, routedConsumer, consumer);
+
+        boolean completed = bus.fire(producer, "Event #1", 0, "route-z").await(10, TimeUnit.SECONDS);
+
+        assert completed;
+        assert routedConsumer.size() == 0;
+        assert "Event #1".equals(consumer.popEvent().getEvent());
+
+        completed = bus.fire(producer, "Event #2", 0, "route-y", null, "route-x").await(10, TimeUnit.SECONDS);
+
+        assert completed;
+        assert routedConsumer.size() == 1;
+        assert "Event #2".equals(routedConsumer.popEvent().getEvent());
+        assert "Event #2".equals(consumer.popEvent().getEvent());
+
+        bus.unbind(producer, routedConsumer);
+
+        completed = bus.fire(producer, "Event #3", 0, "route-x").await(10, TimeUnit.SECONDS);
+
+        assert completed;
+        assert routedConsumer.size() == 0;
+        assert "Event #3".equals(consumer.popEvent().getEvent());
+    }
+
+    @Test
+    public void testFireNowWhileBinding() throws InterruptedException
+    {
+        EventBus bus = createBus("Bus", 1);
+        Object producer = new Object();
+        EventsTestConsumer[] consumers = new EventsTestConsumer[32];
+
+        for (int i = 0; i < consumers.length; i += 1)
+        {
+            consumers[i] = new EventsTestConsumer();
+
+            bus.bind(producer, consumers[i]);
+            bus.fireNow(producer, "Event #" + i);
+        }
+
+        boolean completed = bus.fire(producer, "Event", 0).await(10, TimeUnit.SECONDS);
+
+        assert completed;
+
+        bus.fireNow(producer, "Last Event");
+
+        for (EventsTestConsumer consumer : consumers)
+        {
+            assert "Last Event".equals(consumer.popEvent().getEvent());
+            assert "Event".equals(consumer.popEvent().getEvent());
+        }
+
+        int size = consumers[0].size();
+
+        bus.unbind(producer, consumers[0]);
+
+        completed = bus.fire(producer, "Unbound", 0).await(10, TimeUnit.SECONDS);
+
+        assert completed;
+        assert consumers[0].size() == size;
+        assert "Unbound".equals(consumers[consumers.length - 1].popEvent().getEvent());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBindFail()
+    {
+        createBus("Bus", 1).bind(new Object(), new EventsTestConsumer(), new Object());
+    }
+
+    @Test
+    public void testPreload()
+    {
+        EventBus bus = createBus("Bus", 1);
+
+        bus.preload(EventsTestConsumer.class, FailingConsumer.class, RoutedConsumer.class);
+
+        assert bus.getConsumerClassInfo(RoutedConsumer.class) == bus.getConsumerClassInfo(RoutedConsumer.class);
+
+        try
+        {
+            bus.preload(EventsTestConsumer.class, Object.class);
+
+            assert false : "Failure expected";
+        }
+        catch (IllegalArgumentException e)
+        {
+            assert e.getMessage().contains(Object.class.getName());
+        }
+    }
+
+    @Test
+    public void testPreloadFromPool() throws Exception
+    {
+        final EventBus bus = createBus("Bus", 1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        try
+        {
+            bus.setExecutorService(executorService);
+
+            Future<?> future = executorService.submit(new Runnable()
+            {
+                public void run()
+                {
+                    bus.preload(EventsTestConsumer.class, FailingConsumer.class);
+                }
+            });
+
+            future.get(10, TimeUnit.SECONDS);
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testPreloadInterrupted()
+    {
+        EventBus bus = createBus("Bus", 1);
+
+        Thread.currentThread().interrupt();
+
+        bus.preload(RoutedConsumer.class);
+
+        boolean interrupted = Thread.interrupted();
+
+        assert interrupted;
+    }
+
+    @Test
+    public void testParallelScans() throws InterruptedException
+    {
+        final EventBus bus = createBus("Bus", 1);
+        final CountDownLatch scanning = new CountDownLatch(2);
+        final AtomicInteger overlapping = new AtomicInteger();
+
+        // each scan waits for the other one, thus both succeed only if they overlap
+        bus.registerStrategy(new EventHandlerStrategy()
+        {
+            public void scan(Collection<EventHandlerInfo> infos, Class<?> type)
+            {
+                scanning.countDown();
+
+                try
+                {
+                    if (scanning.await(2, TimeUnit.SECONDS))
+                    {
+                        overlapping.incrementAndGet();
+                    }
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        Thread thread = new Thread(new Runnable()
+        {
+            public void run()
+            {
+                bus.getConsumerClassInfo(RoutedConsumer.class);
+            }
+        });
+
+        thread.start();
+
+        bus.getConsumerClassInfo(EventsTestConsumer.class);
+
+        thread.join(10000);
+
+        assert overlapping.get() == 2 : "Scans did not overlap";
+    }
+
+    @Test
+    public void testErrorHandlerOfBus() throws InterruptedException
+    {
+        EventBus bus = createBus("Bus", 1);
+        RecordingErrorHandler errorHandler = new RecordingErrorHandler();
+        Object producer = new Object();
+        FailingConsumer consumer = new FailingConsumer();
+
+        bus.setErrorHandler(errorHandler);
+        bus.bind(producer, consumer);
+
+        EventReference reference = bus.fire(producer, "Event", 0);
+
+        boolean completed = reference.await(10, TimeUnit.SECONDS);
+
+        assert completed;
+        assert reference.getFailures().size() == 1;
+
+        boolean failed = errorHandler.failed.await(10, TimeUnit.SECONDS);
+
+        assert failed;
+    }
+
+    @Test
+    public void testShutdown() throws InterruptedException
+    {
+        EventBus bus = new EventBus("Shutdown Bus", 2);
+
+        bus.shutdown();
+
+        assert bus.isShutdown();
+        assert bus.getExecutorService().isShutdown();
+
+        try
+        {
+            bus.bind(new Object(), new EventsTestConsumer());
+
+            assert false : "Failure expected";
+        }
+        catch (IllegalStateException e)
+        {
+            // expected
+        }
+
+        try
+        {
+            bus.fireNow(new Object(), "Event");
+
+            assert false : "Failure expected";
+        }
+        catch (IllegalStateException e)
+        {
+            // expected
+        }
+
+        for (int i = 0; (i < 100) && (isRunning("Shutdown Bus")); i += 1)
+        {
+            Thread.sleep(10);
+        }
+
+        assert !isRunning("Shutdown Bus");
+
+        bus.shutdown();
+    }
+
+    private static boolean isRunning(String name)
+    {
+        for (Thread thread : Thread.getAllStackTraces().keySet())
+        {
+            if ((thread.isAlive()) && (thread.getName().startsWith(name)))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+}
@@ -1,213 +1,616 @@
-/*
- * Copyright (c) 2011-2013 events-on-fire Team
- * 
- * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
- * License (MIT).
- * 
- * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
- * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
- * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
- * permit persons to whom the Software is furnished to do so, subject to the following conditions:
- * 
- * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
- * Software.
- * 
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
- * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
- * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
- * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
- */
-package com.google.code.eventsonfire;
-
-import org.testng.annotations.Test;
-
-@Test
-public class EventsUnitTest
-{
-
-    @Test(expectedExceptions = IllegalArgumentException.class)
-    public void testBindWithoutProducer()
-    {
-        Events.bind(null, new EventsTestConsumer());
-    }
-
-    @Test(expectedExceptions = IllegalArgumentException.class)
-    public void testBindWithoutConsumer()
-    {
-        Events.bind(new Object(), new Object[]{null});
-    }
-
-    @Test
-    public void testFire() throws InterruptedException
-    {
-        final Object producer = new Object();
-        final EventsTestConsumer consumerA = new EventsTestConsumer();
-        final EventsTestConsumer consumerB = new EventsTestConsumer();
-
-        Events.bind(producer, consumerA);
-        Events.fire(producer, "Event #1");
-        Events.bind(producer, consumerB);
-
-        consumerA.waitForSize(1);
-        assert consumerB.size() == 0;
-
-        assert "Event #1".equals(consumerA.popEvent().getEvent());
-
-        Events.fire(producer, "Event #2");
-
-        consumerA.waitForSize(1);
-        consumerB.waitForSize(1);
-
-        assert "Event #2".equals(consumerA.popEvent().getEvent());
-        assert "Event #2".equals(consumerB.popEvent().getEvent());
-
-        Events.unbind(producer, consumerB);
-
-        Events.fire(producer, "Event #3");
-
-        consumerA.waitForSize(1);
-        assert consumerB.size() == 0;
-
-        assert "Event #3".equals(consumerA.popEvent().getEvent());
-    }
-
-    @Test
-    public void testFireToInstancesOf() throws InterruptedException
-    {
-        Integer producer = new Integer(0);
-        EventsTestConsumer consumerOnObject = new EventsTestConsumer();
-        EventsTestConsumer consumerOnNumber = new EventsTestConsumer();
-        EventsTestConsumer consumerOnInteger = new EventsTestConsumer();
-        EventsTestConsumer consumerOnLong = new EventsTestConsumer();
-
-        Events.bind(Object.class, consumerOnObject);
-        Events.bind(Number.class, consumerOnNumber);
-        Events.bind(Integer.class, consumerOnInteger);
-        Events.bind(Long.class, consumerOnLong);
-
-        Events.fire(producer, "Event #1");
-
-        consumerOnObject.waitForSize(1);
-        consumerOnNumber.waitForSize(1);
-        consumerOnInteger.waitForSize(1);
-        assert consumerOnLong.size() == 0;
-
-        assert "Event #1".equals(consumerOnObject.popEvent().getEvent());
-        assert "Event #1".equals(consumerOnNumber.popEvent().getEvent());
-        assert "Event #1".equals(consumerOnInteger.popEvent().getEvent());
-
-        Events.unbind(Object.class, consumerOnNumber);
-        Events.unbind(Number.class, consumerOnInteger);
-        Events.unbind(Number.class, consumerOnLong);
-
-        Events.fire(producer, "Event #2");
-
-        consumerOnObject.waitForSize(1);
-        assert consumerOnNumber.size() == 0;
-        assert consumerOnInteger.size() == 0;
-        assert consumerOnLong.size() == 0;
-
-        assert "Event #2".equals(consumerOnObject.popEvent().getEvent());
-    }
-
-    @Test
-    public void testFireToInstancesOfSpecialA() throws InterruptedException
-    {
-        Integer producer = new Integer(0);
-        EventsTestConsumer consumer = new EventsTestConsumer();
-
-        Events.bind(Object.class, consumer);
-        Events.bind(Number.class, consumer);
-        Events.bind(producer, consumer);
-        Events.fire(producer, "Event #1");
-
-        consumer.waitForSize(3);
-
-        assert "Event #1".equals(consumer.popEvent().getEvent());
-        assert "Event #1".equals(consumer.popEvent().getEvent());
-        assert "Event #1".equals(consumer.popEvent().getEvent());
-
-        Events.unbind(Integer.class, consumer);
-        Events.fire(producer, "Event #1");
-
-        consumer.waitForSize(2);
-
-        assert "Event #1".equals(consumer.popEvent().getEvent());
-        assert "Event #1".equals(consumer.popEvent().getEvent());
-
-        Events.unbind(Object.class, consumer);
-        assert consumer.size() == 0;
-    }
-
-    @Test
-    public void testFireToInstancesOfSpecialB() throws InterruptedException
-    {
-        EventsTestConsumer consumer = new EventsTestConsumer();
-
-        Events.bind(EventsUnitTest.class, consumer);
-        Events.fire(EventsUnitTest.class, "Event #1");
-
-        consumer.waitForSize(1);
-
-        assert "Event #1".equals(consumer.popEvent().getEvent());
-
-        Events.unbind(EventsUnitTest.class, consumer);
-    }
-
-    @Test
-    public void testFireTimedAndCancel() throws InterruptedException
-    {
-        EventsTestConsumer consumer = new EventsTestConsumer();
-
-        Events.bind(EventsUnitTest.class, consumer);
-
-        long millis = System.currentTimeMillis();
-
-        EventReference reference1 = Events.fire(EventsUnitTest.class, "Event #1", 2);
-        EventReference reference2 = Events.fire(EventsUnitTest.class, "Event #2", 2);
-
-        assert !reference1.isFired();
-        assert !reference1.isCanceled();
-
-        assert !reference2.isFired();
-        assert !reference2.isCanceled();
-
-        reference1.cancel();
-
-        consumer.waitForSize(1);
-
-        long time = System.currentTimeMillis() - millis;
-        
-        assert time >= 2000 : "Too early: " + time;
-        assert "Event #2".equals(consumer.popEvent().getEvent());
-        assert consumer.isEmpty();
-        
-        Events.unbind(EventsUnitTest.class, consumer);
-    }
-
-    @Test
-    public void testDisable() throws InterruptedException
-    {
-        final Object producer = new Object();
-        final EventsTestConsumer consumer = new EventsTestConsumer();
-
-        Events.bind(producer, consumer);
-        Events.fire(producer, "Event #1");
-        Events.disable();
-        Events.fire(producer, "Event #2");
-        Events.fire(producer, "Event #3");
-        Events.fire(producer, "Event #4");
-        Events.enable();
-        Events.fire(producer, "Event #5");
-
-        consumer.waitForSize(2);
-
-        assert "Event #5".equals(consumer.popEvent().getEvent());
-        assert "Event #1".equals(consumer.popEvent().getEvent());
-    }
-
-    //    public static void main(String[] args) throws InterruptedException
-    //    {
-    //        new EventsUnitTest().testFireToInstancesOfSpecialB();
-    //    }
-}
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+@Test
+public class EventsUnitTest
+{
+
+    public static class CompletionTestConsumer
+    {
+        private volatile boolean pooledHandled = false;
+
+        @EventHandler
+        public void handleEvent(String event)
+        {
+            // intentionally left blank
+        }
+
+        @PooledEventHandler
+        public void handlePooledEvent(String event) throws InterruptedException
+        {
+            Thread.sleep(100);
+
+            pooledHandled = true;
+        }
+
+        @EventHandler
+        public void handleFailingEvent(Integer event)
+        {
+            throw new IllegalStateException("Failed by intention");
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBindWithoutProducer()
+    {
+        Events.bind(null, new EventsTestConsumer());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBindWithoutConsumer()
+    {
+        Events.bind(new Object(), new Object[]{null});
+    }
+
+    @Test
+    public void testFire() throws InterruptedException
+    {
+        final Object producer = new Object();
+        final EventsTestConsumer consumerA = new EventsTestConsumer();
+        final EventsTestConsumer consumerB = new EventsTestConsumer();
+
+        Events.bind(producer, consumerA);
+        Events.fire(producer, "Event #1");
+        Events.bind(producer, consumerB);
+
+        consumerA.waitForSize(1);
+        assert consumerB.size() == 0;
+
+        assert "Event #1".equals(consumerA.popEvent().getEvent());
+
+        Events.fire(producer, "Event #2");
+
+        consumerA.waitForSize(1);
+        consumerB.waitForSize(1);
+
+        assert "Event #2".equals(consumerA.popEvent().getEvent());
+        assert "Event #2".equals(consumerB.popEvent().getEvent());
+
+        Events.unbind(producer, consumerB);
+
+        Events.fire(producer, "Event #3");
+
+        consumerA.waitForSize(1);
+        assert consumerB.size() == 0;
+
+        assert "Event #3".equals(consumerA.popEvent().getEvent());
+    }
+
+    @Test
+    public void testFireNow() throws InterruptedException
+    {
+        final Integer producer = new Integer(0);
+        final EventsTestConsumer consumer = new EventsTestConsumer();
+        final EventsTestConsumer consumerOnNumber = new EventsTestConsumer();
+
+        Events.bind(producer, consumer);
+        Events.bind(Number.class, consumerOnNumber);
+        Events.fire(producer, "Event #1");
+
+        consumer.waitForSize(1);
+        consumerOnNumber.waitForSize(1);
+
+        consumer.popEvent();
+        consumerOnNumber.popEvent();
+
+        Events.fireNow(producer, "Event #2");
+
+        assert consumer.size() == 1;
+        assert consumerOnNumber.size() == 1;
+
+        assert "Event #2".equals(consumer.popEvent().getEvent());
+        assert "Event #2".equals(consumerOnNumber.popEvent().getEvent());
+
+        Events.unbind(Number.class, consumerOnNumber);
+    }
+
+    @Test
+    public void testFireAll() throws InterruptedException
+    {
+        final Object producer = new Object();
+        final EventsTestConsumer consumer = new EventsTestConsumer();
+
+        Events.bind(producer, consumer);
+        Events.fireAll(producer, Arrays.asList("Event #1", Integer.valueOf(2), "Event #3"));
+
+        consumer.waitForSize(3);
+
+        assert "Event #3".equals(consumer.popEvent().getEvent());
+        assert Integer.valueOf(2).equals(consumer.popEvent().getEvent());
+        assert "Event #1".equals(consumer.popEvent().getEvent());
+    }
+
+    @Test
+    public void testBatch() throws InterruptedException
+    {
+        final Object producer = new Object();
+        final EventsTestConsumer consumerA = new EventsTestConsumer();
+        final EventsTestConsumer consumerB = new EventsTestConsumer();
+
+        Events.batch(new Runnable()
+        {
+            public void run()
+            {
+                Events.bind(producer, consumerA);
+                Events.fire(producer, "Event #1");
+                Events.bind(producer, consumerB);
+                Events.fireAll(producer, Arrays.asList("Event #2", "Event #3"));
+
+                assert consumerA.isEmpty();
+            }
+        });
+
+        consumerA.waitForSize(3);
+        consumerB.waitForSize(2);
+
+        assert "Event #3".equals(consumerA.popEvent().getEvent());
+        assert "Event #2".equals(consumerA.popEvent().getEvent());
+        assert "Event #1".equals(consumerA.popEvent().getEvent());
+        assert "Event #3".equals(consumerB.popEvent().getEvent());
+        assert "Event #2".equals(consumerB.popEvent().getEvent());
+    }
+
+    @Test
+    public void testBatchDiscarded() throws InterruptedException
+    {
+        final Object producer = new Object();
+        final EventsTestConsumer consumer = new EventsTestConsumer();
+
+        Events.bind(producer, consumer);
+
+        Events.batch(new Runnable()
+        {
+            public void run()
+            {
+                Events.fire(producer, "Event #1");
+
+                try
+                {
+                    Events.batch(new Runnable()
+                    {
+                        public void run()
+                        {
+                            Events.fire(producer, "Event #2");
+
+                            throw new IllegalStateException("Discard");
+                        }
+                    });
+
+                    assert false : "Exception expected";
+                }
+                catch (IllegalStateException e)
+                {
+                    // expected
+                }
+            }
+        });
+
+        try
+        {
+            Events.batch(new Runnable()
+            {
+                public void run()
+                {
+                    Events.fire(producer, "Event #3");
+
+                    throw new IllegalStateException("Discard");
+                }
+            });
+
+            assert false : "Exception expected";
+        }
+        catch (IllegalStateException e)
+        {
+            // expected
+        }
+
+        Events.fire(producer, "Event #4");
+
+        consumer.waitForSize(2);
+
+        assert "Event #4".equals(consumer.popEvent().getEvent());
+        assert "Event #1".equals(consumer.popEvent().getEvent());
+    }
+
+    @Test
+    public void testBatchWithoutDelay() throws InterruptedException
+    {
+        final Object producer = new Object();
+        final EventsTestConsumer consumer = new EventsTestConsumer();
+        final EventReference[] references = new EventReference[2];
+
+        Events.batch(new Runnable()
+        {
+            public void run()
+            {
+                Events.bind(producer, consumer);
+                references[0] = Events.fire(producer, "Event #1", 0);
+                Events.fire(producer, "Event #2");
+            }
+        });
+
+        boolean completed = references[0].await(10, TimeUnit.SECONDS);
+
+        assert completed;
+        assert references[0].isFired();
+        assert references[0].getHandlerCount() == 1;
+
+        consumer.waitForSize(2);
+
+        assert "Event #2".equals(consumer.popEvent().getEvent());
+        assert "Event #1".equals(consumer.popEvent().getEvent());
+
+        try
+        {
+            Events.batch(new Runnable()
+            {
+                public void run()
+                {
+                    references[1] = Events.fire(producer, "Event #3", 0);
+
+                    throw new IllegalStateException("Discard");
+                }
+            });
+
+            assert false : "Exception expected";
+        }
+        catch (IllegalStateException e)
+        {
+            // expected
+        }
+
+        assert references[1].isRejected();
+        assert references[1].isDone();
+        assert consumer.isEmpty();
+    }
+
+    @Test
+    public void testFireToInstancesOf() throws InterruptedException
+    {
+        Integer producer = new Integer(0);
+        EventsTestConsumer consumerOnObject = new EventsTestConsumer();
+        EventsTestConsumer consumerOnNumber = new EventsTestConsumer();
+        EventsTestConsumer consumerOnInteger = new EventsTestConsumer();
+        EventsTestConsumer consumerOnLong = new EventsTestConsumer();
+
+        Events.bind(Object.class, consumerOnObject);
+        Events.bind(Number.class, consumerOnNumber);
+        Events.bind(Integer.class, consumerOnInteger);
+        Events.bind(Long.class, consumerOnLong);
+
+        Events.fire(producer, "Event #1");
+
+        consumerOnObject.waitForSize(1);
+        consumerOnNumber.waitForSize(1);
+        consumerOnInteger.waitForSize(1);
+        assert consumerOnLong.size() == 0;
+
+        assert "Event #1".equals(consumerOnObject.popEvent().getEvent());
+        assert "Event #1".equals(consumerOnNumber.popEvent().getEvent());
+        assert "Event #1".equals(consumerOnInteger.popEvent().getEvent());
+
+        Events.unbind(Object.class, consumerOnNumber);
+        Events.unbind(Number.class, consumerOnInteger);
+        Events.unbind(Number.class, consumerOnLong);
+
+        Events.fire(producer, "Event #2");
+
+        consumerOnObject.waitForSize(1);
+        assert consumerOnNumber.size() == 0;
+        assert consumerOnInteger.size() == 0;
+        assert consumerOnLong.size() == 0;
+
+        assert "Event #2".equals(consumerOnObject.popEvent().getEvent());
+    }
+
+    public static class TaggedConsumer extends AbstractTestConsumer
+    {
+        @EventHandler(anyTag = {"a", "b"})
+        public void handleAnyTag(final String event, final String... tags)
+        {
+            pushEvent("handleAnyTag", null, event + Arrays.toString(tags));
+        }
+
+        @EventHandler(eachTag = {"a", "b"})
+        public void handleEachTag(final String event)
+        {
+            pushEvent("handleEachTag", null, event);
+        }
+    }
+
+    @Test
+    public void testFireWithTags() throws InterruptedException
+    {
+        Object producer = new Object();
+        TaggedConsumer consumer = new TaggedConsumer();
+        Tags tags = Tags.of("a", "c");
+
+        Events.bind(producer, consumer);
+
+        boolean completed = Events.fire(producer, "Event #1", 0, tags).await(10, TimeUnit.SECONDS);
+
+        assert completed;
+        assert consumer.size() == 1;
+        assert "Event #1[a, c]".equals(consumer.popEvent().getEvent());
+
+        Events.fireNow(producer, "Event #2", Tags.of("b"));
+        assert consumer.size() == 2;
+
+        completed = Events.fire(producer, "Event #3", 0, "c").await(10, TimeUnit.SECONDS);
+
+        assert completed;
+
+        completed = Events.fire(producer, "Event #4", 0, Tags.NONE).await(10, TimeUnit.SECONDS);
+
+        assert completed;
+        assert consumer.size() == 3;
+        assert "handleEachTag".equals(consumer.popEvent().getMethod());
+
+        Events.unbind(producer, consumer);
+    }
+
+    public static class OrderConsumer extends AbstractTestConsumer
+    {
+        @EventHandler(anyTag = "order.*")
+        public void handleOrder(final String event)
+        {
+            pushEvent("handleOrder", null, event);
+        }
+
+        @EventHandler(anyTag = "order.**")
+        public void handleAnyOrder(final String event)
+        {
+            pushEvent("handleAnyOrder", null, event);
+        }
+    }
+
+    @Test
+    public void testFireWithTagPatterns() throws InterruptedException
+    {
+        Object producer = new Object();
+        OrderConsumer consumer = new OrderConsumer();
+
+        Events.bind(producer, consumer);
+
+        boolean completed = Events.fire(producer, "Event #1", 0, "order.created", "order.cancelled").await(10, TimeUnit.SECONDS);
+
+        assert completed;
+        assert consumer.size() == 2;
+        assert "Event #1".equals(consumer.popEvent().getEvent());
+        assert "Event #1".equals(consumer.popEvent().getEvent());
+
+        Events.fireNow(producer, "Event #2", "order.cancelled.byUser");
+        assert consumer.size() == 1;
+        assert "handleAnyOrder".equals(consumer.popEvent().getMethod());
+
+        Events.fireNow(producer, "Event #3", "order", "invoice.created");
+        assert consumer.size() == 0;
+
+        Events.unbind(producer, consumer);
+    }
+
+    public static interface BaseProducer
+    {
+        // intentionally left blank
+    }
+
+    public static interface DerivedProducer extends BaseProducer
+    {
+        // intentionally left blank
+    }
+
+    public static class SuperInterfaceProducer implements DerivedProducer
+    {
+        // intentionally left blank
+    }
+
+    @Test
+    public void testFireToSuperInterfaces() throws InterruptedException
+    {
+        Object producer = new SuperInterfaceProducer();
+        EventsTestConsumer consumer = new EventsTestConsumer();
+
+        Events.bind(BaseProducer.class, consumer);
+        Events.fire(producer, "Event #1");
+
+        consumer.waitForSize(1);
+
+        assert "Event #1".equals(consumer.popEvent().getEvent());
+
+        Events.unbind(BaseProducer.class, consumer);
+        Events.fire(producer, "Event #2", 0).await(10, TimeUnit.SECONDS);
+
+        assert consumer.size() == 0;
+    }
+
+    @Test
+    public void testFireToInstancesOfSpecialA() throws InterruptedException
+    {
+        Integer producer = new Integer(0);
+        EventsTestConsumer consumer = new EventsTestConsumer();
+
+        Events.bind(Object.class, consumer);
+        Events.bind(Number.class, consumer);
+        Events.bind(producer, consumer);
+        Events.fire(producer, "Event #1");
+
+        consumer.waitForSize(3);
+
+        assert "Event #1".equals(consumer.popEvent().getEvent());
+        assert "Event #1".equals(consumer.popEvent().getEvent());
+        assert "Event #1".equals(consumer.popEvent().getEvent());
+
+        Events.unbind(Integer.class, consumer);
+        Events.fire(producer, "Event #1");
+
+        consumer.waitForSize(2);
+
+        assert "Event #1".equals(consumer.popEvent().getEvent());
+        assert "Event #1".equals(consumer.popEvent().getEvent());
+
+        Events.unbind(Object.class, consumer);
+        assert consumer.size() == 0;
+    }
+
+    @Test
+    public void testFireToInstancesOfSpecialB() throws InterruptedException
+    {
+        EventsTestConsumer consumer = new EventsTestConsumer();
+
+        Events.bind(EventsUnitTest.class, consumer);
+        Events.fire(EventsUnitTest.class, "Event #1");
+
+        consumer.waitForSize(1);
+
+        assert "Event #1".equals(consumer.popEvent().getEvent());
+
+        Events.unbind(EventsUnitTest.class, consumer);
+    }
+
+    @Test
+    public void testFireTimedAndCancel() throws InterruptedException
+    {
+        EventsTestConsumer consumer = new EventsTestConsumer();
+
+        Events.bind(EventsUnitTest.class, consumer);
+
+        long millis = System.currentTimeMillis();
+
+        EventReference reference1 = Events.fire(EventsUnitTest.class, "Event #1", 2);
+        EventReference reference2 = Events.fire(EventsUnitTest.class, "Event #2", 2);
+
+        assert !reference1.isFired();
+        assert !reference1.isCanceled();
+
+        assert !reference2.isFired();
+        assert !reference2.isCanceled();
+
+        reference1.cancel();
+
+        consumer.waitForSize(1);
+
+        long time = System.currentTimeMillis() - millis;
+        
+        assert time >= 2000 : "Too early: " + time;
+        assert "Event #2".equals(consumer.popEvent().getEvent());
+        assert consumer.isEmpty();
+        
+        Events.unbind(EventsUnitTest.class, consumer);
+    }
+
+    @Test
+    public void testFireTimedAndReschedule() throws InterruptedException
+    {
+        EventsTestConsumer consumer = new EventsTestConsumer();
+
+        Events.bind(EventsUnitTest.class, consumer);
+
+        EventReference reference1 = Events.fire(EventsUnitTest.class, "Event #1", 60);
+        EventReference reference2 = Events.fire(EventsUnitTest.class, "Event #2", 0.5);
+
+        boolean rescheduled = reference1.reschedule(0.1);
+
+        assert rescheduled;
+
+        consumer.waitForSize(1);
+
+        rescheduled = reference1.reschedule(1);
+
+        assert !rescheduled;
+        assert "Event #1".equals(consumer.popEvent().getEvent());
+
+        boolean completed = reference1.await(10, TimeUnit.SECONDS);
+
+        assert completed;
+        assert reference1.isFired();
+
+        reference2.cancel();
+
+        assert reference2.isCanceled();
+        assert reference2.isDone();
+
+        rescheduled = reference2.reschedule(0.1);
+
+        assert !rescheduled;
+
+        Events.unbind(EventsUnitTest.class, consumer);
+    }
+
+    @Test
+    public void testCompletion() throws InterruptedException
+    {
+        Object producer = new Object();
+        CompletionTestConsumer consumer = new CompletionTestConsumer();
+
+        Events.bind(producer, consumer);
+
+        EventReference reference = Events.fire(producer, "Event #1", 0);
+
+        boolean completed = reference.await(10, TimeUnit.SECONDS);
+
+        assert completed;
+        assert reference.isDone();
+        assert consumer.pooledHandled;
+        assert reference.getHandlerCount() == 2;
+        assert reference.getFailures().isEmpty();
+
+        reference = Events.fire(producer, Integer.valueOf(2), 0);
+
+        completed = reference.await(10, TimeUnit.SECONDS);
+
+        assert completed;
+        assert reference.getHandlerCount() == 1;
+        assert reference.getFailures().size() == 1;
+        assert reference.getFailures().get(0).getCause() instanceof IllegalStateException;
+        assert reference.getFailures().get(0).getConsumer() == consumer;
+    }
+
+    @Test
+    public void testDisable() throws InterruptedException
+    {
+        final Object producer = new Object();
+        final EventsTestConsumer consumer = new EventsTestConsumer();
+
+        Events.bind(producer, consumer);
+        Events.fire(producer, "Event #1");
+        Events.disable();
+        Events.fire(producer, "Event #2");
+        Events.fire(producer, "Event #3");
+        Events.fire(producer, "Event #4");
+        Events.enable();
+        Events.fire(producer, "Event #5");
+
+        consumer.waitForSize(2);
+
+        assert "Event #5".equals(consumer.popEvent().getEvent());
+        assert "Event #1".equals(consumer.popEvent().getEvent());
+    }
+
+    //    public static void main(String[] args) throws InterruptedException
+    //    {
+    //        new EventsUnitTest().testFireToInstancesOfSpecialB();
+    //    }
+}
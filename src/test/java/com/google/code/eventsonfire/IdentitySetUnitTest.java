@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.lang.ref.Reference;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+/**
+ * Unit test for the {@link IdentitySet} class
+ * 
+ * @author Manfred Hantschel
+ */
+@Test
+public class IdentitySetUnitTest
+{
+
+    @Test
+    public void testSmall()
+    {
+        IdentitySet<Reference<?>> set = new IdentitySet<Reference<?>>();
+        Reference<?>[] references = createReferences(3);
+
+        assert set.isEmpty();
+        assert !set.contains(references[0]);
+
+        boolean added = set.add(references[0]);
+
+        assert added;
+
+        added = set.add(references[0]);
+
+        assert !added;
+
+        added = set.add(references[1]);
+
+        assert added;
+
+        added = set.add(references[2]);
+
+        assert added;
+        assert set.size() == 3;
+
+        boolean removed = set.remove(references[1]);
+
+        assert removed;
+
+        removed = set.remove(references[1]);
+
+        assert !removed;
+        assert !set.contains(references[1]);
+        assert set.contains(references[0]);
+        assert set.contains(references[2]);
+
+        removed = set.remove(references[0]);
+
+        assert removed;
+        assert set.contains(references[2]);
+
+        removed = set.remove(references[2]);
+
+        assert removed;
+        assert set.isEmpty();
+    }
+
+    @Test
+    public void testLarge()
+    {
+        IdentitySet<Reference<?>> set = new IdentitySet<Reference<?>>();
+        Reference<?>[] references = createReferences(1000);
+
+        for (Reference<?> reference : references)
+        {
+            boolean added = set.add(reference);
+
+            assert added;
+        }
+
+        assert set.size() == references.length;
+
+        for (int i = 0; i < references.length; i += 2)
+        {
+            boolean removed = set.remove(references[i]);
+
+            assert removed;
+        }
+
+        assert set.size() == references.length / 2;
+
+        Set<Reference<?>> contained = new HashSet<Reference<?>>();
+
+        for (Reference<?> reference : set)
+        {
+            contained.add(reference);
+        }
+
+        for (int i = 0; i < references.length; i += 1)
+        {
+            assert set.contains(references[i]) == ((i % 2) == 1);
+            assert contained.contains(references[i]) == ((i % 2) == 1);
+        }
+
+        for (int i = 1; i < references.length - 2; i += 2)
+        {
+            boolean removed = set.remove(references[i]);
+
+            assert removed;
+        }
+
+        assert set.size() == 1;
+        assert set.contains(references[references.length - 1]);
+
+        boolean added = set.add(references[0]);
+
+        assert added;
+        assert set.size() == 2;
+    }
+
+    private static Reference<?>[] createReferences(int count)
+    {
+        Reference<?>[] references = new Reference<?>[count];
+
+        for (int i = 0; i < count; i += 1)
+        {
+            references[i] = new WeakIdentityReference<Object>(Integer.valueOf(i));
+        }
+
+        return references;
+    }
+
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import com.google.code.eventsonfire.AbstractEventHandlerInfo.MethodType;
+
+/**
+ * Unit test for the {@link MethodInvokers} class
+ * 
+ * @author Manfred Hantschel
+ */
+@Test
+public class MethodInvokersUnitTest
+{
+
+    private static final int INVOCATIONS = 1000000;
+
+    public static class InvokedConsumer extends AbstractTestConsumer
+    {
+        public void handleNothing()
+        {
+            pushEvent("handleNothing", null, null);
+        }
+
+        public void handleEvent(final String event)
+        {
+            pushEvent("handleEvent", null, event);
+        }
+
+        public void handleTags(final String... tags)
+        {
+            pushEvent("handleTags", null, Arrays.toString(tags));
+        }
+
+        public void handleEventAndTags(final String event, final String... tags)
+        {
+            pushEvent("handleEventAndTags", null, event + Arrays.toString(tags));
+        }
+
+        public void handleProducerAndEvent(final CharSequence producer, final String event)
+        {
+            pushEvent("handleProducerAndEvent", producer, event);
+        }
+
+        public void handleAll(final CharSequence producer, final String event, final String... tags)
+        {
+            pushEvent("handleAll", producer, event + Arrays.toString(tags));
+        }
+
+        public void fail(final String event)
+        {
+            throw new IllegalStateException(event);
+        }
+    }
+
+    public static class CountingConsumer
+    {
+        private volatile int count = 0;
+
+        public void handleEvent(final String event)
+        {
+            count += 1;
+        }
+    }
+
+    static class HiddenConsumer
+    {
+        public void handleEvent(final String event)
+        {
+            // intentionally left blank
+        }
+    }
+
+    private static MethodInvoker create(MethodType methodType, Class<?> type, String name, Class<?>... parameterTypes)
+        throws NoSuchMethodException
+    {
+        Method method = type.getMethod(name, parameterTypes);
+
+        return MethodInvokers.create(methodType, method);
+    }
+
+    private static boolean isGenerated(MethodInvoker invoker)
+    {
+        return invoker.getClass().getName().startsWith("com.google.code.eventsonfire.generated.");
+    }
+
+    @Test
+    public void testGenerated() throws Exception
+    {
+        InvokedConsumer consumer = new InvokedConsumer();
+        String producer = "Producer";
+        String[] tags = {"a", "b"};
+
+        MethodInvoker invoker = create(MethodType.NO_PARAMETERS, InvokedConsumer.class, "handleNothing");
+
+        assert isGenerated(invoker);
+        invoker.invoke(producer, consumer, "Event", tags);
+        AbstractTestConsumer.Event handled = consumer.popEvent();
+
+        assert "handleNothing".equals(handled.getMethod());
+
+        invoker = create(MethodType.EVENT, InvokedConsumer.class, "handleEvent", String.class);
+        invoker.invoke(producer, consumer, "Event", tags);
+        handled = consumer.popEvent();
+
+        assert "Event".equals(handled.getEvent());
+
+        invoker = create(MethodType.TAGS, InvokedConsumer.class, "handleTags", String[].class);
+        invoker.invoke(producer, consumer, "Event", tags);
+        handled = consumer.popEvent();
+
+        assert "[a, b]".equals(handled.getEvent());
+
+        invoker = create(MethodType.EVENT_TAGS, InvokedConsumer.class, "handleEventAndTags", String.class,
+            String[].class);
+        invoker.invoke(producer, consumer, "Event", tags);
+        handled = consumer.popEvent();
+
+        assert "Event[a, b]".equals(handled.getEvent());
+
+        invoker = create(MethodType.PROVIDER_EVENT, InvokedConsumer.class, "handleProducerAndEvent", CharSequence.class,
+            String.class);
+        invoker.invoke(producer, consumer, "Event", tags);
+        handled = consumer.popEvent();
+
+        assert producer == handled.getProducer();
+        assert "Event".equals(handled.getEvent());
+
+        invoker = create(MethodType.PROVIDER_EVENT_TAGS, InvokedConsumer.class, "handleAll", CharSequence.class,
+            String.class, String[].class);
+        assert isGenerated(invoker);
+        invoker.invoke(producer, consumer, "Event", tags);
+        handled = consumer.popEvent();
+
+        assert producer == handled.getProducer();
+        assert "Event[a, b]".equals(handled.getEvent());
+    }
+
+    @Test
+    public void testFailure() throws Exception
+    {
+        MethodInvoker invoker = create(MethodType.EVENT, InvokedConsumer.class, "fail", String.class);
+
+        try
+        {
+            invoker.invoke(null, new InvokedConsumer(), "Event", null);
+
+            assert false : "Failure expected";
+        }
+        catch (InvocationTargetException e)
+        {
+            assert e.getCause() instanceof IllegalStateException;
+            assert "Event".equals(e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testCachedPerMethod() throws Exception
+    {
+        MethodInvoker invoker = create(MethodType.EVENT, InvokedConsumer.class, "handleEvent", String.class);
+        MethodInvoker other = create(MethodType.EVENT, InvokedConsumer.class, "handleEvent", String.class);
+        MethodInvoker tags = create(MethodType.TAGS, InvokedConsumer.class, "handleTags", String[].class);
+
+        assert invoker == other;
+        assert invoker != tags;
+        assert invoker.getClass().getClassLoader() == tags.getClass().getClassLoader();
+    }
+
+    /**
+     * Measures the costs of one invocation by a generated and by a reflective invoker
+     */
+    @Test
+    public void testPerformance() throws Exception
+    {
+        Method method = CountingConsumer.class.getMethod("handleEvent", String.class);
+        MethodInvoker generated = MethodInvokers.create(MethodType.EVENT, method);
+        MethodInvoker reflective = MethodInvokers.reflective(MethodType.EVENT, method);
+        CountingConsumer consumer = new CountingConsumer();
+
+        assert isGenerated(generated);
+
+        long generatedNanos = Long.MAX_VALUE;
+        long reflectiveNanos = Long.MAX_VALUE;
+
+        // the first rounds warm up the JIT, the best round counts
+        for (int round = 0; round < 5; round += 1)
+        {
+            generatedNanos = Math.min(generatedNanos, measure(generated, consumer));
+            reflectiveNanos = Math.min(reflectiveNanos, measure(reflective, consumer));
+        }
+
+        System.out.printf("Invocation: generated %.1f ns, reflective %.1f ns%n", (double) generatedNanos
+            / INVOCATIONS, (double) reflectiveNanos / INVOCATIONS);
+
+        assert generatedNanos * 2 < reflectiveNanos : "Generated invoker (" + generatedNanos
+            + " ns) not faster than reflective one (" + reflectiveNanos + " ns)";
+    }
+
+    private static long measure(MethodInvoker invoker, CountingConsumer consumer) throws Exception
+    {
+        int count = consumer.count;
+        long nanos = System.nanoTime();
+
+        for (int i = 0; i < INVOCATIONS; i += 1)
+        {
+            invoker.invoke("Producer", consumer, "Event", null);
+        }
+
+        nanos = System.nanoTime() - nanos;
+
+        assert consumer.count == count + INVOCATIONS;
+
+        return nanos;
+    }
+
+    @Test
+    public void testReflectiveFallback() throws Exception
+    {
+        MethodInvoker invoker = create(MethodType.EVENT, HiddenConsumer.class, "handleEvent", String.class);
+
+        assert !isGenerated(invoker);
+    }
+
+}
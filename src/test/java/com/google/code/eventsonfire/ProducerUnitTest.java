@@ -1,103 +1,207 @@
-/*
- * Copyright (c) 2011-2013 events-on-fire Team
- * 
- * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
- * License (MIT).
- * 
- * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
- * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
- * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
- * permit persons to whom the Software is furnished to do so, subject to the following conditions:
- * 
- * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
- * Software.
- * 
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
- * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
- * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
- * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
- */
-package com.google.code.eventsonfire;
-
-import java.lang.ref.Reference;
-
-import org.testng.annotations.Test;
-
-/**
- * Tests the {@link ProducerInfo} class
- * 
- * @author Manfred Hantschel
- */
-@Test
-public class ProducerUnitTest
-{
-
-    @Test
-    public void testConsumerReferences()
-    {
-        final Reference<ProducerTestConsumer> consumerA =
-            new WeakIdentityReference<ProducerTestConsumer>(new ProducerTestConsumer());
-        final Reference<ProducerTestConsumer> consumerB =
-            new WeakIdentityReference<ProducerTestConsumer>(new ProducerTestConsumer());
-        final ProducerInfo producer = new ProducerInfo();
-
-        assert !producer.contains(consumerA);
-        assert !producer.contains(consumerB);
-        assert producer.isEmpty();
-
-        producer.add(consumerA);
-
-        assert producer.contains(consumerA);
-        assert !producer.contains(consumerB);
-        assert !producer.isEmpty();
-
-        producer.add(consumerB);
-
-        assert producer.contains(consumerA);
-        assert producer.contains(consumerB);
-        assert !producer.isEmpty();
-
-        producer.remove(consumerA);
-
-        assert !producer.contains(consumerA);
-        assert producer.contains(consumerB);
-        assert !producer.isEmpty();
-
-        producer.remove(consumerB);
-
-        assert !producer.contains(consumerA);
-        assert !producer.contains(consumerB);
-        assert producer.isEmpty();
-    }
-
-    @Test(expectedExceptions = IllegalArgumentException.class)
-    public void testConsumerReferencesFailA()
-    {
-        final Reference<String> reference = new WeakIdentityReference<String>("not a consumer");
-        final ProducerInfo producer = new ProducerInfo();
-
-        producer.add(reference);
-    }
-
-    @Test
-    public void testFire()
-    {
-        final ProducerTestConsumer consumer = new ProducerTestConsumer();
-        final Reference<ProducerTestConsumer> reference = new WeakIdentityReference<ProducerTestConsumer>(consumer);
-        final ProducerInfo producer = new ProducerInfo();
-
-        producer.add(reference);
-        producer.fire("Producer", "Event #1", new String[]{});
-
-        assert "Event #1".equals(consumer.popEvent().getEvent());
-
-        producer.fire("Producer", Integer.valueOf(42), new String[]{});
-
-        assert Integer.valueOf(42).equals(consumer.popEvent().getEvent());
-
-        producer.fire("Producer", new Object(), new String[]{});
-
-        assert consumer.size() == 0;
-    }
-
-}
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.lang.ref.Reference;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests the {@link ProducerInfo} class
+ * 
+ * @author Manfred Hantschel
+ */
+@Test
+public class ProducerUnitTest
+{
+
+    @Test
+    public void testConsumerReferences()
+    {
+        final Reference<ProducerTestConsumer> consumerA =
+            new WeakIdentityReference<ProducerTestConsumer>(new ProducerTestConsumer());
+        final Reference<ProducerTestConsumer> consumerB =
+            new WeakIdentityReference<ProducerTestConsumer>(new ProducerTestConsumer());
+        final ProducerInfo producer = new ProducerInfo(Events.getDefaultBus());
+
+        assert !producer.contains(consumerA);
+        assert !producer.contains(consumerB);
+        assert producer.isEmpty();
+
+        producer.add(consumerA);
+
+        assert producer.contains(consumerA);
+        assert !producer.contains(consumerB);
+        assert !producer.isEmpty();
+
+        producer.add(consumerB);
+
+        assert producer.contains(consumerA);
+        assert producer.contains(consumerB);
+        assert !producer.isEmpty();
+
+        producer.remove(consumerA);
+
+        assert !producer.contains(consumerA);
+        assert producer.contains(consumerB);
+        assert !producer.isEmpty();
+
+        producer.remove(consumerB);
+
+        assert !producer.contains(consumerA);
+        assert !producer.contains(consumerB);
+        assert producer.isEmpty();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testConsumerReferencesFailA()
+    {
+        final Reference<String> reference = new WeakIdentityReference<String>("not a consumer");
+        final ProducerInfo producer = new ProducerInfo(Events.getDefaultBus());
+
+        producer.add(reference);
+    }
+
+    @Test
+    public void testFire()
+    {
+        final ProducerTestConsumer consumer = new ProducerTestConsumer();
+        final Reference<ProducerTestConsumer> reference = new WeakIdentityReference<ProducerTestConsumer>(consumer);
+        final ProducerInfo producer = new ProducerInfo(Events.getDefaultBus());
+
+        producer.add(reference);
+        producer.fire("Producer", "Event #1", Tags.NONE);
+
+        assert "Event #1".equals(consumer.popEvent().getEvent());
+
+        producer.fire("Producer", Integer.valueOf(42), Tags.NONE);
+
+        assert Integer.valueOf(42).equals(consumer.popEvent().getEvent());
+
+        producer.fire("Producer", new Object(), Tags.NONE);
+
+        assert consumer.size() == 0;
+    }
+
+    /**
+     * Measures the heap used per binding, compared to the {@link LinkedHashSet}, that has been used before. Binds
+     * many consumers to one producer and one consumer to many producers.
+     */
+    @Test
+    public void testHeapPerBinding()
+    {
+        final int count = 100000;
+        ProducerTestConsumer[] consumers = new ProducerTestConsumer[count];
+        Reference<?>[] references = new Reference<?>[count];
+
+        for (int i = 0; i < count; i += 1)
+        {
+            consumers[i] = new ProducerTestConsumer();
+            references[i] = new WeakIdentityReference<ProducerTestConsumer>(consumers[i]);
+        }
+
+        ProducerInfo producer = new ProducerInfo(Events.getDefaultBus());
+
+        // warm up, the first collections may still free garbage of the setup
+        usedMemory();
+
+        long used = usedMemory();
+
+        for (Reference<?> reference : references)
+        {
+            producer.add(reference);
+        }
+
+        long manyPerProducer = (usedMemory() - used) / count;
+        Set<Reference<?>> set = new LinkedHashSet<Reference<?>>();
+
+        used = usedMemory();
+
+        for (Reference<?> reference : references)
+        {
+            set.add(reference);
+        }
+
+        long manyPerSet = (usedMemory() - used) / count;
+        ProducerInfo[] producers = new ProducerInfo[count];
+
+        used = usedMemory();
+
+        for (int i = 0; i < count; i += 1)
+        {
+            producers[i] = new ProducerInfo(Events.getDefaultBus());
+            producers[i].add(references[i]);
+        }
+
+        long singlePerProducer = (usedMemory() - used) / count;
+        Object[] sets = new Object[count];
+
+        used = usedMemory();
+
+        for (int i = 0; i < count; i += 1)
+        {
+            Set<Reference<?>> single = new LinkedHashSet<Reference<?>>();
+
+            single.add(references[i]);
+            sets[i] = single;
+        }
+
+        long singlePerSet = (usedMemory() - used) / count;
+
+        System.out.printf("Bytes per binding of many consumers: %d (LinkedHashSet: %d)\n", manyPerProducer,
+            manyPerSet);
+        System.out.printf("Bytes per producer with one consumer: %d (LinkedHashSet: %d)\n", singlePerProducer,
+            singlePerSet);
+
+        assert !producer.isEmpty();
+        assert set.size() == count;
+        assert producers[count - 1].contains(references[count - 1]);
+        assert sets[count - 1] != null;
+        assert consumers[count - 1] != null;
+        assert (manyPerProducer * 3) < manyPerSet : manyPerProducer + " / " + manyPerSet;
+        assert singlePerProducer < singlePerSet : singlePerProducer + " / " + singlePerSet;
+    }
+
+    private static long usedMemory()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        long used = -1;
+
+        // collect until the heap settles, finalizers and reference handling may free more memory in later runs
+        for (int i = 0; i < 10; i += 1)
+        {
+            System.gc();
+
+            long current = runtime.totalMemory() - runtime.freeMemory();
+
+            if (current == used)
+            {
+                break;
+            }
+
+            used = current;
+        }
+
+        return used;
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import org.testng.annotations.Test;
+
+import com.google.code.eventsonfire.Action.Type;
+
+/**
+ * Unit test for the {@link RingBuffer} class
+ * 
+ * @author Manfred Hantschel
+ */
+@Test
+public class RingBufferUnitTest
+{
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testConstructorFail()
+    {
+        new RingBuffer(12);
+    }
+
+    @Test
+    public void testOfferAndRelease()
+    {
+        RingBuffer ring = new RingBuffer(4);
+        Object producer = new Object();
+
+        assert ring.isEmpty();
+
+        for (int lap = 0; lap < 3; lap += 1)
+        {
+            for (int i = 0; i < 4; i += 1)
+            {
+                boolean offered = ring.offer(Type.FIRE, producer, Integer.valueOf(i), null, null);
+
+                assert offered;
+            }
+
+            boolean offered = ring.offer(Type.FIRE, producer, Integer.valueOf(4), null, null);
+
+            assert !offered : "Ring buffer should be full";
+
+            for (int i = 0; i < 4; i += 1)
+            {
+                RingBuffer.Slot slot = ring.peek();
+
+                assert slot != null;
+                assert slot.type == Type.FIRE;
+                assert slot.producer == producer;
+                assert Integer.valueOf(i).equals(slot.parameter);
+
+                ring.release(slot);
+
+                assert slot.parameter == null;
+            }
+
+            assert ring.isEmpty();
+        }
+    }
+
+    @Test
+    public void testAction()
+    {
+        RingBuffer ring = new RingBuffer(2);
+        Action action = new Action(Type.BIND, new Object(), new Object(), System.nanoTime());
+
+        boolean offered = ring.offer(action.getType(), action.getProducer(), action.getParameter(), null, action);
+
+        assert offered;
+
+        RingBuffer.Slot slot = ring.peek();
+
+        assert slot.action == action;
+
+        ring.release(slot);
+
+        assert ring.peek() == null;
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+
+import org.testng.annotations.Test;
+
+/**
+ * Unit test for the {@link TagRoutes} class
+ * 
+ * @author Manfred Hantschel
+ */
+@Test
+public class TagRoutesUnitTest
+{
+
+    @Test
+    public void testWithoutMany()
+    {
+        ConsumerClassInfo consumerClassInfo = Events.getDefaultBus().getConsumerClassInfo(EventsTestConsumer.class);
+        EventsTestConsumer[] consumers = new EventsTestConsumer[100];
+        Reference<?>[] references = new Reference<?>[consumers.length];
+        IdentitySet<Reference<?>> removed = new IdentitySet<Reference<?>>();
+        TagRoutes routes = TagRoutes.EMPTY;
+
+        for (int i = 0; i < consumers.length; i += 1)
+        {
+            consumers[i] = new EventsTestConsumer();
+            references[i] = new WeakReference<Object>(consumers[i]);
+            routes = routes.with(references[i], consumerClassInfo);
+
+            if ((i % 3) != 0)
+            {
+                removed.add(references[i]);
+            }
+        }
+
+        TagRoutes remaining = routes.without(removed);
+
+        assert remaining.without(removed) == remaining;
+
+        remaining.fire("Producer", "Event", Tags.NONE);
+
+        for (int i = 0; i < consumers.length; i += 1)
+        {
+            assert consumers[i].size() == (((i % 3) == 0) ? 1 : 0);
+        }
+
+        routes.fire("Producer", "Event", Tags.NONE);
+
+        assert consumers[1].size() == 1;
+    }
+
+    @Test
+    public void testWithoutTagged()
+    {
+        ConsumerClassInfo routedClassInfo =
+            Events.getDefaultBus().getConsumerClassInfo(EventBusUnitTest.RoutedConsumer.class);
+        ConsumerClassInfo consumerClassInfo = Events.getDefaultBus().getConsumerClassInfo(EventsTestConsumer.class);
+        AbstractTestConsumer[] consumers = new AbstractTestConsumer[10];
+        Reference<?>[] references = new Reference<?>[consumers.length];
+        TagRoutes routes = TagRoutes.EMPTY;
+
+        for (int i = 0; i < consumers.length; i += 1)
+        {
+            boolean routed = (i % 2) == 0;
+
+            consumers[i] = (routed) ? new EventBusUnitTest.RoutedConsumer() : new EventsTestConsumer();
+            references[i] = new WeakReference<Object>(consumers[i]);
+            routes = routes.with(references[i], (routed) ? routedClassInfo : consumerClassInfo);
+        }
+
+        routes = routes.without(references[0]).without(references[3]);
+
+        assert !routes.contains(references[0]);
+        assert routes.contains(references[1]);
+
+        routes.fire("Producer", "Event", Tags.of("route-x"));
+        routes.fire("Producer", "Event", Tags.of("route-z"));
+
+        for (int i = 0; i < consumers.length; i += 1)
+        {
+            int expected = ((i == 0) || (i == 3)) ? 0 : ((i % 2) == 0) ? 1 : 2;
+
+            assert consumers[i].size() == expected : i;
+        }
+
+        IdentitySet<Reference<?>> routed = new IdentitySet<Reference<?>>();
+
+        for (int i = 0; i < consumers.length; i += 2)
+        {
+            routed.add(references[i]);
+        }
+
+        routes = routes.without(routed);
+        routes.fire("Producer", "Event", Tags.of("route-x"));
+
+        assert consumers[2].size() == 1;
+        assert consumers[1].size() == 3;
+        assert consumers[9].size() == 3;
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import org.testng.annotations.Test;
+
+/**
+ * Unit test for the {@link TagTrie} class
+ * 
+ * @author Manfred Hantschel
+ */
+@Test
+public class TagTrieUnitTest
+{
+
+    private static final long[] NO_BITS = {};
+
+    @Test
+    public void testIsPattern()
+    {
+        assert TagTrie.isPattern("order.*");
+        assert TagTrie.isPattern("order.**");
+        assert TagTrie.isPattern("*.created");
+        assert !TagTrie.isPattern("order");
+        assert !TagTrie.isPattern("order.created*");
+    }
+
+    @Test
+    public void testMatch()
+    {
+        TagTrie trie = new TagTrie();
+
+        assert trie.getVersion() == 0;
+
+        trie.add("order.*", 1);
+        trie.add("order.**", 2);
+        trie.add("*.created", 3);
+        trie.add("order.*.byUser", 4);
+        trie.add("order.*", 1);
+
+        assert trie.getVersion() == 4;
+
+        assert trie.match("order", NO_BITS) == NO_BITS;
+        assert trie.match("invoice.cancelled", NO_BITS) == NO_BITS;
+
+        long[] bits = trie.match("order.created", NO_BITS);
+
+        assert Tags.isSet(bits, 1);
+        assert Tags.isSet(bits, 2);
+        assert Tags.isSet(bits, 3);
+        assert !Tags.isSet(bits, 4);
+
+        bits = trie.match("order.cancelled.byUser", NO_BITS);
+
+        assert !Tags.isSet(bits, 1);
+        assert Tags.isSet(bits, 2);
+        assert !Tags.isSet(bits, 3);
+        assert Tags.isSet(bits, 4);
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+/**
+ * Unit test for the {@link Tags} class
+ * 
+ * @author Manfred Hantschel
+ */
+@Test
+public class TagsUnitTest
+{
+
+    @Test
+    public void testOf()
+    {
+        String[] names = {"a", "b"};
+        Tags tags = Tags.of(names);
+
+        names[0] = "c";
+
+        assert Tags.of() == Tags.NONE;
+        assert Tags.of((String[]) null) == Tags.NONE;
+        assert tags.size() == 2;
+        assert Arrays.equals(tags.toArray(), new String[]{"a", "b"});
+        assert tags.equals(Tags.of("a", "b"));
+        assert tags.hashCode() == Tags.of("a", "b").hashCode();
+        assert !tags.equals(Tags.of("b", "a"));
+    }
+
+    @Test
+    public void testMatching()
+    {
+        long[] ab = Tags.bitsOf(Arrays.asList("a", "b"));
+
+        assert Tags.of("a").isAnyIn(ab);
+        assert Tags.of("x", "b").isAnyIn(ab);
+        assert !Tags.of("x").isAnyIn(ab);
+        assert !Tags.NONE.isAnyIn(ab);
+
+        assert Tags.of("a", "b").isEachIn(ab);
+        assert Tags.NONE.isEachIn(ab);
+        assert !Tags.of("a", "x").isEachIn(ab);
+        assert !Tags.of("a", null).isEachIn(ab);
+    }
+
+    @Test
+    public void testPatterns()
+    {
+        long[] any = Tags.bitsOf(Arrays.asList("tags-test.order.*", "tags-test.invoice"));
+        Tags created = Tags.of("tags-test.order.created");
+
+        assert created.isAnyIn(any);
+        assert created.isEachIn(any);
+        assert Tags.of("tags-test.invoice", "tags-test.order.cancelled").isEachIn(any);
+        assert !Tags.of("tags-test.order.cancelled.byUser").isAnyIn(any);
+        assert !Tags.of("tags-test.invoice", "tags-test.refund").isEachIn(any);
+
+        long[] all = Tags.bitsOf(Arrays.asList("tags-test.order.**"));
+
+        assert Tags.of("tags-test.order.cancelled.byUser").isAnyIn(all);
+        assert created.isAnyIn(all);
+        assert !Tags.of("tags-test.order").isAnyIn(all);
+    }
+
+    @Test
+    public void testManyTags()
+    {
+        List<String> names = new ArrayList<String>();
+
+        for (int i = 0; i < 200; i += 1)
+        {
+            names.add("tag-" + i);
+        }
+
+        long[] first = Tags.bitsOf(names.subList(0, 1));
+        long[] all = Tags.bitsOf(names);
+
+        assert Tags.of("tag-199").isAnyIn(all);
+        assert !Tags.of("tag-199").isAnyIn(first);
+        assert Tags.of("tag-0", "tag-199").isEachIn(all);
+        assert !Tags.of("tag-0", "tag-199").isEachIn(first);
+    }
+
+    @Test
+    public void testUndeclaredTags()
+    {
+        long[] bits = Tags.bitsOf(Arrays.asList("tags-test.declared"));
+        int numberOfTags = Tags.getNumberOfTags();
+
+        for (int i = 0; i < 1000; i += 1)
+        {
+            Tags tags = Tags.of("tags-test.undeclared-" + i);
+
+            assert !tags.isAnyIn(bits);
+            assert !tags.isEachIn(bits);
+            assert tags.matchingBits().length == 0;
+        }
+
+        assert Tags.getNumberOfTags() == numberOfTags;
+    }
+
+    @Test
+    public void testDeclaredLater()
+    {
+        Tags tags = Tags.of("tags-test.later");
+
+        assert !tags.isAnyIn(Tags.bitsOf(Arrays.asList("tags-test.earlier")));
+
+        long[] bits = Tags.bitsOf(Arrays.asList("tags-test.later"));
+
+        assert tags.isAnyIn(bits);
+        assert tags.isEachIn(bits);
+    }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import org.testng.annotations.Test;
+
+import com.google.code.eventsonfire.Action.Type;
+
+/**
+ * Unit test for the {@link TimingWheel} class
+ * 
+ * @author Manfred Hantschel
+ */
+@Test
+public class TimingWheelUnitTest
+{
+
+    private static final long MILLIS = 1000000;
+
+    @Test
+    public void testExpire()
+    {
+        TimingWheel wheel = new TimingWheel(MILLIS);
+        long nanos = System.nanoTime();
+        Action actionA = new Action(Type.FIRE, "producer", "A", nanos + (50 * MILLIS));
+        Action actionB = new Action(Type.FIRE, "producer", "B", nanos + (10 * MILLIS));
+        Action actionC = new Action(Type.FIRE, "producer", "C", nanos + (50 * MILLIS));
+
+        wheel.schedule(actionA);
+        wheel.schedule(actionB);
+        wheel.schedule(actionC);
+
+        assert wheel.size() == 3;
+
+        Action action = wheel.expire(nanos);
+
+        assert action == null;
+
+        action = wheel.expire(nanos + (20 * MILLIS));
+
+        assert action == actionB;
+        assert action.next == null;
+        assert wheel.size() == 2;
+
+        action = wheel.expire(nanos + (60 * MILLIS));
+
+        assert action == actionA;
+        assert action.next == actionC;
+        assert actionC.next == null;
+        assert wheel.isEmpty();
+    }
+
+    @Test
+    public void testExpireHigherLevels()
+    {
+        TimingWheel wheel = new TimingWheel(MILLIS);
+        long nanos = System.nanoTime();
+        long[] delays = {1, 63, 64, 65, 4095, 4096, 4097, 300000, 17000000, 20000000};
+
+        for (long delay : delays)
+        {
+            wheel.schedule(new Action(Type.FIRE, "producer", Long.valueOf(delay), nanos + (delay * MILLIS)));
+        }
+
+        int count = 0;
+
+        for (long millis = 0; millis <= 20000010; millis += 7)
+        {
+            for (Action action = wheel.expire(nanos + (millis * MILLIS)); action != null; action = action.next)
+            {
+                long delay = ((Long) action.getParameter()).longValue();
+
+                assert delay == delays[count] : "Expected " + delays[count] + ", got " + delay;
+                assert delay <= millis : "Too early: " + delay + " at " + millis;
+                assert delay + 8 > millis : "Too late: " + delay + " at " + millis;
+
+                count += 1;
+            }
+        }
+
+        assert count == delays.length;
+        assert wheel.isEmpty();
+    }
+
+    @Test
+    public void testRemove()
+    {
+        TimingWheel wheel = new TimingWheel(MILLIS);
+        long nanos = System.nanoTime();
+        Action actionA = new Action(Type.FIRE, "producer", "A", nanos + (10 * MILLIS));
+        Action actionB = new Action(Type.FIRE, "producer", "B", nanos + (10 * MILLIS));
+        Action actionC = new Action(Type.FIRE, "producer", "C", nanos + (10 * MILLIS));
+
+        wheel.schedule(actionA);
+        wheel.schedule(actionB);
+        wheel.schedule(actionC);
+
+        boolean removed = wheel.remove(actionB);
+
+        assert removed;
+
+        removed = wheel.remove(actionB);
+
+        assert !removed;
+        assert wheel.size() == 2;
+
+        removed = wheel.remove(actionA);
+
+        assert removed;
+        assert wheel.size() == 1;
+
+        Action action = wheel.expire(nanos + (20 * MILLIS));
+
+        assert action == actionC;
+        assert action.next == null;
+
+        removed = wheel.remove(actionC);
+
+        assert !removed;
+    }
+
+    @Test
+    public void testReschedule()
+    {
+        TimingWheel wheel = new TimingWheel(MILLIS);
+        long nanos = System.nanoTime();
+        Action actionA = new Action(Type.FIRE, "producer", "A", nanos + (30000 * MILLIS));
+        Action actionB = new Action(Type.FIRE, "producer", "B", nanos + (20 * MILLIS));
+
+        wheel.schedule(actionA);
+        wheel.schedule(actionB);
+
+        boolean rescheduled = wheel.reschedule(actionA, nanos + (10 * MILLIS));
+
+        assert rescheduled;
+        assert wheel.size() == 2;
+
+        Action action = wheel.expire(nanos + (30 * MILLIS));
+
+        assert action == actionA;
+        assert action.next == actionB;
+
+        rescheduled = wheel.reschedule(actionA, nanos + (40 * MILLIS));
+
+        assert !rescheduled;
+    }
+
+    @Test
+    public void testNextNanos()
+    {
+        TimingWheel wheel = new TimingWheel(MILLIS);
+        long nanos = System.nanoTime();
+
+        wheel.schedule(new Action(Type.FIRE, "producer", "A", nanos + (10 * MILLIS)));
+
+        long nextNanos = wheel.getNextNanos();
+
+        assert nextNanos >= nanos + (10 * MILLIS);
+        assert nextNanos <= nanos + (12 * MILLIS);
+    }
+
+}
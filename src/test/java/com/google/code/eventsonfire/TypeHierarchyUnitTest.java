@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.testng.annotations.Test;
+
+/**
+ * Unit test for the {@link TypeHierarchy} class
+ * 
+ * @author Manfred Hantschel
+ */
+@Test
+public class TypeHierarchyUnitTest
+{
+
+    public static interface A
+    {
+        // intentionally left blank
+    }
+
+    public static interface B extends A
+    {
+        // intentionally left blank
+    }
+
+    public static class C implements B, Serializable
+    {
+        private static final long serialVersionUID = 1L;
+    }
+
+    public static class D extends C implements A, RandomAccess
+    {
+        private static final long serialVersionUID = 1L;
+    }
+
+    @Test
+    public void testOf()
+    {
+        List<Class<?>> hierarchy = Arrays.<Class<?>> asList(TypeHierarchy.of(D.class));
+
+        assert hierarchy.equals(Arrays.<Class<?>> asList(D.class, A.class, RandomAccess.class, C.class, B.class,
+            Serializable.class, Object.class)) : hierarchy;
+    }
+
+    @Test
+    public void testOfInterface()
+    {
+        List<Class<?>> hierarchy = Arrays.<Class<?>> asList(TypeHierarchy.of(B.class));
+
+        assert hierarchy.equals(Arrays.<Class<?>> asList(B.class, A.class)) : hierarchy;
+    }
+
+    @Test
+    public void testCached()
+    {
+        assert TypeHierarchy.of(D.class) == TypeHierarchy.of(D.class);
+    }
+
+}
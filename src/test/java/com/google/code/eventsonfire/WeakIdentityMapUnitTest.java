@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+/**
+ * Unit test for the {@link WeakIdentityMap} class
+ * 
+ * @author Manfred Hantschel
+ */
+@Test
+public class WeakIdentityMapUnitTest
+{
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testPutFail()
+    {
+        new WeakIdentityMap<String>().put(null, "Value");
+    }
+
+    @Test
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings(value = {"DM_STRING_CTOR"}, justification = "Testcase")
+    public void testIdentity()
+    {
+        WeakIdentityMap<String> map = new WeakIdentityMap<String>();
+        String keyA = new String("Key");
+        String keyB = new String("Key");
+
+        String previousA = map.put(keyA, "Value A");
+        String previousB = map.put(keyB, "Value B");
+        String replaced = map.put(keyA, "Value A2");
+
+        assert previousA == null;
+        assert previousB == null;
+        assert "Value A".equals(replaced);
+        assert map.size() == 2;
+        assert "Value A2".equals(map.get(keyA));
+        assert "Value B".equals(map.get(keyB));
+        assert map.get("Key") == null;
+        assert map.get(null) == null;
+
+        String removed = map.remove(keyA);
+        String removedAgain = map.remove(keyA);
+
+        assert "Value A2".equals(removed);
+        assert removedAgain == null;
+        assert map.get(keyA) == null;
+        assert "Value B".equals(map.get(keyB));
+        assert map.size() == 1;
+    }
+
+    @Test
+    public void testGrowAndShrink()
+    {
+        WeakIdentityMap<Integer> map = new WeakIdentityMap<Integer>();
+        List<Object> keys = new ArrayList<Object>();
+
+        for (int i = 0; i < 10000; i += 1)
+        {
+            Object key = new Object();
+
+            keys.add(key);
+            map.put(key, Integer.valueOf(i));
+        }
+
+        assert map.size() == 10000;
+
+        for (int i = 0; i < 10000; i += 2)
+        {
+            Integer removed = map.remove(keys.get(i));
+
+            assert removed.intValue() == i;
+        }
+
+        for (int i = 0; i < 10000; i += 1)
+        {
+            Integer value = map.get(keys.get(i));
+
+            assert ((i % 2) == 0) ? (value == null) : (value.intValue() == i);
+        }
+
+        for (int i = 0; i < 10000; i += 2)
+        {
+            map.put(keys.get(i), Integer.valueOf(-i));
+        }
+
+        for (int i = 0; i < 10000; i += 1)
+        {
+            assert map.get(keys.get(i)).intValue() == (((i % 2) == 0) ? -i : i);
+        }
+
+        assert map.size() == 10000;
+    }
+
+    @Test
+    public void testIterator()
+    {
+        WeakIdentityMap<String> map = new WeakIdentityMap<String>();
+        Object keyA = new Object();
+        Object keyB = new Object();
+
+        map.put(keyA, "Value A");
+        map.put(keyB, "Value B");
+
+        int count = 0;
+        Iterator<WeakIdentityMap.Entry<String>> it = map.iterator();
+
+        while (it.hasNext())
+        {
+            WeakIdentityMap.Entry<String> entry = it.next();
+
+            if (entry.get() == keyA)
+            {
+                assert "Value A".equals(entry.getValue());
+
+                it.remove();
+            }
+
+            count += 1;
+        }
+
+        assert count == 2;
+        assert map.size() == 1;
+        assert map.get(keyA) == null;
+        assert "Value B".equals(map.get(keyB));
+    }
+
+    @Test
+    public void testExpunge() throws InterruptedException
+    {
+        WeakIdentityMap<String> map = new WeakIdentityMap<String>();
+        Object key = new Object();
+
+        map.put(key, "Value");
+        map.put(new Object(), "Garbage");
+
+        for (int i = 0; (i < 100) && (map.size() > 1); i += 1)
+        {
+            System.gc();
+            Thread.sleep(10);
+
+            map.expungeStaleEntries();
+        }
+
+        assert map.size() == 1 : "Garbage collection does not perform well on your system...";
+        assert "Value".equals(map.get(key));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testOwnedQueue() throws InterruptedException
+    {
+        ReferenceQueue<Object> queue = new ReferenceQueue<Object>();
+        WeakIdentityMap<String> map = new WeakIdentityMap<String>(queue);
+        Object key = new Object();
+
+        map.put(key, "Value");
+        map.put(new Object(), "Garbage");
+
+        Reference<?> reference = null;
+
+        for (int i = 0; (i < 100) && (reference == null); i += 1)
+        {
+            System.gc();
+
+            reference = queue.remove(10);
+        }
+
+        assert reference != null : "Garbage collection does not perform well on your system...";
+
+        map.expungeStaleEntries();
+
+        assert map.size() == 2;
+
+        WeakIdentityMap.Entry<String> entry = (WeakIdentityMap.Entry<String>) reference;
+
+        assert "Garbage".equals(entry.getValue());
+
+        boolean removed = map.removeEntry(entry);
+
+        assert removed;
+        assert map.size() == 1;
+        assert "Value".equals(map.get(key));
+    }
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2011-2013 events-on-fire Team
+ * 
+ * This file is part of Events-On-Fire (http://code.google.com/p/events-on-fire), licensed under the terms of the MIT
+ * License (MIT).
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.google.code.eventsonfire.processor;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.testng.annotations.Test;
+
+import com.google.code.eventsonfire.EventBus;
+import com.google.code.eventsonfire.EventHandler;
+import com.google.code.eventsonfire.EventHandlerIndex;
+
+/**
+ * Unit test for the {@link EventHandlerProcessor} class
+ * 
+ * @author Manfred Hantschel
+ */
+@Test
+public class EventHandlerProcessorUnitTest
+{
+
+    private static final String VALID_CONSUMER = "package sample;\n" //
+        + "import com.google.code.eventsonfire.EventHandler;\n" //
+        + "public class ValidConsumer {\n" //
+        + "    public final java.util.List<String> events = new java.util.ArrayList<String>();\n" //
+        + "    @EventHandler public void handleEvent(String event) { events.add(event); }\n" //
+        + "    @EventHandler(event = String.class) public void handleTags(String... tags) {\n" //
+        + "        events.add(java.util.Arrays.toString(tags));\n" //
+        + "    }\n" //
+        + "    @EventHandler public void handleAll(Object producer, String event, String... tags) {\n" //
+        + "        events.add(producer + \":\" + event);\n" //
+        + "    }\n" //
+        + "    @EventHandler void ignored(String event) { }\n" //
+        + "}\n";
+
+    private static final String INVALID_CONSUMER = "package sample;\n" //
+        + "import com.google.code.eventsonfire.EventHandler;\n" //
+        + "public class InvalidConsumer {\n" //
+        + "    @EventHandler public int handleEvent(String event) { return 0; }\n" //
+        + "}\n";
+
+    private static File createDirectory() throws IOException
+    {
+        File directory = File.createTempFile("processor", "");
+
+        if ((!directory.delete()) || (!directory.mkdirs()))
+        {
+            throw new IOException("Failed to create directory: " + directory);
+        }
+
+        return directory;
+    }
+
+    private static boolean compile(JavaCompiler compiler, File directory, String name, String source,
+        DiagnosticCollector<JavaFileObject> diagnostics) throws IOException
+    {
+        File file = new File(directory, name + ".java");
+        Writer writer = new FileWriter(file);
+
+        try
+        {
+            writer.write(source);
+        }
+        finally
+        {
+            writer.close();
+        }
+
+        String classPath = new File(EventHandler.class.getProtectionDomain().getCodeSource().getLocation().getPath())
+            .getPath();
+        List<String> options =
+            Arrays.asList("-classpath", classPath, "-d", directory.getPath(), "-processor",
+                EventHandlerProcessor.class.getName());
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+
+        try
+        {
+            return compiler.getTask(null, fileManager, diagnostics, options, null,
+                fileManager.getJavaFileObjects(file)).call().booleanValue();
+        }
+        finally
+        {
+            fileManager.close();
+        }
+    }
+
+    @Test
+    public void testGenerate() throws Exception
+    {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        if (compiler == null)
+        {
+            // not running on a JDK
+            return;
+        }
+
+        File directory = createDirectory();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+
+        boolean compiled = compile(compiler, directory, "ValidConsumer", VALID_CONSUMER, diagnostics);
+
+        assert compiled : diagnostics.getDiagnostics();
+
+        boolean warned = false;
+
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics())
+        {
+            warned |= diagnostic.getMessage(null).contains("not public");
+        }
+
+        assert warned;
+
+        ClassLoader loader = new URLClassLoader(new URL[]{directory.toURI().toURL()}, getClass().getClassLoader());
+        Class<?> type = loader.loadClass("sample.ValidConsumer");
+        EventHandlerIndex index = (EventHandlerIndex) loader.loadClass("sample.ValidConsumer$$EventHandlers")
+            .newInstance();
+
+        assert index.getMethods().length == 3;
+        assert index.getInvoker(2) != null;
+        assert index.getInvoker(3) == null;
+
+        Object consumer = type.newInstance();
+        Field field = type.getField("events");
+        EventBus bus = new EventBus("Bus");
+
+        try
+        {
+            bus.bind("Producer", consumer);
+
+            boolean completed = bus.fire("Producer", "Event", 0, "a").await(10, TimeUnit.SECONDS);
+
+            assert completed;
+        }
+        finally
+        {
+            bus.shutdown();
+        }
+
+        List<?> events = (List<?>) field.get(consumer);
+
+        assert events.size() == 3 : events;
+        assert events.contains("Event");
+        assert events.contains("[a]");
+        assert events.contains("Producer:Event");
+    }
+
+    @Test
+    public void testValidate() throws Exception
+    {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        if (compiler == null)
+        {
+            // not running on a JDK
+            return;
+        }
+
+        File directory = createDirectory();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+
+        boolean compiled = compile(compiler, directory, "InvalidConsumer", INVALID_CONSUMER, diagnostics);
+
+        assert !compiled;
+
+        boolean failed = false;
+
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics())
+        {
+            failed |= diagnostic.getMessage(null).contains("Return type must be void");
+        }
+
+        assert failed : diagnostics.getDiagnostics();
+    }
+
+}